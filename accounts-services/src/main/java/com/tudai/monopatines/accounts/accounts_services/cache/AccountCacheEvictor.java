@@ -0,0 +1,62 @@
+package com.tudai.monopatines.accounts.accounts_services.cache;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Descarta cuentas del cache de segundo nivel después de actualizar su saldo por SQL.
+ *
+ * Los UPDATE de saldo (AccountRepository y BalanceBatchRepository) no pasan por las entidades,
+ * así que Hibernate no actualiza el cache. Se descarta cada cuenta modificada en el momento,
+ * para que la misma transacción lea el saldo nuevo, y otra vez al terminar la transacción,
+ * porque otra transacción pudo volver a cachear el saldo anterior antes del commit.
+ * Las dos evicciones se informan a las demás instancias ({@link CacheInvalidationChannel}).
+ */
+@Component
+public class AccountCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Descarta una cuenta del cache.
+     *
+     * @param accountId ID de la cuenta modificada
+     */
+    public void evict(Long accountId) {
+        evict(List.of(accountId));
+    }
+
+    /**
+     * Descarta varias cuentas del cache.
+     *
+     * @param accountIds IDs de las cuentas modificadas
+     */
+    public void evict(Collection<Long> accountIds) {
+        evictNow(accountIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> ids = List.copyOf(accountIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(ids);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Collection<Long> accountIds) {
+        Cache cache = entityManagerFactory.getCache();
+        for (Long accountId : accountIds) {
+            cache.evict(Account.class, accountId);
+        }
+    }
+}
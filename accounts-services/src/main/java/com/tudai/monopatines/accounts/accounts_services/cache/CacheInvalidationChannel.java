@@ -0,0 +1,209 @@
+package com.tudai.monopatines.accounts.accounts_services.cache;
+
+import com.tudai.monopatines.accounts.accounts_services.config.SchemaMigrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Canal de invalidaciones del cache de segundo nivel entre instancias de accounts-service.
+ *
+ * Cada instancia guarda las entidades en memoria ({@link LocalRegionFactory}), así que una
+ * modificación hecha en una instancia tiene que descartar la copia de las demás. Las escrituras
+ * locales se encolan en memoria y {@link #synchronize()} (ejecutado periódicamente por
+ * CacheInvalidationJob) las inserta en la tabla cache_invalidations y aplica las filas nuevas
+ * insertadas por otras instancias. La base ya es compartida por todas las instancias, así que
+ * no hace falta otro componente de infraestructura.
+ *
+ * Hibernate informa cada modificación también después del commit (afterUpdate/unlockItem),
+ * por lo que la invalidación que reciben las demás instancias nunca es anterior al commit.
+ * Las demás instancias quedan desactualizadas a lo sumo un intervalo de sincronización;
+ * el TTL de cada región acota cualquier invalidación perdida.
+ */
+@Component
+@DependsOn(SchemaMigrator.BEAN_NAME)
+public class CacheInvalidationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationChannel.class);
+
+    // Filas salteadas por IDs autoincrementales todavía no commiteados: se vuelven a buscar
+    // durante este tiempo y después se descartan (rollbacks, auto_increment_increment > 1)
+    private static final long GAP_TIMEOUT_NANOS = 60_000_000_000L;
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentLinkedQueue<Invalidation> outgoing = new ConcurrentLinkedQueue<>();
+
+    // Solo accedidos desde synchronize(), que no se ejecuta en paralelo
+    private long lastSeenId;
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocalRegionFactory regionFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.invalidation.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.cache.invalidation.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${app.cache.invalidation.retention-minutes:10}")
+    private int retentionMinutes;
+
+    private Counter published;
+    private Counter received;
+
+    @PostConstruct
+    void init() {
+        // Al iniciar el cache está vacío: solo interesan las invalidaciones posteriores
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cache_invalidations", Long.class);
+        lastSeenId = maxId != null ? maxId : 0L;
+        published = Counter.builder("hibernate.cache.invalidations").tag("direction", "published")
+                .register(meterRegistry);
+        received = Counter.builder("hibernate.cache.invalidations").tag("direction", "received")
+                .register(meterRegistry);
+        regionFactory.setInvalidationChannel(this);
+    }
+
+    /**
+     * Encola la invalidación de una entidad (o de una región completa) para las demás instancias.
+     *
+     * @param region Región de la entidad
+     * @param key ID de la entidad, o null para toda la región
+     */
+    public void publish(String region, Object key) {
+        // Las claves son los IDs (Long) de las entidades; cualquier otra clave invalida la región
+        String entityKey = key instanceof Long ? key.toString() : null;
+        outgoing.add(new Invalidation(region, entityKey));
+    }
+
+    /**
+     * Inserta las invalidaciones locales pendientes y aplica las de las demás instancias.
+     *
+     * @return Cantidad de invalidaciones recibidas y aplicadas
+     */
+    public synchronized int synchronize() {
+        flushOutgoing();
+        return applyIncoming();
+    }
+
+    /**
+     * Elimina las invalidaciones más antiguas que el período de retención.
+     *
+     * @return Cantidad de filas eliminadas
+     */
+    public int purge() {
+        Timestamp threshold = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+        return jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", threshold);
+    }
+
+    private void flushOutgoing() {
+        Set<Invalidation> pending = new LinkedHashSet<>();
+        Invalidation invalidation;
+        while ((invalidation = outgoing.poll()) != null) {
+            pending.add(invalidation);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (pending.size() > maxPending) {
+            // Demasiadas entidades sueltas: se invalida cada región completa
+            pending = pending.stream()
+                    .map(entry -> new Invalidation(entry.region(), null))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(pending.size());
+        for (Invalidation entry : pending) {
+            args.add(new Object[]{instanceId, entry.region(), entry.entityKey(), now});
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO cache_invalidations (instance_id, region, entity_key, created_at) VALUES (?, ?, ?, ?)",
+                    args);
+            published.increment(pending.size());
+        } catch (RuntimeException e) {
+            // Se reintentan en la próxima sincronización
+            outgoing.addAll(pending);
+            throw e;
+        }
+    }
+
+    private int applyIncoming() {
+        List<Row> rows = new ArrayList<>(jdbcTemplate.query(
+                "SELECT id, instance_id, region, entity_key FROM cache_invalidations WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("instance_id"), rs.getString("region"),
+                        rs.getString("entity_key")),
+                lastSeenId, batchSize));
+        rows.addAll(findGapRows());
+
+        int applied = 0;
+        long now = System.nanoTime();
+        for (Row row : rows) {
+            gaps.remove(row.id());
+            if (row.id() > lastSeenId) {
+                for (long missing = lastSeenId + 1; missing < row.id() && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+                    gaps.put(missing, now);
+                }
+                lastSeenId = row.id();
+            }
+            if (instanceId.equals(row.instanceId())) {
+                continue;
+            }
+            regionFactory.evictLocally(row.region(), row.entityKey() != null ? Long.valueOf(row.entityKey()) : null);
+            applied++;
+        }
+        gaps.values().removeIf(detectedAt -> now - detectedAt > GAP_TIMEOUT_NANOS);
+
+        if (applied > 0) {
+            received.increment(applied);
+            logger.debug("Invalidaciones de cache recibidas: {}", applied);
+        }
+        return applied;
+    }
+
+    private List<Row> findGapRows() {
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(gaps.keySet());
+        String placeholders = ids.stream().map(id -> "?").collect(Collectors.joining(", "));
+        return jdbcTemplate.query(
+                "SELECT id, instance_id, region, entity_key FROM cache_invalidations WHERE id IN (" + placeholders + ")",
+                (rs, rowNum) -> new Row(rs.getLong("id"), rs.getString("instance_id"), rs.getString("region"),
+                        rs.getString("entity_key")),
+                ids.toArray());
+    }
+
+    private record Invalidation(String region, String entityKey) {
+    }
+
+    private record Row(long id, String instanceId, String region, String entityKey) {
+    }
+}
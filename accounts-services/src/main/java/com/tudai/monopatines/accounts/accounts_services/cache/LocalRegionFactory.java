@@ -0,0 +1,180 @@
+package com.tudai.monopatines.accounts.accounts_services.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.SimpleCacheKeysFactory;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * RegionFactory del cache de segundo nivel de Hibernate con regiones en memoria
+ * ({@link LocalStorageAccess}).
+ *
+ * Cada región (una por entidad cacheada y una por query cacheada) tiene su propio tamaño
+ * máximo y TTL, configurados con app.cache.regions.{region}.max-entries y
+ * app.cache.regions.{region}.ttl-ms; las regiones sin configuración usan app.cache.default.*.
+ * La región de timestamps (última modificación de cada tabla, con la que Hibernate invalida
+ * las queries cacheadas) no vence ni se descarta por tamaño.
+ *
+ * Las claves de las entidades son directamente sus IDs (cada región guarda una sola entidad),
+ * lo que permite enviarlas a las demás instancias a través de {@link CacheInvalidationChannel}.
+ * Una invalidación recibida descarta la entidad y actualiza en la región de timestamps las
+ * tablas de esa entidad, así Hibernate descarta solo las queries cacheadas que las usan.
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+
+    private static final String PROPERTY_PREFIX = "app.cache.";
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+    private static final long DEFAULT_TTL_MS = 600000;
+    private static final int TIMESTAMPS_MAX_ENTRIES = 10000;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    // Regiones de entidades por nombre y tablas de cada una, para las invalidaciones remotas
+    private final Map<String, LocalStorageAccess> domainRegions = new ConcurrentHashMap<>();
+    private final Map<String, DomainRegion> domainRegionConfigs = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tablesByRegion = new ConcurrentHashMap<>();
+    private volatile LocalStorageAccess timestampsRegion;
+
+    private volatile CacheInvalidationChannel invalidationChannel;
+
+    public LocalRegionFactory(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra el canal al que se informan las escrituras sobre regiones de entidades.
+     * Se asigna después de crear el EntityManagerFactory; hasta entonces no hay escrituras.
+     *
+     * @param invalidationChannel Canal de invalidaciones entre instancias
+     */
+    public void setInvalidationChannel(CacheInvalidationChannel invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+
+    @Override
+    protected CacheKeysFactory getImplicitCacheKeysFactory() {
+        return SimpleCacheKeysFactory.INSTANCE;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        String regionName = regionConfig.getRegionName();
+        LocalStorageAccess storage = new LocalStorageAccess(regionName, maxEntries(regionName), ttlMs(regionName),
+                this, meterRegistry);
+        domainRegions.put(regionName, storage);
+        domainRegionConfigs.put(regionName, new DomainRegion(regionConfig, buildingContext.getSessionFactory()));
+        return storage;
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new LocalStorageAccess(regionName, maxEntries(regionName), ttlMs(regionName), null, meterRegistry);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        LocalStorageAccess storage = new LocalStorageAccess(regionName, TIMESTAMPS_MAX_ENTRIES, 0, null, meterRegistry);
+        timestampsRegion = storage;
+        return storage;
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        // Las regiones se crean a demanda en createXxxStorageAccess
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        domainRegions.values().forEach(LocalStorageAccess::release);
+        domainRegions.clear();
+        domainRegionConfigs.clear();
+        tablesByRegion.clear();
+        timestampsRegion = null;
+    }
+
+    /**
+     * Informa una escritura local sobre una región de entidad a las demás instancias.
+     *
+     * @param regionName Región modificada
+     * @param key ID de la entidad, o null si se vació toda la región
+     */
+    void publishInvalidation(String regionName, Object key) {
+        CacheInvalidationChannel channel = invalidationChannel;
+        if (channel != null) {
+            channel.publish(regionName, key);
+        }
+    }
+
+    /**
+     * Aplica una invalidación recibida de otra instancia, sin volver a publicarla.
+     *
+     * La región de timestamps es local y no registra las modificaciones de otras instancias:
+     * se marcan como modificadas ahora las tablas de la entidad, igual que hace Hibernate con
+     * una escritura local. Las queries cacheadas antes que usan esas tablas quedan vencidas;
+     * las demás (por ejemplo users-by-email ante un cambio de saldo) se mantienen.
+     *
+     * @param regionName Región modificada
+     * @param key ID de la entidad, o null para vaciar toda la región
+     */
+    void evictLocally(String regionName, Object key) {
+        LocalStorageAccess storage = domainRegions.get(regionName);
+        if (storage == null) {
+            return;
+        }
+        storage.evictLocally(key);
+        LocalStorageAccess timestamps = timestampsRegion;
+        if (timestamps != null) {
+            Long timestamp = nextTimestamp();
+            tablesOf(regionName).forEach(table -> timestamps.putIntoCache(table, timestamp, null));
+        }
+    }
+
+    /**
+     * Tablas de las entidades guardadas en una región. Se resuelven al primer uso porque
+     * los persisters no existen todavía cuando Hibernate crea las regiones.
+     */
+    private Set<String> tablesOf(String regionName) {
+        return tablesByRegion.computeIfAbsent(regionName, name -> {
+            DomainRegion region = domainRegionConfigs.get(name);
+            return region.config().getEntityCaching().stream()
+                    .map(entity -> entity.getNavigableRole().getFullPath())
+                    .flatMap(entityName -> Arrays.stream(region.sessionFactory().getMappingMetamodel()
+                            .getEntityDescriptor(entityName).getPropertySpaces()))
+                    .collect(Collectors.toUnmodifiableSet());
+        });
+    }
+
+    private int maxEntries(String regionName) {
+        int defaultValue = environment.getProperty(PROPERTY_PREFIX + "default.max-entries", Integer.class,
+                DEFAULT_MAX_ENTRIES);
+        return environment.getProperty(PROPERTY_PREFIX + "regions." + regionName + ".max-entries", Integer.class,
+                defaultValue);
+    }
+
+    private long ttlMs(String regionName) {
+        long defaultValue = environment.getProperty(PROPERTY_PREFIX + "default.ttl-ms", Long.class, DEFAULT_TTL_MS);
+        return environment.getProperty(PROPERTY_PREFIX + "regions." + regionName + ".ttl-ms", Long.class,
+                defaultValue);
+    }
+
+    private record DomainRegion(DomainDataRegionConfig config, SessionFactoryImplementor sessionFactory) {
+    }
+}
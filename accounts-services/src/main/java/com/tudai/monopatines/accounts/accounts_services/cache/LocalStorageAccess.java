@@ -0,0 +1,144 @@
+package com.tudai.monopatines.accounts.accounts_services.cache;
+
+import com.tudai.monopatines.accounts.accounts_services.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Almacenamiento en memoria de una región del cache de segundo nivel de Hibernate.
+ *
+ * Acotado en cantidad de entradas (LRU) y, opcionalmente, en tiempo (TTL). Hibernate
+ * resuelve la concurrencia (soft locks de READ_WRITE) sobre este almacenamiento; acá solo
+ * se guardan y descartan valores.
+ *
+ * En las regiones de entidades, las escrituras hechas por esta instancia (putIntoCache
+ * desde un INSERT/UPDATE y evictData) se informan al {@link CacheInvalidationChannel} para
+ * que las demás instancias descarten la misma entrada. Las cargas desde la base
+ * (putFromLoad) y las invalidaciones recibidas de otras instancias no se reenvían.
+ */
+public class LocalStorageAccess implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final LruCache<Object, Entry> entries;
+    private final long ttlNanos;
+    private final LocalRegionFactory regionFactory;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param regionName Nombre de la región
+     * @param maxEntries Cantidad máxima de entradas
+     * @param ttlMs Vigencia de cada entrada en milisegundos (0 = sin vencimiento)
+     * @param regionFactory Factory a la que se informan las escrituras, o null si la región
+     *                      no se sincroniza con otras instancias (queries y timestamps)
+     * @param meterRegistry Registro de métricas
+     */
+    public LocalStorageAccess(String regionName, int maxEntries, long ttlMs, LocalRegionFactory regionFactory,
+                              MeterRegistry meterRegistry) {
+        this.regionName = regionName;
+        this.entries = new LruCache<>(maxEntries);
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.regionFactory = regionFactory;
+        this.hits = Counter.builder("hibernate.cache.requests").tag("region", regionName).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("hibernate.cache.requests").tag("region", regionName).tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("hibernate.cache.size", entries, LruCache::size).tag("region", regionName)
+                .description("Entradas en la región del cache de segundo nivel").register(meterRegistry);
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    @Override
+    public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+        store(key, value);
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        store(key, value);
+        if (regionFactory != null) {
+            regionFactory.publishInvalidation(regionName, key);
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        Entry entry = entries.get(key);
+        return entry != null && !entry.isExpired(System.nanoTime());
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+        if (regionFactory != null) {
+            regionFactory.publishInvalidation(regionName, null);
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+        if (regionFactory != null) {
+            regionFactory.publishInvalidation(regionName, key);
+        }
+    }
+
+    /**
+     * Descarta una entrada sin informar a las demás instancias (invalidación recibida).
+     *
+     * @param key Clave a descartar, o null para vaciar la región
+     */
+    public void evictLocally(Object key) {
+        if (key == null) {
+            entries.clear();
+        } else {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    private void store(Object key, Object value) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : Long.MAX_VALUE;
+        entries.put(key, new Entry(value, expiresAt));
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long expiresAtNanos;
+
+        Entry(Object value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return expiresAtNanos != Long.MAX_VALUE && nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
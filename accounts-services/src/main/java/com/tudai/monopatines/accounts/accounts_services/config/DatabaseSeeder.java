@@ -10,6 +10,7 @@ import com.tudai.monopatines.accounts.accounts_services.repository.AccountUserRe
 import com.tudai.monopatines.accounts.accounts_services.repository.RoleRepository;
 import com.tudai.monopatines.accounts.accounts_services.repository.UserRepository;
 import com.tudai.monopatines.accounts.accounts_services.repository.UserRoleRepository;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -180,7 +181,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         createAccountIfNotExists(
             "ACC-001",
             "MP-123456789",
-            1000.0,
+            100000L,
             true
         );
 
@@ -188,7 +189,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         createAccountIfNotExists(
             "ACC-002",
             "MP-987654321",
-            0.0,
+            0L,
             true
         );
 
@@ -196,7 +197,7 @@ public class DatabaseSeeder implements CommandLineRunner {
         createAccountIfNotExists(
             "ACC-003",
             "MP-555555555",
-            500.0,
+            50000L,
             false
         );
 
@@ -204,10 +205,10 @@ public class DatabaseSeeder implements CommandLineRunner {
     }
 
     /**
-     * Crea una cuenta si no existe.
+     * Crea una cuenta si no existe. El saldo inicial se indica en centavos.
      */
     private void createAccountIfNotExists(String identificationNumber, String mercadoPagoAccountId, 
-                                         Double initialBalance, boolean active) {
+                                         long initialBalance, boolean active) {
         if (!accountRepository.existsByIdentificationNumber(identificationNumber)) {
             Account account = new Account(identificationNumber, mercadoPagoAccountId);
             account.setCurrentBalance(initialBalance);
@@ -217,7 +218,7 @@ public class DatabaseSeeder implements CommandLineRunner {
             }
             accountRepository.save(account);
             logger.info("Cuenta creada: {} (Saldo: {}, Activa: {})", 
-                identificationNumber, initialBalance, active);
+                identificationNumber, MoneyUtil.format(initialBalance), active);
         } else {
             logger.debug("Cuenta ya existe, se omite: {}", identificationNumber);
         }
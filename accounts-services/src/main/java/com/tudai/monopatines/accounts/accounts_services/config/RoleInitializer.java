@@ -2,6 +2,7 @@ package com.tudai.monopatines.accounts.accounts_services.config;
 
 import com.tudai.monopatines.accounts.accounts_services.entity.Role;
 import com.tudai.monopatines.accounts.accounts_services.repository.RoleRepository;
+import com.tudai.monopatines.accounts.accounts_services.service.RoleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Inicializador que crea los roles básicos del sistema al iniciar la aplicación.
  * Se ejecuta siempre, independientemente del seeder de datos de ejemplo.
+ * Al terminar carga el catálogo de roles en memoria de RoleService.
  */
 @Component
 @Order(0)
@@ -23,6 +25,9 @@ public class RoleInitializer implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private RoleService roleService;
+
     @Override
     @Transactional
     public void run(String... args) {
@@ -31,6 +36,9 @@ public class RoleInitializer implements CommandLineRunner {
         createRoleIfNotExists("ROLE_USER", "Usuario comun del sistema");
         createRoleIfNotExists("ROLE_EMPLOYEE", "Empleado del sistema");
         createRoleIfNotExists("ROLE_ADMIN", "Administrador del sistema");
+
+        // Cargar el catálogo de roles en memoria (nombre -> ID) para el resto de la aplicación
+        roleService.refreshRoleCatalog();
         
         logger.info("Roles básicos inicializados correctamente");
     }
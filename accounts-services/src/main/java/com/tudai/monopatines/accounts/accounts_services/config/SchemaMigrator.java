@@ -0,0 +1,264 @@
+package com.tudai.monopatines.accounts.accounts_services.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Aplica las migraciones versionadas del schema (classpath:db/migration) al iniciar la aplicación.
+ *
+ * Los scripts siguen la convención de Flyway (V{version}__{descripcion}.sql) y se aplican en
+ * orden de versión una sola vez; las versiones aplicadas se registran en la tabla
+ * schema_migrations junto con un checksum del script, y si un script ya aplicado cambia la
+ * aplicación no inicia. Con varias instancias, un lock de MariaDB (GET_LOCK) evita que dos
+ * apliquen la misma migración a la vez.
+ *
+ * Corre antes de que se cree el EntityManagerFactory: Hibernate solo valida el schema
+ * (ddl-auto=validate) contra el resultado de las migraciones.
+ *
+ * Un CREATE TABLE IF NOT EXISTS no modifica una tabla que ya existe (por ejemplo las que creaba
+ * Hibernate antes de las migraciones), así que esas tablas se comparan con las columnas que
+ * declara el script una vez aplicadas todas las migraciones pendientes: si falta una columna,
+ * tiene otro tipo o sobra una columna NOT NULL sin default, la aplicación no inicia y el mensaje
+ * indica las diferencias. En ese caso las migraciones de la ejecución no se registran, para que
+ * se repitan (y se vuelva a comparar) en el próximo inicio; por eso los scripts se escriben de
+ * forma que puedan repetirse (IF NOT EXISTS, IF EXISTS).
+ */
+@Component(SchemaMigrator.BEAN_NAME)
+public class SchemaMigrator {
+
+    public static final String BEAN_NAME = "schemaMigrator";
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String LOCATION = "classpath:db/migration/V*__*.sql";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern CREATE_TABLE = Pattern.compile(
+            "CREATE TABLE IF NOT EXISTS (\\w+) \\((.*?)\\n\\)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern TABLE_CONSTRAINT = Pattern.compile(
+            "(PRIMARY|CONSTRAINT|UNIQUE|KEY|INDEX|FOREIGN|CHECK)\\b.*", Pattern.CASE_INSENSITIVE);
+    private static final String LOCK_NAME = "accounts_schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Hace que el EntityManagerFactory dependa de este bean, para que Hibernate valide
+     * el schema ya migrado.
+     */
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor schemaMigratorDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor(BEAN_NAME);
+    }
+
+    @PostConstruct
+    void migrate() throws IOException, SQLException {
+        List<Migration> migrations = loadMigrations();
+
+        try (Connection connection = dataSource.getConnection()) {
+            // Todas las sentencias (incluido el lock, que es por conexion) van por la misma conexion
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+
+            Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, ?)", Integer.class,
+                    LOCK_NAME, LOCK_TIMEOUT_SECONDS);
+            if (locked == null || locked != 1) {
+                throw new IllegalStateException("Could not acquire schema migration lock " + LOCK_NAME);
+            }
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                        "version INT NOT NULL PRIMARY KEY, " +
+                        "description VARCHAR(200) NOT NULL, " +
+                        "script VARCHAR(255) NOT NULL, " +
+                        "checksum BIGINT NOT NULL, " +
+                        "installed_at DATETIME(6) NOT NULL) ENGINE=InnoDB");
+
+                Map<Integer, Long> applied = new HashMap<>();
+                jdbcTemplate.query("SELECT version, checksum FROM schema_migrations",
+                        rs -> { applied.put(rs.getInt("version"), rs.getLong("checksum")); });
+
+                List<AdoptedTable> adopted = new ArrayList<>();
+                List<Migration> unrecorded = new ArrayList<>();
+                for (Migration migration : migrations) {
+                    Long checksum = applied.get(migration.version());
+                    if (checksum != null) {
+                        if (checksum != migration.checksum()) {
+                            throw new IllegalStateException("Migration " + migration.script()
+                                    + " was modified after being applied");
+                        }
+                        continue;
+                    }
+                    adopted.addAll(existingTables(jdbcTemplate, migration));
+                    logger.info("Aplicando migracion {}", migration.script());
+                    ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.resource(), "UTF-8"));
+                    if (adopted.isEmpty()) {
+                        record(jdbcTemplate, migration);
+                    } else {
+                        unrecorded.add(migration);
+                    }
+                }
+
+                if (!adopted.isEmpty()) {
+                    verifyAdoptedTables(jdbcTemplate, adopted);
+                    for (Migration migration : unrecorded) {
+                        record(jdbcTemplate, migration);
+                    }
+                }
+            } finally {
+                jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        }
+    }
+
+    private static void record(JdbcTemplate jdbcTemplate, Migration migration) {
+        jdbcTemplate.update("INSERT INTO schema_migrations " +
+                        "(version, description, script, checksum, installed_at) VALUES (?, ?, ?, ?, ?)",
+                migration.version(), migration.description(), migration.script(),
+                migration.checksum(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Tablas que el script crea con CREATE TABLE IF NOT EXISTS y que ya existen en la base,
+     * con las columnas (nombre y tipo) que declara para cada una.
+     */
+    private static List<AdoptedTable> existingTables(JdbcTemplate jdbcTemplate, Migration migration)
+            throws IOException {
+        Set<String> tables = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT LOWER(table_name) FROM information_schema.tables WHERE table_schema = DATABASE()",
+                String.class));
+        List<AdoptedTable> existing = new ArrayList<>();
+        Matcher matcher = CREATE_TABLE.matcher(migration.resource().getContentAsString(StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (!tables.contains(table)) {
+                continue;
+            }
+            Map<String, String> columns = new LinkedHashMap<>();
+            for (String line : matcher.group(2).split("\\n")) {
+                String definition = line.trim();
+                if (definition.isEmpty() || definition.startsWith("--")
+                        || TABLE_CONSTRAINT.matcher(definition).matches()) {
+                    continue;
+                }
+                String[] tokens = definition.replaceFirst(",$", "").split("\\s+");
+                columns.put(tokens[0].toLowerCase(Locale.ROOT), baseType(tokens[1]));
+            }
+            existing.add(new AdoptedTable(table, migration.script(), columns));
+        }
+        return existing;
+    }
+
+    /**
+     * Compara cada tabla que ya existía con las columnas que declara el script que la crea.
+     */
+    private static void verifyAdoptedTables(JdbcTemplate jdbcTemplate, List<AdoptedTable> adopted) {
+        List<String> mismatches = new ArrayList<>();
+        for (AdoptedTable table : adopted) {
+            Map<String, String> actualTypes = new HashMap<>();
+            List<String> problems = new ArrayList<>();
+            jdbcTemplate.query("SELECT LOWER(column_name) AS name, LOWER(data_type) AS type, " +
+                            "is_nullable AS nullable, column_default AS column_default, extra AS extra " +
+                            "FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = ?",
+                    rs -> {
+                        String column = rs.getString("name");
+                        actualTypes.put(column, rs.getString("type"));
+                        boolean required = "NO".equals(rs.getString("nullable"))
+                                && rs.getString("column_default") == null
+                                && !rs.getString("extra").contains("auto_increment");
+                        if (required && !table.columns().containsKey(column)) {
+                            problems.add("column " + column + " is NOT NULL without default and not defined there");
+                        }
+                    },
+                    table.name());
+            table.columns().forEach((column, type) -> {
+                String actual = actualTypes.get(column);
+                if (actual == null) {
+                    problems.add("missing column " + column);
+                } else if (!actual.equals(type)) {
+                    problems.add("column " + column + " is " + actual + ", expected " + type);
+                }
+            });
+            if (!problems.isEmpty()) {
+                mismatches.add("table " + table.name() + " existed before " + table.script()
+                        + " and does not match it: " + String.join(", ", problems));
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Existing schema does not match the migrations ("
+                    + String.join("; ", mismatches) + "). Add a migration that converts these columns");
+        }
+    }
+
+    private static String baseType(String declaredType) {
+        int parenthesis = declaredType.indexOf('(');
+        return (parenthesis < 0 ? declaredType : declaredType.substring(0, parenthesis)).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lee los scripts de migración ordenados por versión.
+     */
+    private List<Migration> loadMigrations() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+        List<Migration> migrations = new ArrayList<>(resources.length);
+        for (Resource resource : resources) {
+            Matcher matcher = SCRIPT_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                continue;
+            }
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                    resource.getFilename(), resource, checksum(resource)));
+        }
+        migrations.sort(Comparator.comparingInt(Migration::version));
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() == migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version " + migrations.get(i).version());
+            }
+        }
+        return migrations;
+    }
+
+    private static long checksum(Resource resource) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = resource.getInputStream()) {
+            crc.update(in.readAllBytes());
+        }
+        return crc.getValue();
+    }
+
+    private record AdoptedTable(String name, String script, Map<String, String> columns) {
+    }
+
+    private record Migration(int version, String description, String script, Resource resource, long checksum) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.tudai.monopatines.accounts.accounts_services.config;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.LocalRegionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuración del cache de segundo nivel de Hibernate.
+ *
+ * Account, User, Role, UserRole y AccountUser (y las queries marcadas como cacheables en los
+ * repositorios) se cachean en memoria con {@link LocalRegionFactory}; los tamaños y TTL de
+ * cada región se configuran con app.cache.* y las instancias se mantienen coherentes con
+ * CacheInvalidationChannel.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public LocalRegionFactory localRegionFactory(Environment environment, MeterRegistry meterRegistry) {
+        return new LocalRegionFactory(environment, meterRegistry);
+    }
+
+    /**
+     * Registra la instancia de LocalRegionFactory en Hibernate (en lugar de que Hibernate
+     * cree una por reflexión), para que el canal de invalidaciones use las mismas regiones.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(LocalRegionFactory localRegionFactory) {
+        return properties -> properties.put(AvailableSettings.CACHE_REGION_FACTORY, localRegionFactory);
+    }
+}
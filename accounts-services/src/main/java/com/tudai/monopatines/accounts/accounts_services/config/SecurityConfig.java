@@ -4,6 +4,7 @@ import com.tudai.monopatines.accounts.accounts_services.exception.JwtAccessDenie
 import com.tudai.monopatines.accounts.accounts_services.exception.JwtAuthenticationEntryPoint;
 import com.tudai.monopatines.accounts.accounts_services.filter.JwtAuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,10 +12,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuración de seguridad para accounts-service.
  * Protege endpoints según roles: ROLE_USER, ROLE_EMPLOYEE, ROLE_ADMIN
@@ -46,17 +52,26 @@ public class SecurityConfig {
                 
                 // Endpoints publicos - Swagger UI
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/index.html").permitAll()
-                
+
+                // Endpoint publico - Health check del load balancer del gateway
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+
                 // Endpoints publicos - Autenticacion
                 .requestMatchers(HttpMethod.POST, "/api/accounts/users/validate-password").permitAll() 
+                .requestMatchers(HttpMethod.POST, "/api/accounts/users/authenticate").permitAll() 
                 .requestMatchers(HttpMethod.POST, "/api/accounts/users").permitAll() 
                 .requestMatchers(HttpMethod.GET, "/api/accounts/users").permitAll()
                 
                 // ROLE_ADMIN 
+                .requestMatchers(HttpMethod.GET, "/actuator/metrics/**").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.PUT, "/api/accounts/{id}").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.DELETE, "/api/accounts/{id}").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.PUT, "/api/accounts/{id}/toggle_status").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.PUT, "/api/accounts/{id}/balance/deduct").hasRole("ADMIN") 
+                .requestMatchers(HttpMethod.POST, "/api/accounts/balance/deduct-batch").hasRole("ADMIN") 
+                .requestMatchers(HttpMethod.POST, "/api/accounts/{id}/holds").hasRole("ADMIN") 
+                .requestMatchers(HttpMethod.PUT, "/api/accounts/holds/{holdId}/capture").hasRole("ADMIN") 
+                .requestMatchers(HttpMethod.PUT, "/api/accounts/holds/{holdId}/release").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.POST, "/api/accounts/associate").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.POST, "/api/accounts/disassociate").hasRole("ADMIN") 
                 .requestMatchers(HttpMethod.GET, "/api/accounts/users/all").hasRole("ADMIN") 
@@ -67,6 +82,7 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/accounts/{id}").hasAnyRole("USER", "EMPLOYEE", "ADMIN") 
                 .requestMatchers(HttpMethod.GET, "/api/accounts/{accountId}/users").hasAnyRole("EMPLOYEE", "ADMIN") 
                 .requestMatchers(HttpMethod.GET, "/api/accounts/{id}/active").hasAnyRole("EMPLOYEE", "ADMIN") 
+                .requestMatchers(HttpMethod.GET, "/api/accounts/holds/{holdId}").hasAnyRole("EMPLOYEE", "ADMIN") 
                 .requestMatchers(HttpMethod.GET, "/api/accounts/users/{id}").hasAnyRole("USER", "EMPLOYEE", "ADMIN") 
                 
                 // ROLE_USER - 
@@ -81,9 +97,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Encoder de passwords con prefijo de algoritmo (ej: "{bcrypt}$2a$12$...").
+     * 
+     * Los hashes nuevos se generan con el algoritmo y el costo configurados. Los hashes
+     * guardados sin prefijo se verifican como BCrypt y se consideran desactualizados
+     * (upgradeEncoding), igual que los generados con un costo menor al actual.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${app.password.bcrypt-strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return passwordEncoder;
     }
 }
 
@@ -0,0 +1,58 @@
+package com.tudai.monopatines.accounts.accounts_services.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Alinea las secuencias de IDs con los datos existentes al iniciar la aplicación.
+ *
+ * Las entidades Account, User, AccountUser, UserRole y Role toman su ID de una secuencia
+ * con optimizador pooled-lo (un viaje a la base cada 50 IDs), lo que permite a Hibernate
+ * agrupar los INSERT en batches JDBC; con IDENTITY cada INSERT se ejecuta apenas se
+ * persiste la entidad para conocer su ID. Las tablas creadas antes del cambio ya tienen
+ * filas con IDs autoincrementales, así que si una secuencia está por detrás del máximo ID
+ * de su tabla se reinicia a continuación de ese valor.
+ *
+ * Se ejecuta al crear el bean (antes de que el servidor acepte requests y antes de los
+ * CommandLineRunner que insertan datos) y después de que SchemaMigrator creó las secuencias.
+ */
+@Component
+public class SequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    // Secuencia -> tabla cuyos IDs genera
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "accounts_seq", "accounts",
+            "users_seq", "users",
+            "account_user_seq", "account_user",
+            "user_roles_seq", "user_roles",
+            "roles_seq", "roles");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Garantiza que las migraciones ya se aplicaron (el EntityManagerFactory depende de SchemaMigrator)
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void alignSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // En MariaDB una secuencia se puede leer como tabla sin consumir valores
+            Long nextValue = jdbcTemplate.queryForObject("SELECT next_not_cached_value FROM " + sequence, Long.class);
+            if (maxId != null && nextValue != null && nextValue <= maxId) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + 1));
+                logger.info("Secuencia {} reiniciada en {} (maximo ID de {}: {})", sequence, maxId + 1, table, maxId);
+            }
+        });
+    }
+}
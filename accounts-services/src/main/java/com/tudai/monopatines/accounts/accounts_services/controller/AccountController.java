@@ -1,19 +1,38 @@
 package com.tudai.monopatines.accounts.accounts_services.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.accounts.accounts_services.dto.AccountPageResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountStatusResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductRequest;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldRequest;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldResponse;
+import com.tudai.monopatines.accounts.accounts_services.exception.InvalidAmountException;
 import com.tudai.monopatines.accounts.accounts_services.service.AccountService;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -21,9 +40,21 @@ import java.util.List;
 @Tag(name = "Accounts", description = "API para gestionar cuentas del sistema")
 public class AccountController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor streamExecutor;
+
+    @Value("${app.accounts.stream-timeout-ms:600000}")
+    private long streamTimeoutMs;
+
     @Operation(
         summary = "Crear cuenta - Requiere: ROLE_USER o ROLE_ADMIN",
         description = "Crea una nueva cuenta asociada a una cuenta de Mercado Pago."
@@ -47,24 +78,74 @@ public class AccountController {
 
     @Operation(
         summary = "Obtener todas las cuentas - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
-        description = "Retorna la lista completa de cuentas del sistema."
+        description = "Retorna la lista completa de cuentas del sistema. Se mantiene por compatibilidad: "
+            + "con afterId o limit retorna una pagina y con Accept: application/x-ndjson retorna todas las cuentas en streaming."
     )
-    @GetMapping
+    @GetMapping(params = {"!afterId", "!limit"}, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<AccountResponse>> getAllAccounts() {
-        List<AccountResponse> response = accountService.getAllAccounts();
+        List<AccountResponse> response = new ArrayList<>();
+        accountService.streamAccounts(false, response::add);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Obtener una pagina de cuentas - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
+        description = "Retorna una pagina de cuentas ordenadas por ID. Para la pagina siguiente se envia nextAfterId como afterId."
+    )
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AccountPageResponse> getAccountPage(
+        @RequestParam(required = false) Long afterId,
+        @RequestParam(defaultValue = "100") int limit) {
+        AccountPageResponse response = accountService.getAllAccounts(afterId, limit);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener todas las cuentas en streaming - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
+        description = "Retorna todas las cuentas en formato application/x-ndjson (una por linea), escribiendolas a medida que se leen."
+    )
+    @GetMapping(produces = NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamAllAccounts() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+            .body(streamAccounts(false));
+    }
+
     @Operation(
         summary = "Obtener cuentas activas - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
-        description = "Retorna unicamente las cuentas que estan activas (no anuladas)."
+        description = "Retorna unicamente las cuentas que estan activas (no anuladas). Se mantiene por compatibilidad: "
+            + "con afterId o limit retorna una pagina y con Accept: application/x-ndjson retorna las cuentas activas en streaming."
     )
-    @GetMapping("/active")
+    @GetMapping(value = "/active", params = {"!afterId", "!limit"}, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<AccountResponse>> getActiveAccounts() {
-        List<AccountResponse> response = accountService.getActiveAccounts();
+        List<AccountResponse> response = new ArrayList<>();
+        accountService.streamAccounts(true, response::add);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Obtener una pagina de cuentas activas - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
+        description = "Retorna una pagina de cuentas activas (no anuladas) ordenadas por ID. Para la pagina siguiente se envia nextAfterId como afterId."
+    )
+    @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AccountPageResponse> getActiveAccountPage(
+        @RequestParam(required = false) Long afterId,
+        @RequestParam(defaultValue = "100") int limit) {
+        AccountPageResponse response = accountService.getActiveAccounts(afterId, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Obtener cuentas activas en streaming - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
+        description = "Retorna las cuentas activas en formato application/x-ndjson (una por linea), escribiendolas a medida que se leen."
+    )
+    @GetMapping(value = "/active", produces = NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamActiveAccounts() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+            .body(streamAccounts(true));
+    }
+
     @Operation(
         summary = "Actualizar cuenta - Requiere: ROLE_ADMIN",
         description = "Actualiza los datos de una cuenta existente."
@@ -89,13 +170,15 @@ public class AccountController {
 
     @Operation(
         summary = "Cargar saldo a cuenta - Requiere: ROLE_USER o ROLE_ADMIN",
-        description = "Incrementa el saldo actual de la cuenta con el monto especificado."
+        description = "Incrementa el saldo actual de la cuenta con el monto especificado. "
+            + "Acepta el header opcional Idempotency-Key: un reintento con la misma clave devuelve la respuesta original sin volver a cargar el monto."
     )
     @PutMapping("/{id}/balance")
     public ResponseEntity<BalanceResponse> loadBalance(
         @PathVariable Long id,
-        @Valid @RequestBody BalanceRequest request) {
-        BalanceResponse response = accountService.loadBalance(id, request);
+        @Valid @RequestBody BalanceRequest request,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        BalanceResponse response = accountService.loadBalance(id, request, idempotencyKey);
         return ResponseEntity.ok(response);
     }
 
@@ -111,13 +194,77 @@ public class AccountController {
 
     @Operation(
         summary = "Descontar saldo de cuenta - Requiere: ROLE_ADMIN",
-        description = "Descuenta un monto del saldo de una cuenta. Se utiliza cuando se activa un monopatin o se finaliza un viaje."
+        description = "Descuenta un monto del saldo de una cuenta. Se utiliza cuando se activa un monopatin o se finaliza un viaje. "
+            + "Acepta el header opcional Idempotency-Key: un reintento con la misma clave devuelve la respuesta original sin volver a descontar el monto."
     )
     @PutMapping("/{id}/balance/deduct")
     public ResponseEntity<BalanceResponse> deductBalance(
         @PathVariable Long id,
-        @RequestParam Double amount) {
-        BalanceResponse response = accountService.deductBalance(id, amount);
+        @RequestParam BigDecimal amount,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        long amountCents = MoneyUtil.toCents(amount);
+        if (amountCents <= 0) {
+            throw new InvalidAmountException("Amount must be positive");
+        }
+        BalanceResponse response = accountService.deductBalance(id, amountCents, idempotencyKey);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Descontar saldo de varias cuentas - Requiere: ROLE_ADMIN",
+        description = "Descuenta saldo de varias cuentas en una sola transaccion (liquidacion de viajes por lotes). "
+            + "Cada descuento acepta una clave de idempotencia opcional y tiene su propio resultado: "
+            + "OK, INSUFFICIENT_BALANCE, ACCOUNT_INACTIVE, ACCOUNT_NOT_FOUND o IDEMPOTENCY_CONFLICT."
+    )
+    @PostMapping("/balance/deduct-batch")
+    public ResponseEntity<BatchDeductResponse> deductBalanceBatch(
+        @Valid @RequestBody BatchDeductRequest request) {
+        BatchDeductResponse response = accountService.deductBalanceBatch(request.getItems());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Reservar saldo de cuenta - Requiere: ROLE_ADMIN",
+        description = "Reserva un monto del saldo disponible al iniciar un viaje (pre-autorizacion). "
+            + "El monto no se descuenta hasta capturar la reserva y se libera automaticamente al vencer."
+    )
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<HoldResponse> placeHold(
+        @PathVariable Long id,
+        @Valid @RequestBody HoldRequest request) {
+        HoldResponse response = accountService.placeHold(id, request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @Operation(
+        summary = "Obtener reserva de saldo - Requiere: ROLE_EMPLOYEE o ROLE_ADMIN",
+        description = "Obtiene los datos de una reserva de saldo por su identificador."
+    )
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable Long holdId) {
+        HoldResponse response = accountService.getHold(holdId);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Capturar reserva de saldo - Requiere: ROLE_ADMIN",
+        description = "Finaliza un viaje: libera el monto reservado y descuenta el monto final del saldo de la cuenta."
+    )
+    @PutMapping("/holds/{holdId}/capture")
+    public ResponseEntity<HoldResponse> captureHold(
+        @PathVariable Long holdId,
+        @Valid @RequestBody BalanceRequest request) {
+        HoldResponse response = accountService.captureHold(holdId, request.getAmount());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+        summary = "Liberar reserva de saldo - Requiere: ROLE_ADMIN",
+        description = "Cancela una reserva sin descontar saldo (por ejemplo, si el viaje no se inicio)."
+    )
+    @PutMapping("/holds/{holdId}/release")
+    public ResponseEntity<HoldResponse> releaseHold(@PathVariable Long holdId) {
+        HoldResponse response = accountService.releaseHold(holdId);
         return ResponseEntity.ok(response);
     }
 
@@ -140,5 +287,34 @@ public class AccountController {
         accountService.deleteAccount(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * Crea el cuerpo de una respuesta en streaming que escribe cada cuenta como una
+     * linea JSON a medida que se lee de la base de datos.
+     *
+     * El timeout (app.accounts.stream-timeout-ms) es propio de esta respuesta: las demas
+     * solicitudes asincronicas mantienen el timeout por defecto. Si vence o el cliente se
+     * desconecta, el envio falla y se deja de recorrer la tabla.
+     */
+    private ResponseBodyEmitter streamAccounts(boolean activeOnly) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(streamTimeoutMs);
+        streamExecutor.execute(() -> {
+            try {
+                accountService.streamAccounts(activeOnly, account -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(account);
+                        byte[] line = Arrays.copyOf(json, json.length + 1);
+                        line[json.length] = '\n';
+                        emitter.send(line);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                emitter.complete();
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return emitter;
+    }
+}
@@ -86,5 +86,15 @@ public class UserController {
         boolean isValid = userService.validatePassword(request);
         return ResponseEntity.ok(isValid);
     }
-}
 
+    @Operation(
+        summary = "Autenticar usuario - Endpoint público (no requiere autenticación)",
+        description = "Valida email y password y retorna el usuario con sus roles en una sola llamada. Usado por auth-service para login. Retorna 401 si el password no es válido."
+    )
+    @PostMapping("/authenticate")
+    public ResponseEntity<UserResponse> authenticate(
+        @Valid @RequestBody ValidatePasswordRequest request) {
+        UserResponse response = userService.authenticate(request);
+        return ResponseEntity.ok(response);
+    }
+}
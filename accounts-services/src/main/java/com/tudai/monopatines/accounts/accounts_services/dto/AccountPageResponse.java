@@ -0,0 +1,51 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para una página de cuentas.
+ * 
+ * Se utiliza en los endpoints GET /api/accounts y GET /api/accounts/active.
+ * La paginación es por cursor (keyset sobre el ID): para obtener la página
+ * siguiente se envía nextAfterId como parámetro afterId.
+ * 
+ */
+public class AccountPageResponse {
+
+    /**
+     * Cuentas de la página, ordenadas por ID.
+     */
+    private List<AccountResponse> items;
+
+    /**
+     * Cursor para pedir la página siguiente (ID de la última cuenta de la página).
+     * Null si no hay más cuentas.
+     */
+    private Long nextAfterId;
+
+    // Constructors
+    public AccountPageResponse() {
+    }
+
+    public AccountPageResponse(List<AccountResponse> items, Long nextAfterId) {
+        this.items = items;
+        this.nextAfterId = nextAfterId;
+    }
+
+    // Getters and Setters
+    public List<AccountResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<AccountResponse> items) {
+        this.items = items;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+}
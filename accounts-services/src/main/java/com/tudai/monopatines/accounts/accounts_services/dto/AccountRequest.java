@@ -1,5 +1,9 @@
 package com.tudai.monopatines.accounts.accounts_services.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonDeserializer;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -32,17 +36,20 @@ public class AccountRequest {
     /**
      * Saldo inicial de la cuenta.
      * Debe ser un valor positivo o cero (no puede ser negativo).
-     * Si es null, se establece en 0.0 por defecto.
+     * Si es null, se establece en 0 por defecto.
+     * En JSON se expresa como decimal (ej: 12.50) y se guarda en centavos (ej: 1250).
      */
     @NotNull(message = "Current balance is required")
     @PositiveOrZero(message = "Current balance cannot be negative")
-    private Double currentBalance;
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private Long currentBalance;
 
     // Constructors
     public AccountRequest() {
     }
 
-    public AccountRequest(String identificationNumber, String mercadoPagoAccountId, Double currentBalance) {
+    public AccountRequest(String identificationNumber, String mercadoPagoAccountId, Long currentBalance) {
         this.identificationNumber = identificationNumber;
         this.mercadoPagoAccountId = mercadoPagoAccountId;
         this.currentBalance = currentBalance;
@@ -65,11 +72,11 @@ public class AccountRequest {
         this.mercadoPagoAccountId = mercadoPagoAccountId;
     }
 
-    public Double getCurrentBalance() {
+    public Long getCurrentBalance() {
         return currentBalance;
     }
 
-    public void setCurrentBalance(Double currentBalance) {
+    public void setCurrentBalance(Long currentBalance) {
         this.currentBalance = currentBalance;
     }
 }
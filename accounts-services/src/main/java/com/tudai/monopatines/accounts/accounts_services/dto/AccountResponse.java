@@ -1,5 +1,7 @@
 package com.tudai.monopatines.accounts.accounts_services.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
 import java.time.LocalDateTime;
 
 /**
@@ -29,9 +31,10 @@ public class AccountResponse {
     private String mercadoPagoAccountId;
 
     /**
-     * Saldo actual de la cuenta.
+     * Saldo actual de la cuenta en centavos (en JSON se expresa como decimal).
      */
-    private Double currentBalance;
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long currentBalance;
 
     /**
      * Indica si la cuenta está activa (true) o anulada (false).
@@ -53,7 +56,7 @@ public class AccountResponse {
     }
 
     public AccountResponse(Long id, String identificationNumber, String mercadoPagoAccountId,
-                          Double currentBalance, Boolean active, LocalDateTime createdAt, LocalDateTime cancelledAt) {
+                          Long currentBalance, Boolean active, LocalDateTime createdAt, LocalDateTime cancelledAt) {
         this.id = id;
         this.identificationNumber = identificationNumber;
         this.mercadoPagoAccountId = mercadoPagoAccountId;
@@ -88,11 +91,11 @@ public class AccountResponse {
         this.mercadoPagoAccountId = mercadoPagoAccountId;
     }
 
-    public Double getCurrentBalance() {
+    public Long getCurrentBalance() {
         return currentBalance;
     }
 
-    public void setCurrentBalance(Double currentBalance) {
+    public void setCurrentBalance(Long currentBalance) {
         this.currentBalance = currentBalance;
     }
 
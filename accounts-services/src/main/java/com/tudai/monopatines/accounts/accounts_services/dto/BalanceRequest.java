@@ -1,5 +1,9 @@
 package com.tudai.monopatines.accounts.accounts_services.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonDeserializer;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -16,25 +20,28 @@ public class BalanceRequest {
     /**
      * Monto a cargar en la cuenta.
      * Debe ser un valor positivo (mayor que cero) y no puede ser null.
+     * En JSON se expresa como decimal (ej: 12.50) y se maneja en centavos (ej: 1250).
      */
     @NotNull(message = "Amount is required")
     @Positive(message = "Amount must be positive")
-    private Double amount;
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private Long amount;
 
     // Constructors
     public BalanceRequest() {
     }
 
-    public BalanceRequest(Double amount) {
+    public BalanceRequest(Long amount) {
         this.amount = amount;
     }
 
     // Getters and Setters
-    public Double getAmount() {
+    public Long getAmount() {
         return amount;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(Long amount) {
         this.amount = amount;
     }
 }
@@ -1,5 +1,8 @@
 package com.tudai.monopatines.accounts.accounts_services.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
+
 /**
  * DTO (Data Transfer Object) para la respuesta del saldo de una cuenta.
  * 
@@ -16,19 +19,35 @@ public class BalanceResponse {
     private Long accountId;
 
     /**
-     * Saldo actual de la cuenta después de la operación.
+     * Saldo actual de la cuenta después de la operación, en centavos
+     * (en JSON se expresa como decimal).
+     */
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long currentBalance;
+
+    /**
+     * Saldo disponible para nuevos descuentos o reservas: saldo actual menos el
+     * saldo reservado por viajes en curso, en centavos. Es null en las respuestas
+     * repetidas por una clave de idempotencia.
      */
-    private Double currentBalance;
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long availableBalance;
 
     // Constructors
     public BalanceResponse() {
     }
 
-    public BalanceResponse(Long accountId, Double currentBalance) {
+    public BalanceResponse(Long accountId, Long currentBalance) {
         this.accountId = accountId;
         this.currentBalance = currentBalance;
     }
 
+    public BalanceResponse(Long accountId, Long currentBalance, Long availableBalance) {
+        this.accountId = accountId;
+        this.currentBalance = currentBalance;
+        this.availableBalance = availableBalance;
+    }
+
     // Getters and Setters
     public Long getAccountId() {
         return accountId;
@@ -38,12 +57,19 @@ public class BalanceResponse {
         this.accountId = accountId;
     }
 
-    public Double getCurrentBalance() {
+    public Long getCurrentBalance() {
         return currentBalance;
     }
 
-    public void setCurrentBalance(Double currentBalance) {
+    public void setCurrentBalance(Long currentBalance) {
         this.currentBalance = currentBalance;
     }
-}
 
+    public Long getAvailableBalance() {
+        return availableBalance;
+    }
+
+    public void setAvailableBalance(Long availableBalance) {
+        this.availableBalance = availableBalance;
+    }
+}
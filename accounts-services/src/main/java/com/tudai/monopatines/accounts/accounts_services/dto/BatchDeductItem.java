@@ -0,0 +1,77 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonDeserializer;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO (Data Transfer Object) para un descuento dentro de un lote.
+ * 
+ * Se utiliza dentro de BatchDeductRequest en el endpoint
+ * POST /api/accounts/balance/deduct-batch.
+ * 
+ */
+public class BatchDeductItem {
+
+    /**
+     * ID de la cuenta a la que se le descuenta el saldo.
+     */
+    @NotNull(message = "Account id is required")
+    private Long accountId;
+
+    /**
+     * Monto a descontar. En JSON se expresa como decimal y se maneja en centavos.
+     */
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private Long amount;
+
+    /**
+     * Clave de idempotencia opcional. Un reintento con la misma clave no vuelve a descontar el monto.
+     */
+    @Size(max = 128, message = "Idempotency key must have at most 128 characters")
+    @Pattern(regexp = ".*\\S.*", message = "Idempotency key must not be blank")
+    private String idempotencyKey;
+
+    // Constructors
+    public BatchDeductItem() {
+    }
+
+    public BatchDeductItem(Long accountId, Long amount, String idempotencyKey) {
+        this.accountId = accountId;
+        this.amount = amount;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+}
@@ -0,0 +1,102 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
+
+/**
+ * DTO (Data Transfer Object) con el resultado de un descuento dentro de un lote.
+ * 
+ */
+public class BatchDeductItemResult {
+
+    /**
+     * Resultados posibles de un descuento.
+     */
+    public enum Status {
+        OK,
+        INSUFFICIENT_BALANCE,
+        ACCOUNT_INACTIVE,
+        ACCOUNT_NOT_FOUND,
+        IDEMPOTENCY_CONFLICT
+    }
+
+    /**
+     * ID de la cuenta del descuento.
+     */
+    private Long accountId;
+
+    /**
+     * Clave de idempotencia enviada para el descuento (puede ser null).
+     */
+    private String idempotencyKey;
+
+    /**
+     * Resultado del descuento.
+     */
+    private Status status;
+
+    /**
+     * Indica si el resultado corresponde a un descuento ya procesado con la misma clave.
+     */
+    private boolean replayed;
+
+    /**
+     * Saldo de la cuenta después del descuento, en centavos (en JSON se expresa como decimal).
+     * Es null si la cuenta no existe o si la clave de idempotencia está en conflicto.
+     */
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long currentBalance;
+
+    // Constructors
+    public BatchDeductItemResult() {
+    }
+
+    public BatchDeductItemResult(Long accountId, String idempotencyKey, Status status, boolean replayed, Long currentBalance) {
+        this.accountId = accountId;
+        this.idempotencyKey = idempotencyKey;
+        this.status = status;
+        this.replayed = replayed;
+        this.currentBalance = currentBalance;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    public void setReplayed(boolean replayed) {
+        this.replayed = replayed;
+    }
+
+    public Long getCurrentBalance() {
+        return currentBalance;
+    }
+
+    public void setCurrentBalance(Long currentBalance) {
+        this.currentBalance = currentBalance;
+    }
+}
@@ -0,0 +1,42 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para descontar saldo de varias cuentas en una sola solicitud.
+ * 
+ * Se utiliza en el endpoint POST /api/accounts/balance/deduct-batch para liquidar
+ * muchos viajes juntos. Los descuentos se aplican en el orden recibido.
+ * 
+ */
+public class BatchDeductRequest {
+
+    /**
+     * Descuentos a aplicar.
+     */
+    @NotEmpty(message = "Items are required")
+    @Size(max = 1000, message = "A batch can have at most 1000 items")
+    @Valid
+    private List<BatchDeductItem> items;
+
+    // Constructors
+    public BatchDeductRequest() {
+    }
+
+    public BatchDeductRequest(List<BatchDeductItem> items) {
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<BatchDeductItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchDeductItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import java.util.List;
+
+/**
+ * DTO (Data Transfer Object) para la respuesta de un descuento de saldo por lotes.
+ * 
+ * Contiene un resultado por cada descuento solicitado, en el mismo orden del request.
+ * 
+ */
+public class BatchDeductResponse {
+
+    /**
+     * Cantidad de descuentos aplicados (incluye los reintentos ya procesados).
+     */
+    private int succeeded;
+
+    /**
+     * Cantidad de descuentos rechazados.
+     */
+    private int failed;
+
+    /**
+     * Resultado de cada descuento, en el orden del request.
+     */
+    private List<BatchDeductItemResult> results;
+
+    // Constructors
+    public BatchDeductResponse() {
+    }
+
+    public BatchDeductResponse(List<BatchDeductItemResult> results) {
+        this.results = results;
+        for (BatchDeductItemResult result : results) {
+            if (result.getStatus() == BatchDeductItemResult.Status.OK) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchDeductItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchDeductItemResult> results) {
+        this.results = results;
+    }
+}
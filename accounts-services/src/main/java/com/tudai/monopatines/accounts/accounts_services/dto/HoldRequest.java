@@ -0,0 +1,61 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonDeserializer;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * DTO (Data Transfer Object) para reservar saldo de una cuenta.
+ * 
+ * Se utiliza en el endpoint POST /api/accounts/{id}/holds al iniciar un viaje.
+ * 
+ */
+public class HoldRequest {
+
+    /**
+     * Monto a reservar. En JSON se expresa como decimal y se maneja en centavos.
+     */
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    @JsonDeserialize(using = MoneyJsonDeserializer.class)
+    private Long amount;
+
+    /**
+     * Minutos hasta que la reserva se libere automáticamente.
+     * Opcional: si no se indica se usa el valor configurado (app.balance.holds.default-ttl-minutes).
+     */
+    @Positive(message = "Expiration must be positive")
+    @Max(value = 1440, message = "Expiration must be at most 1440 minutes")
+    private Integer expiresInMinutes;
+
+    // Constructors
+    public HoldRequest() {
+    }
+
+    public HoldRequest(Long amount, Integer expiresInMinutes) {
+        this.amount = amount;
+        this.expiresInMinutes = expiresInMinutes;
+    }
+
+    // Getters and Setters
+    public Long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+
+    public Integer getExpiresInMinutes() {
+        return expiresInMinutes;
+    }
+
+    public void setExpiresInMinutes(Integer expiresInMinutes) {
+        this.expiresInMinutes = expiresInMinutes;
+    }
+}
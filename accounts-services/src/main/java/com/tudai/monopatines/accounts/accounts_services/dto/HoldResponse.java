@@ -0,0 +1,127 @@
+package com.tudai.monopatines.accounts.accounts_services.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyJsonSerializer;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO (Data Transfer Object) para la respuesta de una reserva de saldo.
+ * 
+ * Se utiliza en los endpoints de reservas (crear, capturar, liberar, consultar).
+ * 
+ */
+public class HoldResponse {
+
+    /**
+     * ID de la reserva.
+     */
+    private Long id;
+
+    /**
+     * ID de la cuenta sobre la que se reservó el saldo.
+     */
+    private Long accountId;
+
+    /**
+     * Monto reservado en centavos (en JSON se expresa como decimal).
+     */
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long amount;
+
+    /**
+     * Monto descontado al capturar la reserva (null si no fue capturada).
+     */
+    @JsonSerialize(using = MoneyJsonSerializer.class)
+    private Long capturedAmount;
+
+    /**
+     * Estado de la reserva (HELD, CAPTURED, RELEASED o EXPIRED).
+     */
+    private BalanceHold.HoldStatus status;
+
+    /**
+     * Fecha y hora de creación de la reserva.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora de vencimiento de la reserva.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Fecha y hora de cierre de la reserva (null si sigue activa).
+     */
+    private LocalDateTime closedAt;
+
+    // Constructors
+    public HoldResponse() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Long amount) {
+        this.amount = amount;
+    }
+
+    public Long getCapturedAmount() {
+        return capturedAmount;
+    }
+
+    public void setCapturedAmount(Long capturedAmount) {
+        this.capturedAmount = capturedAmount;
+    }
+
+    public BalanceHold.HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BalanceHold.HoldStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+}
@@ -3,6 +3,9 @@ package com.tudai.monopatines.accounts.accounts_services.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
@@ -11,13 +14,22 @@ import java.time.LocalDateTime;
  * Una cuenta está asociada a una cuenta de Mercado Pago y puede tener
  * varios usuarios asociados que utilizarán los créditos cargados en la cuenta.
  * 
+ * Se usa @DynamicUpdate para que guardar cambios de otros campos (por ejemplo al
+ * anular la cuenta) no reescriba el saldo, que se modifica con UPDATEs atómicos.
+ * 
  */
 @Entity
-@Table(name = "accounts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
+@DynamicUpdate
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_active_id", columnList = "active, id")
+})
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -37,13 +49,24 @@ public class Account {
     private String mercadoPagoAccountId;
 
     /**
-     * Saldo actual de créditos en la cuenta.
+     * Saldo consolidado de créditos en la cuenta (snapshot).
      * Se va descontando en función del tiempo de uso del monopatín.
+     * Las cargas recientes se registran en el ledger de movimientos y se suman
+     * a este valor cuando el job de snapshots las consolida.
+     * Se guarda en centavos (ver MoneyUtil) para evitar errores de redondeo.
      */
-    @Column(name = "current_balance", nullable = false)
-    @NotNull(message = "El saldo actual es requerido")
+    @Column(name = "current_balance_cents", nullable = false)
     @PositiveOrZero(message = "El saldo no puede ser negativo")
-    private Double currentBalance;
+    private long currentBalance;
+
+    /**
+     * Total reservado por reservas de saldo activas (pre-autorizaciones), en centavos.
+     * Forma parte del saldo pero no está disponible para otros descuentos ni reservas:
+     * saldo disponible = saldo + cargas pendientes - saldo reservado.
+     */
+    @Column(name = "held_balance_cents", nullable = false)
+    @PositiveOrZero(message = "El saldo reservado no puede ser negativo")
+    private long heldBalance;
 
     /**
      * Indica si la cuenta está activa o anulada.
@@ -70,7 +93,8 @@ public class Account {
     // Constructors
     public Account() {
         this.active = true;
-        this.currentBalance = 0.0;
+        this.currentBalance = 0L;
+        this.heldBalance = 0L;
         this.createdAt = LocalDateTime.now();
     }
 
@@ -105,14 +129,22 @@ public class Account {
         this.mercadoPagoAccountId = mercadoPagoAccountId;
     }
 
-    public Double getCurrentBalance() {
+    public long getCurrentBalance() {
         return currentBalance;
     }
 
-    public void setCurrentBalance(Double currentBalance) {
+    public void setCurrentBalance(long currentBalance) {
         this.currentBalance = currentBalance;
     }
 
+    public long getHeldBalance() {
+        return heldBalance;
+    }
+
+    public void setHeldBalance(long heldBalance) {
+        this.heldBalance = heldBalance;
+    }
+
     public Boolean getActive() {
         return active;
     }
@@ -160,6 +192,7 @@ public class Account {
                 ", identificationNumber='" + identificationNumber + '\'' +
                 ", mercadoPagoAccountId='" + mercadoPagoAccountId + '\'' +
                 ", currentBalance=" + currentBalance +
+                ", heldBalance=" + heldBalance +
                 ", active=" + active +
                 ", createdAt=" + createdAt +
                 ", cancelledAt=" + cancelledAt +
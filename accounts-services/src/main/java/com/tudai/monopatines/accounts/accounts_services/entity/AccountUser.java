@@ -2,6 +2,8 @@ package com.tudai.monopatines.accounts.accounts_services.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -15,12 +17,16 @@ import java.time.LocalDateTime;
  * 
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "account-users")
 @Table(name = "account_user", 
-       uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(name = "uk_account_user_account_user", columnNames = {"account_id", "user_id"}),
+       indexes = @Index(name = "idx_account_user_user_account", columnList = "user_id, account_id"))
 public class AccountUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_user_seq")
+    @SequenceGenerator(name = "account_user_seq", sequenceName = "account_user_seq", allocationSize = 50)
     private Long id;
 
     /**
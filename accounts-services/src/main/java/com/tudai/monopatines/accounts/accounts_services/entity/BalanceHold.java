@@ -0,0 +1,179 @@
+package com.tudai.monopatines.accounts.accounts_services.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una reserva de saldo (pre-autorización) sobre una cuenta.
+ *
+ * Al iniciar un viaje se reserva un monto que deja de estar disponible para otras
+ * operaciones, sin descontarlo todavía. Al finalizar el viaje la reserva se captura
+ * por el monto final (se descuenta del saldo) o se libera. Si no se cierra antes de
+ * su vencimiento, el job de reservas la libera automáticamente.
+ *
+ * El total reservado de cada cuenta se mantiene en Account.heldBalance.
+ *
+ */
+@Entity
+@Table(name = "balance_holds", indexes = {
+        @Index(name = "idx_balance_holds_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_balance_holds_account_id", columnList = "account_id")
+})
+public class BalanceHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la cuenta sobre la que se reserva el saldo.
+     */
+    @Column(name = "account_id", nullable = false)
+    @NotNull(message = "La cuenta es requerida")
+    private Long accountId;
+
+    /**
+     * Monto reservado en centavos.
+     */
+    @Column(name = "amount_cents", nullable = false)
+    private long amount;
+
+    /**
+     * Monto finalmente descontado al capturar la reserva, en centavos.
+     * Null mientras la reserva no fue capturada.
+     */
+    @Column(name = "captured_amount_cents")
+    private Long capturedAmount;
+
+    /**
+     * Estado de la reserva.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    @NotNull(message = "El estado de la reserva es requerido")
+    private HoldStatus status;
+
+    /**
+     * Fecha y hora en que se creó la reserva.
+     */
+    @Column(name = "created_at", nullable = false)
+    @NotNull(message = "La fecha de creación es requerida")
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora a partir de la cual la reserva se libera automáticamente.
+     */
+    @Column(name = "expires_at", nullable = false)
+    @NotNull(message = "La fecha de vencimiento es requerida")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Fecha y hora en que la reserva se capturó, liberó o venció.
+     */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    /**
+     * Estados posibles de una reserva.
+     */
+    public enum HoldStatus {
+        HELD,
+        CAPTURED,
+        RELEASED,
+        EXPIRED
+    }
+
+    // Constructors
+    public BalanceHold() {
+        this.status = HoldStatus.HELD;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public BalanceHold(Long accountId, long amount, LocalDateTime expiresAt) {
+        this();
+        this.accountId = accountId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public Long getCapturedAmount() {
+        return capturedAmount;
+    }
+
+    public void setCapturedAmount(Long capturedAmount) {
+        this.capturedAmount = capturedAmount;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceHold{" +
+                "id=" + id +
+                ", accountId=" + accountId +
+                ", amount=" + amount +
+                ", capturedAmount=" + capturedAmount +
+                ", status=" + status +
+                ", createdAt=" + createdAt +
+                ", expiresAt=" + expiresAt +
+                ", closedAt=" + closedAt +
+                '}';
+    }
+}
@@ -0,0 +1,187 @@
+package com.tudai.monopatines.accounts.accounts_services.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un movimiento de saldo de una cuenta.
+ * Los movimientos forman un libro (ledger) de solo inserción: nunca se modifican
+ * sus montos, solo se marcan como aplicados cuando se consolidan en el saldo
+ * de la cuenta (snapshot).
+ *
+ * Se guarda el ID de la cuenta y no la relación, para que el historial
+ * se conserve aunque la cuenta sea eliminada.
+ *
+ */
+@Entity
+@Table(name = "balance_movements", indexes = {
+        @Index(name = "idx_balance_movements_account_applied", columnList = "account_id, applied, id"),
+        @Index(name = "idx_balance_movements_applied_account", columnList = "applied, account_id")
+})
+public class BalanceMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID de la cuenta a la que pertenece el movimiento.
+     */
+    @Column(name = "account_id", nullable = false)
+    @NotNull(message = "La cuenta es requerida")
+    private Long accountId;
+
+    /**
+     * Tipo de movimiento (carga o descuento).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16)
+    @NotNull(message = "El tipo de movimiento es requerido")
+    private MovementType type;
+
+    /**
+     * Monto del movimiento en centavos y con signo: positivo para cargas, negativo para descuentos.
+     */
+    @Column(name = "amount_cents", nullable = false)
+    private long amount;
+
+    /**
+     * Indica si el movimiento ya está reflejado en el saldo de la cuenta.
+     * Las cargas se insertan pendientes y el job de snapshots las consolida;
+     * los descuentos se aplican en el momento y se registran ya aplicados.
+     */
+    @Column(name = "applied", nullable = false)
+    @NotNull(message = "El estado de aplicación es requerido")
+    private Boolean applied;
+
+    /**
+     * Fecha y hora en que se registró el movimiento.
+     */
+    @Column(name = "created_at", nullable = false)
+    @NotNull(message = "La fecha de registro es requerida")
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora en que el movimiento se consolidó en el saldo de la cuenta.
+     */
+    @Column(name = "applied_at")
+    private LocalDateTime appliedAt;
+
+    /**
+     * Tipos de movimiento de saldo.
+     */
+    public enum MovementType {
+        CREDIT,
+        DEBIT
+    }
+
+    // Constructors
+    public BalanceMovement() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public BalanceMovement(Long accountId, MovementType type, long amount, boolean applied) {
+        this();
+        this.accountId = accountId;
+        this.type = type;
+        this.amount = amount;
+        this.applied = applied;
+        if (applied) {
+            this.appliedAt = this.createdAt;
+        }
+    }
+
+    /**
+     * Crea un movimiento de carga pendiente de consolidar.
+     *
+     * @param accountId ID de la cuenta
+     * @param amount Monto cargado en centavos (positivo)
+     * @return Movimiento de tipo CREDIT no aplicado
+     */
+    public static BalanceMovement pendingCredit(Long accountId, long amount) {
+        return new BalanceMovement(accountId, MovementType.CREDIT, amount, false);
+    }
+
+    /**
+     * Crea un movimiento de descuento ya aplicado sobre el saldo.
+     *
+     * @param accountId ID de la cuenta
+     * @param amount Monto descontado en centavos (positivo, se guarda con signo negativo)
+     * @return Movimiento de tipo DEBIT aplicado
+     */
+    public static BalanceMovement appliedDebit(Long accountId, long amount) {
+        return new BalanceMovement(accountId, MovementType.DEBIT, -amount, true);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public MovementType getType() {
+        return type;
+    }
+
+    public void setType(MovementType type) {
+        this.type = type;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public Boolean getApplied() {
+        return applied;
+    }
+
+    public void setApplied(Boolean applied) {
+        this.applied = applied;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getAppliedAt() {
+        return appliedAt;
+    }
+
+    public void setAppliedAt(LocalDateTime appliedAt) {
+        this.appliedAt = appliedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceMovement{" +
+                "id=" + id +
+                ", accountId=" + accountId +
+                ", type=" + type +
+                ", amount=" + amount +
+                ", applied=" + applied +
+                ", createdAt=" + createdAt +
+                ", appliedAt=" + appliedAt +
+                '}';
+    }
+}
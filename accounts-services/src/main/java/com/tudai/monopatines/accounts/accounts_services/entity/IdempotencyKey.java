@@ -0,0 +1,191 @@
+package com.tudai.monopatines.accounts.accounts_services.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que registra una clave de idempotencia ya utilizada en una operación de saldo,
+ * junto con la respuesta que se devolvió.
+ *
+ * Si un cliente reintenta la misma operación con la misma clave, se devuelve la
+ * respuesta guardada (saldo actual y disponible) sin volver a aplicar el monto sobre la cuenta.
+ *
+ * Implementa Persistable para que save() haga siempre un INSERT: si la clave ya
+ * existe, la restricción de clave primaria falla en lugar de sobrescribir el registro.
+ *
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyKey implements Persistable<String> {
+
+    /**
+     * Clave de idempotencia enviada por el cliente (header Idempotency-Key).
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    /**
+     * Operación para la que se usó la clave (ej: LOAD_BALANCE, DEDUCT_BALANCE).
+     */
+    @Column(name = "operation", nullable = false, length = 32)
+    @NotNull(message = "La operación es requerida")
+    private String operation;
+
+    /**
+     * ID de la cuenta sobre la que se aplicó la operación.
+     */
+    @Column(name = "account_id", nullable = false)
+    @NotNull(message = "La cuenta es requerida")
+    private Long accountId;
+
+    /**
+     * Monto de la operación original, en centavos. Reusar la clave con otro monto es un conflicto.
+     */
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    /**
+     * Saldo devuelto en la respuesta original, en centavos.
+     */
+    @Column(name = "balance_cents", nullable = false)
+    private long balanceCents;
+
+    /**
+     * Saldo disponible devuelto en la respuesta original, en centavos
+     * (null en las claves registradas antes de guardarlo).
+     */
+    @Column(name = "available_balance_cents")
+    private Long availableBalanceCents;
+
+    /**
+     * Fecha y hora en que se registró la clave.
+     */
+    @Column(name = "created_at", nullable = false)
+    @NotNull(message = "La fecha de registro es requerida")
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    // Constructors
+    public IdempotencyKey() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public IdempotencyKey(String key, String operation, Long accountId, long amountCents, long balanceCents,
+                          Long availableBalanceCents) {
+        this();
+        this.key = key;
+        this.operation = operation;
+        this.accountId = accountId;
+        this.amountCents = amountCents;
+        this.balanceCents = balanceCents;
+        this.availableBalanceCents = availableBalanceCents;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /**
+     * Verifica si la clave se usó para la misma operación, cuenta y monto.
+     *
+     * @param operation Operación solicitada
+     * @param accountId ID de la cuenta
+     * @param amountCents Monto en centavos
+     * @return true si la solicitud es un reintento de la operación original
+     */
+    public boolean matches(String operation, Long accountId, long amountCents) {
+        return this.operation.equals(operation)
+                && this.accountId.equals(accountId)
+                && this.amountCents == amountCents;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+
+    public long getBalanceCents() {
+        return balanceCents;
+    }
+
+    public void setBalanceCents(long balanceCents) {
+        this.balanceCents = balanceCents;
+    }
+
+    public Long getAvailableBalanceCents() {
+        return availableBalanceCents;
+    }
+
+    public void setAvailableBalanceCents(Long availableBalanceCents) {
+        this.availableBalanceCents = availableBalanceCents;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyKey{" +
+                "key='" + key + '\'' +
+                ", operation='" + operation + '\'' +
+                ", accountId=" + accountId +
+                ", amountCents=" + amountCents +
+                ", balanceCents=" + balanceCents +
+                ", availableBalanceCents=" + availableBalanceCents +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
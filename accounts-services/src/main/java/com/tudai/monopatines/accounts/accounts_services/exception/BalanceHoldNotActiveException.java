@@ -0,0 +1,19 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+
+/**
+ * Excepción lanzada cuando se intenta capturar o liberar una reserva de saldo
+ * que ya fue capturada, liberada o vencida.
+ * 
+ */
+public class BalanceHoldNotActiveException extends RuntimeException {
+
+    public BalanceHoldNotActiveException(String message) {
+        super(message);
+    }
+
+    public BalanceHoldNotActiveException(Long holdId, BalanceHold.HoldStatus status) {
+        super("Balance hold with id " + holdId + " is not active (status: " + status + ")");
+    }
+}
@@ -0,0 +1,16 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando no se encuentra una reserva de saldo.
+ * 
+ */
+public class BalanceHoldNotFoundException extends RuntimeException {
+
+    public BalanceHoldNotFoundException(String message) {
+        super(message);
+    }
+
+    public BalanceHoldNotFoundException(Long holdId) {
+        super("Balance hold with id " + holdId + " not found");
+    }
+}
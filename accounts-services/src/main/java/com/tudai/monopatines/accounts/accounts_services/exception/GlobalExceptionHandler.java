@@ -1,7 +1,9 @@
 package com.tudai.monopatines.accounts.accounts_services.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -56,6 +58,63 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Maneja excepciones de tipo InvalidCredentialsException.
+     * Retorna una respuesta HTTP 401 (Unauthorized) cuando el password no es válido.
+     * 
+     * @param ex Excepción de credenciales inválidas
+     * @return ResponseEntity con código HTTP 401 y mensaje de error
+     */
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCredentialsException(InvalidCredentialsException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.UNAUTHORIZED.value(),
+                "Invalid Credentials",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+    }
+
+    /**
+     * Maneja excepciones de tipo PasswordHashingUnavailableException.
+     * Retorna una respuesta HTTP 503 (Service Unavailable) con header Retry-After
+     * cuando el pool de verificación de passwords está saturado.
+     * 
+     * @param ex Excepción de pool de verificación saturado
+     * @return ResponseEntity con código HTTP 503 y mensaje de error
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones de tipo BalanceHoldNotFoundException.
+     * Retorna una respuesta HTTP 404 (Not Found) cuando no se encuentra una reserva de saldo.
+     * 
+     * @param ex Excepción de reserva no encontrada
+     * @return ResponseEntity con código HTTP 404 y mensaje de error
+     */
+    @ExceptionHandler(BalanceHoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceHoldNotFoundException(BalanceHoldNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_FOUND.value(),
+                "Balance Hold Not Found",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Maneja excepciones de tipo AccountAlreadyExistsException.
      * Retorna una respuesta HTTP 409 (Conflict) cuando se intenta crear una cuenta con un número identificatorio que ya existe.
@@ -92,6 +151,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Maneja excepciones de tipo BalanceHoldNotActiveException.
+     * Retorna una respuesta HTTP 409 (Conflict) cuando se intenta capturar o liberar una reserva
+     * que ya fue capturada, liberada o vencida.
+     * 
+     * @param ex Excepción de reserva no activa
+     * @return ResponseEntity con código HTTP 409 y mensaje de error
+     */
+    @ExceptionHandler(BalanceHoldNotActiveException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceHoldNotActiveException(BalanceHoldNotActiveException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Balance Hold Not Active",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     /**
      * Maneja excepciones de tipo InsufficientBalanceException.
      * Retorna una respuesta HTTP 400 (Bad Request) cuando se intenta descontar un saldo mayor al disponible.
@@ -128,6 +206,82 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja excepciones de tipo InvalidAmountException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando un monto no es válido
+     * (no positivo o con más de dos decimales).
+     * 
+     * @param ex Excepción de monto inválido
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(InvalidAmountException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidAmountException(InvalidAmountException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Amount",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones de tipo IdempotencyKeyConflictException.
+     * Retorna una respuesta HTTP 409 (Conflict) cuando una clave de idempotencia se reutiliza
+     * para otra operación o cuando otra solicitud con la misma clave se está procesando.
+     * 
+     * @param ex Excepción de conflicto de clave de idempotencia
+     * @return ResponseEntity con código HTTP 409 y mensaje de error
+     */
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflictException(IdempotencyKeyConflictException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Idempotency Key Conflict",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja excepciones de tipo InvalidIdempotencyKeyException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando el header Idempotency-Key no es válido.
+     * 
+     * @param ex Excepción de clave de idempotencia inválida
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid Idempotency Key",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Maneja excepciones de tipo HttpMessageNotReadableException.
+     * Retorna una respuesta HTTP 400 (Bad Request) cuando el body no se puede leer,
+     * por ejemplo un JSON mal formado o un monto con más de dos decimales.
+     * 
+     * @param ex Excepción de lectura del body
+     * @return ResponseEntity con código HTTP 400 y mensaje de error
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        Throwable cause = ex.getMostSpecificCause();
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Malformed Request",
+                cause instanceof InvalidAmountException ? cause.getMessage() : "Request body could not be read"
+        );
+        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Maneja excepciones de validación de Spring (MethodArgumentNotValidException).
      * Retorna una respuesta HTTP 400 (Bad Request) con detalles de los errores de validación.
@@ -0,0 +1,24 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando una clave de idempotencia se reutiliza para una operación distinta
+ * (otra cuenta, otro tipo de operación u otro monto) o cuando otra solicitud con la misma
+ * clave se está procesando en paralelo.
+ * 
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+
+    public static IdempotencyKeyConflictException forMismatch(String key) {
+        return new IdempotencyKeyConflictException(
+                "Idempotency key " + key + " was already used for a different request");
+    }
+
+    public static IdempotencyKeyConflictException forConcurrentRequest(String key) {
+        return new IdempotencyKeyConflictException(
+                "A request with idempotency key " + key + " is already being processed");
+    }
+}
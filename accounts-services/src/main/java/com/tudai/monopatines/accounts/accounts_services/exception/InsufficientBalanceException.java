@@ -1,5 +1,7 @@
 package com.tudai.monopatines.accounts.accounts_services.exception;
 
+import com.tudai.monopatines.accounts.accounts_services.util.MoneyUtil;
+
 /**
  * Excepción lanzada cuando se intenta descontar un saldo mayor al disponible.
  * 
@@ -10,8 +12,9 @@ public class InsufficientBalanceException extends RuntimeException {
         super(message);
     }
     
-    public InsufficientBalanceException(Double currentBalance, Double requestedAmount) {
-        super("Insufficient balance. Current balance: " + currentBalance + ", Requested amount: " + requestedAmount);
+    public InsufficientBalanceException(long currentBalanceCents, long requestedAmountCents) {
+        super("Insufficient balance. Current balance: " + MoneyUtil.format(currentBalanceCents)
+                + ", Requested amount: " + MoneyUtil.format(requestedAmountCents));
     }
 }
 
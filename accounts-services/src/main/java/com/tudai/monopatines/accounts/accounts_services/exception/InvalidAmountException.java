@@ -0,0 +1,12 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando un monto no es válido (negativo, cero o con más decimales de los permitidos).
+ *
+ */
+public class InvalidAmountException extends RuntimeException {
+
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
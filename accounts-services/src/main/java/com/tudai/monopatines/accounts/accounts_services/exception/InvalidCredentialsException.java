@@ -0,0 +1,16 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando el password no coincide con el del usuario al autenticarse.
+ * 
+ */
+public class InvalidCredentialsException extends RuntimeException {
+    
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+    
+    public static InvalidCredentialsException forEmail(String email) {
+        return new InvalidCredentialsException("Invalid email or password for user: " + email);
+    }
+}
@@ -0,0 +1,12 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando el header Idempotency-Key está vacío o supera la longitud permitida.
+ * 
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.tudai.monopatines.accounts.accounts_services.exception;
+
+/**
+ * Excepción lanzada cuando no se puede verificar un password porque el pool
+ * de verificación está saturado.
+ * 
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
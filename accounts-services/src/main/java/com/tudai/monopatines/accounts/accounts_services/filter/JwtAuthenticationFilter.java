@@ -1,26 +1,33 @@
 package com.tudai.monopatines.accounts.accounts_services.filter;
 
-import com.tudai.monopatines.accounts.accounts_services.service.JwtService;
+import com.tudai.monopatines.accounts.accounts_services.service.GatewayIdentityVerifier;
+import com.tudai.monopatines.accounts.accounts_services.service.JwtPrincipal;
+import com.tudai.monopatines.accounts.accounts_services.service.JwtTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtService jwtService;
+    private JwtTokenCache jwtTokenCache;
+
+    @Autowired
+    private GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     
     // Clave de la cabecera de la peticion http.
@@ -45,41 +52,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Extraer el header Authorization
-        String authHeader = request.getHeader(AUTHORIZATION_HEADER);
-
-        // Verificar que el header exista y tenga el formato correcto "Bearer <token>"
-        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-            // Extraer el token (eliminar el prefijo "Bearer ")
-            String token = authHeader.substring(BEARER_PREFIX.length());
-
-            // Validar el token (firma, expiracion, formato)
-            if (jwtService.validateToken(token)) {
-                // Extraer informacion del token
-                Long userId = jwtService.getUserIdFromToken(token);
-                List<String> roles = jwtService.getRolesFromToken(token);
-
-                // Convertir roles (String) a SimpleGrantedAuthority para Spring Security
-                // Ejemplo: "ROLE_USER" -> SimpleGrantedAuthority("ROLE_USER")
-                List<SimpleGrantedAuthority> authorities = roles.stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
-                // Crear objeto de autenticacion con:
-                // - Principal: userId (identidad del usuario)
-                // - Credentials: null (no se guardan credenciales)
-                // - Authorities: lista de roles (permisos)
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userId, null, authorities);
-                
-                // Establecer la autenticacion en el contexto de Spring Security
-                // Esto permite que SecurityConfig verifique los permisos segun roles
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        // Si el request viene del api-gateway, el token ya fue validado ahi y la identidad
+        // llega en headers firmados: basta con verificar esa firma
+        Optional<JwtPrincipal> principal = gatewayIdentityVerifier.resolve(request);
+
+        if (principal.isEmpty()) {
+            // Extraer el header Authorization
+            String authHeader = request.getHeader(AUTHORIZATION_HEADER);
+
+            // Verificar que el header exista y tenga el formato correcto "Bearer <token>"
+            if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+                // Extraer el token (eliminar el prefijo "Bearer ")
+                String token = authHeader.substring(BEARER_PREFIX.length());
+
+                // Validar el token (firma, expiracion, formato) y extraer usuario y roles en una sola pasada.
+                // Si el token ya fue verificado y no expiro, se resuelve desde el cache sin verificar la firma
+                principal = jwtTokenCache.resolve(token);
             }
-            // Si el token es invalido, no se establece autenticacion
-            // El request continuara sin autenticacion y sera rechazado si requiere autenticacion
+            // Si no hay header Authorization, el request continua sin autenticacion
+        }
+
+        if (principal.isPresent()) {
+            // Crear objeto de autenticacion con:
+            // - Principal: userId (identidad del usuario)
+            // - Credentials: null (no se guardan credenciales)
+            // - Authorities: lista de roles (permisos)
+            UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal.get().getUserId(), null,
+                            principal.get().getAuthorities());
+
+            // Establecer la autenticacion en el contexto de Spring Security
+            // Esto permite que SecurityConfig verifique los permisos segun roles
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Se guarda tambien en el request: AccessLogFilter registra el usuario autenticado
+            // despues de que la cadena de seguridad limpia el SecurityContextHolder
+            securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
         }
-        // Si no hay header Authorization, el request continua sin autenticacion
+        // Si el token es invalido, no se establece autenticacion
+        // El request continuara sin autenticacion y sera rechazado si requiere autenticacion
 
         // Continuar con la cadena de filtros
         filterChain.doFilter(request, response);
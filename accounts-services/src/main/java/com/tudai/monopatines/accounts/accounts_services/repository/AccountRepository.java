@@ -1,10 +1,21 @@
 package com.tudai.monopatines.accounts.accounts_services.repository;
 
 import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Account.
@@ -14,6 +25,14 @@ import java.util.List;
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
+    /**
+     * Query space de los UPDATE de saldo. Son SQL nativo sincronizado con este espacio (que no
+     * corresponde a ninguna entidad) para que Hibernate no vacíe toda la región de cuentas del
+     * cache de segundo nivel en cada actualización; quien los llama descarta solo la cuenta
+     * modificada con AccountCacheEvictor.
+     */
+    String BALANCE_QUERY_SPACE = "account_balances";
+
     /**
      * Verifica si existe una cuenta con el número identificatorio especificado.
      * 
@@ -37,11 +56,156 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     List<Account> findByActiveTrue();
 
+    /**
+     * Obtiene una página de cuentas con ID mayor al cursor indicado (paginación keyset).
+     * Usa el índice de la clave primaria, por lo que el costo no depende de la página.
+     * 
+     * @param afterId Cursor: ID de la última cuenta de la página anterior (0 para la primera)
+     * @param limit Cantidad máxima de cuentas
+     * @return Lista de cuentas ordenadas por ID
+     */
+    List<Account> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Obtiene una página de cuentas activas con ID mayor al cursor indicado (paginación keyset).
+     * 
+     * @param afterId Cursor: ID de la última cuenta de la página anterior (0 para la primera)
+     * @param limit Cantidad máxima de cuentas
+     * @return Lista de cuentas activas ordenadas por ID
+     */
+    List<Account> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    /**
+     * Recorre todas las cuentas con un cursor de base de datos, leyendo de a bloques.
+     * El Stream debe cerrarse y consumirse dentro de una transacción.
+     * 
+     * @return Stream de cuentas ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a ORDER BY a.id")
+    Stream<Account> streamAllOrderById();
+
+    /**
+     * Recorre las cuentas activas con un cursor de base de datos, leyendo de a bloques.
+     * El Stream debe cerrarse y consumirse dentro de una transacción.
+     * 
+     * @return Stream de cuentas activas ordenadas por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Account a WHERE a.active = true ORDER BY a.id")
+    Stream<Account> streamActiveOrderById();
+
     /**
      * Obtiene todas las cuentas inactivas (anuladas).
      * 
      * @return Lista de cuentas inactivas
      */
     List<Account> findByActiveFalse();
-}
 
+    /**
+     * Incrementa el saldo de una cuenta activa directamente en la base de datos.
+     * La suma se resuelve en un único UPDATE, por lo que cargas concurrentes sobre
+     * la misma cuenta no se pisan entre sí.
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto a sumar al saldo, en centavos
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe o está anulada)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET current_balance_cents = current_balance_cents + :amount " +
+                   "WHERE id = :id AND active = 1", nativeQuery = true)
+    int addToBalanceIfActive(@Param("id") Long id, @Param("amount") long amount);
+
+    /**
+     * Suma un monto al saldo de una cuenta sin verificar su estado.
+     * Se usa para consolidar movimientos ya aceptados en el saldo (snapshot),
+     * aunque la cuenta haya sido anulada después de la carga.
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto a sumar en centavos (puede ser negativo)
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET current_balance_cents = current_balance_cents + :amount WHERE id = :id",
+           nativeQuery = true)
+    int addToBalance(@Param("id") Long id, @Param("amount") long amount);
+
+    /**
+     * Descuenta saldo de una cuenta activa solo si el saldo no reservado alcanza.
+     * La verificación y la resta se hacen en un único UPDATE condicional,
+     * evitando el read-modify-write en memoria y las actualizaciones perdidas.
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto a descontar, en centavos
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe, está anulada o no tiene saldo suficiente)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET current_balance_cents = current_balance_cents - :amount " +
+                   "WHERE id = :id AND active = 1 AND current_balance_cents - held_balance_cents >= :amount",
+           nativeQuery = true)
+    int subtractFromBalanceIfSufficient(@Param("id") Long id, @Param("amount") long amount);
+
+    /**
+     * Reserva saldo de una cuenta activa solo si el saldo no reservado alcanza.
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto a reservar, en centavos
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe, está anulada o no tiene saldo suficiente)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET held_balance_cents = held_balance_cents + :amount " +
+                   "WHERE id = :id AND active = 1 AND current_balance_cents - held_balance_cents >= :amount",
+           nativeQuery = true)
+    int holdBalanceIfAvailable(@Param("id") Long id, @Param("amount") long amount);
+
+    /**
+     * Captura una reserva: libera el monto reservado y descuenta el monto final en un único UPDATE.
+     * El monto final puede superar al reservado si el resto del saldo no reservado alcanza.
+     * 
+     * @param id ID de la cuenta
+     * @param heldAmount Monto que estaba reservado, en centavos
+     * @param amount Monto final a descontar, en centavos
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe o no tiene saldo suficiente)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET current_balance_cents = current_balance_cents - :amount, " +
+                   "held_balance_cents = held_balance_cents - :heldAmount " +
+                   "WHERE id = :id AND current_balance_cents - held_balance_cents + :heldAmount >= :amount",
+           nativeQuery = true)
+    int captureHeldBalance(@Param("id") Long id, @Param("heldAmount") long heldAmount, @Param("amount") long amount);
+
+    /**
+     * Libera saldo reservado de una cuenta sin descontarlo.
+     * 
+     * @param id ID de la cuenta
+     * @param heldAmount Monto reservado a liberar, en centavos
+     * @return Cantidad de filas actualizadas (0 si la cuenta no existe)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = BALANCE_QUERY_SPACE))
+    @Query(value = "UPDATE accounts SET held_balance_cents = held_balance_cents - :heldAmount WHERE id = :id",
+           nativeQuery = true)
+    int releaseHeldBalance(@Param("id") Long id, @Param("heldAmount") long heldAmount);
+
+    /**
+     * Obtiene y bloquea un conjunto de cuentas (SELECT ... FOR UPDATE).
+     * Se bloquean en orden de ID para que dos lotes concurrentes no se bloqueen mutuamente.
+     * 
+     * @param ids IDs de las cuentas
+     * @return Lista de cuentas encontradas ordenadas por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+}
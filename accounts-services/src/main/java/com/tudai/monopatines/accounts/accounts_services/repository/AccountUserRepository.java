@@ -3,7 +3,12 @@ package com.tudai.monopatines.accounts.accounts_services.repository;
 import com.tudai.monopatines.accounts.accounts_services.entity.Account;
 import com.tudai.monopatines.accounts.accounts_services.entity.AccountUser;
 import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -33,6 +38,32 @@ public interface AccountUserRepository extends JpaRepository<AccountUser, Long>
      */
     List<AccountUser> findByUser(User user);
 
+    /**
+     * Busca las relaciones de una cuenta trayendo los usuarios en la misma consulta (JOIN FETCH).
+     * 
+     * @param accountId ID de la cuenta
+     * @return Lista de AccountUser con el usuario ya inicializado
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "account-users-by-account")
+    })
+    @Query("SELECT au FROM AccountUser au JOIN FETCH au.user WHERE au.account.id = :accountId ORDER BY au.id")
+    List<AccountUser> findByAccountIdFetchUser(@Param("accountId") Long accountId);
+
+    /**
+     * Busca las relaciones de un usuario trayendo las cuentas en la misma consulta (JOIN FETCH).
+     * 
+     * @param userId ID del usuario
+     * @return Lista de AccountUser con la cuenta ya inicializada
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "account-users-by-user")
+    })
+    @Query("SELECT au FROM AccountUser au JOIN FETCH au.account WHERE au.user.id = :userId ORDER BY au.id")
+    List<AccountUser> findByUserIdFetchAccount(@Param("userId") Long userId);
+
     /**
      * Busca la relación entre una cuenta y un usuario específico.
      * 
@@ -0,0 +1,112 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.AccountCacheEvictor;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceMovement;
+import com.tudai.monopatines.accounts.accounts_services.entity.IdempotencyKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositorio JDBC para operaciones de saldo por lotes.
+ *
+ * Usa batch updates de JDBC (un solo viaje a la base por sentencia) en lugar de
+ * un UPDATE/INSERT por entidad. Participa de la transacción JPA en curso.
+ * Las cuentas modificadas se descartan del cache de segundo nivel.
+ *
+ */
+@Repository
+public class BalanceBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountCacheEvictor accountCacheEvictor;
+
+    /**
+     * Descuenta montos del saldo de varias cuentas.
+     * Las cuentas deben estar bloqueadas y validadas previamente por el llamador.
+     *
+     * @param amountsByAccountId Monto total a descontar por cuenta, en centavos
+     */
+    public void subtractFromBalances(Map<Long, Long> amountsByAccountId) {
+        List<Object[]> args = new ArrayList<>(amountsByAccountId.size());
+        for (Map.Entry<Long, Long> entry : amountsByAccountId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET current_balance_cents = current_balance_cents - ? WHERE id = ?",
+                args);
+        accountCacheEvictor.evict(amountsByAccountId.keySet());
+    }
+
+    /**
+     * Libera saldo reservado de varias cuentas.
+     *
+     * @param amountsByAccountId Monto total a liberar por cuenta, en centavos
+     */
+    public void releaseHeldBalances(Map<Long, Long> amountsByAccountId) {
+        List<Object[]> args = new ArrayList<>(amountsByAccountId.size());
+        for (Map.Entry<Long, Long> entry : amountsByAccountId.entrySet()) {
+            args.add(new Object[]{entry.getValue(), entry.getKey()});
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET held_balance_cents = held_balance_cents - ? WHERE id = ?",
+                args);
+        accountCacheEvictor.evict(amountsByAccountId.keySet());
+    }
+
+    /**
+     * Inserta movimientos de saldo en el ledger.
+     *
+     * @param movements Movimientos a insertar
+     */
+    public void insertMovements(List<BalanceMovement> movements) {
+        List<Object[]> args = new ArrayList<>(movements.size());
+        for (BalanceMovement movement : movements) {
+            args.add(new Object[]{
+                    movement.getAccountId(),
+                    movement.getType().name(),
+                    movement.getAmount(),
+                    movement.getApplied(),
+                    Timestamp.valueOf(movement.getCreatedAt()),
+                    movement.getAppliedAt() != null ? Timestamp.valueOf(movement.getAppliedAt()) : null
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO balance_movements (account_id, type, amount_cents, applied, created_at, applied_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)",
+                args);
+    }
+
+    /**
+     * Inserta claves de idempotencia.
+     * Si alguna clave ya existe, falla con DuplicateKeyException.
+     *
+     * @param keys Claves a insertar
+     */
+    public void insertIdempotencyKeys(List<IdempotencyKey> keys) {
+        List<Object[]> args = new ArrayList<>(keys.size());
+        for (IdempotencyKey key : keys) {
+            args.add(new Object[]{
+                    key.getKey(),
+                    key.getOperation(),
+                    key.getAccountId(),
+                    key.getAmountCents(),
+                    key.getBalanceCents(),
+                    key.getAvailableBalanceCents(),
+                    Timestamp.valueOf(key.getCreatedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO idempotency_keys (idempotency_key, operation, account_id, amount_cents, balance_cents, " +
+                "available_balance_cents, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                args);
+    }
+}
@@ -0,0 +1,88 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad BalanceHold.
+ * Proporciona métodos para crear, cerrar y vencer reservas de saldo.
+ *
+ */
+@Repository
+public interface BalanceHoldRepository extends JpaRepository<BalanceHold, Long> {
+
+    /**
+     * Cierra una reserva solo si sigue activa (estado HELD).
+     * Como la verificación y el cambio de estado se hacen en un único UPDATE,
+     * una reserva no puede capturarse y liberarse (o vencerse) a la vez.
+     *
+     * @param id ID de la reserva
+     * @param status Estado final (CAPTURED, RELEASED o EXPIRED)
+     * @param capturedAmount Monto capturado en centavos (null si no se captura)
+     * @param closedAt Fecha y hora de cierre
+     * @return Cantidad de filas actualizadas (0 si la reserva no existe o ya estaba cerrada)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BalanceHold h SET h.status = :status, h.capturedAmount = :capturedAmount, h.closedAt = :closedAt " +
+           "WHERE h.id = :id AND h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.HELD")
+    int closeIfHeld(@Param("id") Long id,
+                    @Param("status") BalanceHold.HoldStatus status,
+                    @Param("capturedAmount") Long capturedAmount,
+                    @Param("closedAt") LocalDateTime closedAt);
+
+    /**
+     * Captura una reserva solo si sigue activa (estado HELD) y no venció.
+     * Una reserva vencida que el job todavía no cerró ya no puede capturarse.
+     *
+     * @param id ID de la reserva
+     * @param capturedAmount Monto capturado en centavos
+     * @param now Fecha y hora actual (también es la fecha de cierre)
+     * @return Cantidad de filas actualizadas (0 si la reserva no existe, ya estaba cerrada o venció)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BalanceHold h SET h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.CAPTURED, " +
+           "h.capturedAmount = :capturedAmount, h.closedAt = :now " +
+           "WHERE h.id = :id AND h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.HELD " +
+           "AND h.expiresAt >= :now")
+    int captureIfActive(@Param("id") Long id,
+                        @Param("capturedAmount") long capturedAmount,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Obtiene y bloquea un lote de reservas activas vencidas.
+     * El bloqueo evita que una reserva se capture mientras el job la está venciendo.
+     *
+     * @param now Fecha y hora actual
+     * @param pageable Límite de reservas por lote
+     * @return Lista de reservas vencidas ordenadas por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM BalanceHold h " +
+           "WHERE h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.HELD " +
+           "AND h.expiresAt < :now ORDER BY h.id")
+    List<BalanceHold> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Marca un conjunto de reservas como vencidas.
+     *
+     * @param ids IDs de las reservas
+     * @param closedAt Fecha y hora de cierre
+     * @return Cantidad de reservas actualizadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BalanceHold h SET h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.EXPIRED, " +
+           "h.closedAt = :closedAt " +
+           "WHERE h.id IN :ids AND h.status = com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold.HoldStatus.HELD")
+    int markExpired(@Param("ids") Collection<Long> ids, @Param("closedAt") LocalDateTime closedAt);
+}
@@ -0,0 +1,75 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceMovement;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad BalanceMovement.
+ * Proporciona métodos para registrar y consolidar movimientos de saldo.
+ *
+ */
+@Repository
+public interface BalanceMovementRepository extends JpaRepository<BalanceMovement, Long> {
+
+    /**
+     * Suma los movimientos de una cuenta que todavía no fueron consolidados en su saldo.
+     *
+     * @param accountId ID de la cuenta
+     * @return Suma de los montos pendientes en centavos (0 si no hay pendientes)
+     */
+    @Query("SELECT COALESCE(SUM(m.amount), 0L) FROM BalanceMovement m " +
+           "WHERE m.accountId = :accountId AND m.applied = false")
+    long sumPendingAmountByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Suma los movimientos pendientes de varias cuentas en una sola consulta.
+     *
+     * @param accountIds IDs de las cuentas
+     * @return Filas [accountId, suma pendiente en centavos], solo para cuentas con movimientos pendientes
+     */
+    @Query("SELECT m.accountId, SUM(m.amount) FROM BalanceMovement m " +
+           "WHERE m.accountId IN :accountIds AND m.applied = false GROUP BY m.accountId")
+    List<Object[]> sumPendingAmountByAccountIds(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Obtiene los IDs de cuentas que tienen movimientos pendientes de consolidar.
+     *
+     * @param pageable Límite de cuentas a devolver por lote
+     * @return Lista de IDs de cuentas con movimientos pendientes
+     */
+    @Query("SELECT DISTINCT m.accountId FROM BalanceMovement m WHERE m.applied = false")
+    List<Long> findAccountIdsWithPendingMovements(Pageable pageable);
+
+    /**
+     * Obtiene y bloquea los movimientos pendientes de una cuenta.
+     * El bloqueo evita que dos consolidaciones concurrentes apliquen dos veces el mismo movimiento.
+     *
+     * @param accountId ID de la cuenta
+     * @return Lista de movimientos pendientes ordenados por ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<BalanceMovement> findByAccountIdAndAppliedFalseOrderByIdAsc(Long accountId);
+
+    /**
+     * Marca un conjunto de movimientos como aplicados.
+     *
+     * @param ids IDs de los movimientos
+     * @param appliedAt Fecha y hora de consolidación
+     * @return Cantidad de movimientos actualizados
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BalanceMovement m SET m.applied = true, m.appliedAt = :appliedAt " +
+           "WHERE m.id IN :ids AND m.applied = false")
+    int markApplied(@Param("ids") Collection<Long> ids, @Param("appliedAt") LocalDateTime appliedAt);
+}
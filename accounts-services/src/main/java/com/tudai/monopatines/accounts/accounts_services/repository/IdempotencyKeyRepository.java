@@ -0,0 +1,29 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para la entidad IdempotencyKey.
+ * Proporciona métodos para registrar y depurar claves de idempotencia.
+ *
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Elimina las claves registradas antes de la fecha indicada.
+     *
+     * @param createdBefore Fecha límite
+     * @return Cantidad de claves eliminadas
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :createdBefore")
+    int deleteByCreatedAtBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
@@ -1,8 +1,15 @@
 package com.tudai.monopatines.accounts.accounts_services.repository;
 
 import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,10 +24,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     /**
      * Busca un usuario por su email.
      * El email es único en el sistema, por lo que este método devuelve un único usuario.
+     * El resultado queda en el cache de queries de Hibernate (región users-by-email) y se
+     * invalida al modificar cualquier usuario.
      * 
      * @param email Email del usuario a buscar
      * @return Optional con el usuario encontrado o vacío si no existe
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-email")
+    })
     Optional<User> findByEmail(String email);
 
     /**
@@ -30,5 +43,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true si existe un usuario con ese email, false en caso contrario
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Reemplaza el hash del password de un usuario solo si no cambió desde que se leyó.
+     * Se usa para actualizar hashes desactualizados al hacer login sin pisar un cambio
+     * de password concurrente.
+     * 
+     * @param id ID del usuario
+     * @param currentPassword Hash leído al verificar el password
+     * @param newPassword Hash nuevo
+     * @return Cantidad de filas actualizadas (0 si el password cambió mientras tanto)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("currentPassword") String currentPassword,
+                                  @Param("newPassword") String newPassword);
 }
 
@@ -3,9 +3,15 @@ package com.tudai.monopatines.accounts.accounts_services.repository;
 import com.tudai.monopatines.accounts.accounts_services.entity.Role;
 import com.tudai.monopatines.accounts.accounts_services.entity.User;
 import com.tudai.monopatines.accounts.accounts_services.entity.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,8 +36,35 @@ public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
      * @param userId ID del usuario
      * @return Lista de UserRole con todos los roles del usuario
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-roles-by-user")
+    })
     List<UserRole> findByUserId(Long userId);
 
+    /**
+     * Obtiene los nombres de los roles de un usuario en una sola consulta (join con roles).
+     * El resultado se guarda en el cache de queries (región user-roles-by-user).
+     * 
+     * @param userId ID del usuario
+     * @return Lista de nombres de roles del usuario
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-roles-by-user")
+    })
+    @Query("SELECT r.name FROM UserRole ur JOIN ur.role r WHERE ur.user.id = :userId ORDER BY r.id")
+    List<String> findRoleNamesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Obtiene los nombres de los roles de varios usuarios en una sola consulta (join con roles).
+     * 
+     * @param userIds IDs de los usuarios
+     * @return Filas [userId, nombre del rol]
+     */
+    @Query("SELECT ur.user.id, r.name FROM UserRole ur JOIN ur.role r WHERE ur.user.id IN :userIds ORDER BY r.id")
+    List<Object[]> findRoleNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
     /**
      * Busca la relación entre un usuario y un rol específico.
      * 
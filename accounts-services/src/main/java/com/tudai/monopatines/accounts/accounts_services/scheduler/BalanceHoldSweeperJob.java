@@ -0,0 +1,47 @@
+package com.tudai.monopatines.accounts.accounts_services.scheduler;
+
+import com.tudai.monopatines.accounts.accounts_services.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job periódico que libera las reservas de saldo vencidas
+ * (viajes que no se capturaron ni liberaron a tiempo).
+ * Procesa las reservas por lotes, cada lote en su propia transacción,
+ * hasta que no quedan reservas vencidas.
+ */
+@Component
+public class BalanceHoldSweeperJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceHoldSweeperJob.class);
+
+    @Autowired
+    private AccountService accountService;
+
+    @Value("${app.balance.holds.sweep.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Libera las reservas vencidas por lotes.
+     */
+    @Scheduled(fixedDelayString = "${app.balance.holds.sweep.interval-ms:60000}")
+    public void releaseExpiredHolds() {
+        int total = 0;
+        try {
+            int released;
+            do {
+                released = accountService.releaseExpiredHolds(batchSize);
+                total += released;
+            } while (released == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron liberar las reservas vencidas: {}", e.getMessage());
+        }
+        if (total > 0) {
+            logger.debug("Reservas vencidas liberadas: {}", total);
+        }
+    }
+}
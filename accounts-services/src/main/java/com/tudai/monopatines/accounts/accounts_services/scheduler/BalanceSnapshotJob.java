@@ -0,0 +1,49 @@
+package com.tudai.monopatines.accounts.accounts_services.scheduler;
+
+import com.tudai.monopatines.accounts.accounts_services.service.BalanceLedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Job periódico que consolida los movimientos de saldo pendientes en el saldo
+ * de cada cuenta (snapshot).
+ * Procesa las cuentas por lotes y cada cuenta en su propia transacción,
+ * para no mantener bloqueos largos sobre la tabla de cuentas.
+ */
+@Component
+public class BalanceSnapshotJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Value("${app.balance.snapshot.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Consolida los movimientos pendientes de un lote de cuentas.
+     */
+    @Scheduled(fixedDelayString = "${app.balance.snapshot.interval-ms:5000}")
+    public void foldPendingMovements() {
+        List<Long> accountIds = balanceLedgerService.findAccountsWithPendingMovements(batchSize);
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        for (Long accountId : accountIds) {
+            try {
+                balanceLedgerService.foldPendingMovements(accountId);
+            } catch (RuntimeException e) {
+                logger.warn("No se pudieron consolidar los movimientos de la cuenta {}: {}", accountId, e.getMessage());
+            }
+        }
+        logger.debug("Movimientos consolidados para {} cuentas", accountIds.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.tudai.monopatines.accounts.accounts_services.scheduler;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.CacheInvalidationChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job periódico que sincroniza el cache de segundo nivel con las demás instancias:
+ * publica las invalidaciones locales, aplica las recibidas y elimina las vencidas.
+ */
+@Component
+public class CacheInvalidationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationJob.class);
+
+    @Autowired
+    private CacheInvalidationChannel cacheInvalidationChannel;
+
+    /**
+     * Publica y aplica las invalidaciones pendientes.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public void synchronize() {
+        try {
+            cacheInvalidationChannel.synchronize();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo sincronizar el cache con las demas instancias: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina las invalidaciones más antiguas que el período de retención.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval-ms:300000}")
+    public void purge() {
+        try {
+            int deleted = cacheInvalidationChannel.purge();
+            logger.debug("Invalidaciones de cache eliminadas: {}", deleted);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron eliminar las invalidaciones de cache vencidas: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tudai.monopatines.accounts.accounts_services.scheduler;
+
+import com.tudai.monopatines.accounts.accounts_services.service.IdempotencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job periódico que elimina las claves de idempotencia vencidas,
+ * para que la tabla idempotency_keys no crezca indefinidamente.
+ */
+@Component
+public class IdempotencyKeyPurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyPurgeJob.class);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    /**
+     * Elimina las claves más antiguas que el período de retención.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        try {
+            int deleted = idempotencyService.purgeExpiredKeys();
+            logger.debug("Claves de idempotencia eliminadas: {}", deleted);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron eliminar las claves de idempotencia vencidas: {}", e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.tudai.monopatines.accounts.accounts_services.service;
 
+import com.tudai.monopatines.accounts.accounts_services.dto.AccountPageResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountStatusResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductItem;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldRequest;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldResponse;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz del servicio para gestionar cuentas.
@@ -35,18 +41,31 @@ public interface AccountService {
     AccountResponse getAccountById(Long id);
 
     /**
-     * Obtiene todas las cuentas.
+     * Obtiene una página de cuentas, paginando por cursor sobre el ID.
      * 
-     * @return Lista de AccountResponse con todas las cuentas
+     * @param afterId ID de la última cuenta de la página anterior (null o 0 para la primera página)
+     * @param limit Cantidad máxima de cuentas de la página
+     * @return AccountPageResponse con las cuentas y el cursor de la página siguiente
      */
-    List<AccountResponse> getAllAccounts();
+    AccountPageResponse getAllAccounts(Long afterId, int limit);
 
     /**
-     * Obtiene todas las cuentas activas (no anuladas).
+     * Obtiene una página de cuentas activas (no anuladas), paginando por cursor sobre el ID.
      * 
-     * @return Lista de AccountResponse con todas las cuentas activas
+     * @param afterId ID de la última cuenta de la página anterior (null o 0 para la primera página)
+     * @param limit Cantidad máxima de cuentas de la página
+     * @return AccountPageResponse con las cuentas y el cursor de la página siguiente
      */
-    List<AccountResponse> getActiveAccounts();
+    AccountPageResponse getActiveAccounts(Long afterId, int limit);
+
+    /**
+     * Recorre todas las cuentas (o solo las activas) y entrega cada una al consumidor
+     * a medida que se leen de la base de datos, sin cargarlas todas en memoria.
+     * 
+     * @param activeOnly true para recorrer solo las cuentas activas
+     * @param consumer Consumidor que recibe cada cuenta (por ejemplo, para escribirla en la respuesta)
+     */
+    void streamAccounts(boolean activeOnly, Consumer<AccountResponse> consumer);
 
     /**
      * Actualiza los datos de una cuenta existente.
@@ -72,27 +91,98 @@ public interface AccountService {
     /**
      * Carga saldo a una cuenta.
      * Incrementa el saldo actual de la cuenta con el monto especificado.
+     * Si se indica una clave de idempotencia ya usada, devuelve la respuesta original
+     * sin volver a cargar el monto.
      * 
      * @param id ID de la cuenta
      * @param request Monto a cargar (debe ser positivo)
+     * @param idempotencyKey Clave de idempotencia enviada por el cliente (puede ser null)
      * @return BalanceResponse con el saldo actualizado
      * @throws AccountNotFoundException si no se encuentra la cuenta
      * @throws AccountInactiveException si la cuenta está anulada
+     * @throws IdempotencyKeyConflictException si la clave ya se usó para otra operación
      */
-    BalanceResponse loadBalance(Long id, BalanceRequest request);
+    BalanceResponse loadBalance(Long id, BalanceRequest request, String idempotencyKey);
 
     /**
      * Descuenta saldo de una cuenta (usado por otros servicios).
      * Se utiliza cuando se activa un monopatín o se finaliza un viaje.
+     * Si se indica una clave de idempotencia ya usada, devuelve la respuesta original
+     * sin volver a descontar el monto.
      * 
      * @param id ID de la cuenta
-     * @param amount Monto a descontar
+     * @param amount Monto a descontar, en centavos
+     * @param idempotencyKey Clave de idempotencia enviada por el cliente (puede ser null)
      * @return BalanceResponse con el saldo actualizado
      * @throws AccountNotFoundException si no se encuentra la cuenta
      * @throws AccountInactiveException si la cuenta está anulada
      * @throws InsufficientBalanceException si no hay saldo suficiente
+     * @throws IdempotencyKeyConflictException si la clave ya se usó para otra operación
+     */
+    BalanceResponse deductBalance(Long id, long amount, String idempotencyKey);
+
+    /**
+     * Descuenta saldo de varias cuentas en una sola transacción (liquidación de viajes por lotes).
+     * Los descuentos se aplican en el orden recibido y cada uno tiene su propio resultado:
+     * un descuento rechazado no impide aplicar los demás.
+     * 
+     * @param items Descuentos a aplicar (cuenta, monto en centavos y clave de idempotencia opcional)
+     * @return BatchDeductResponse con el resultado de cada descuento
+     * @throws IdempotencyKeyConflictException si otra solicitud está procesando alguna de las claves
+     */
+    BatchDeductResponse deductBalanceBatch(List<BatchDeductItem> items);
+
+    /**
+     * Reserva saldo de una cuenta (pre-autorización) al iniciar un viaje.
+     * El monto reservado deja de estar disponible pero no se descuenta hasta capturar la reserva.
+     * 
+     * @param id ID de la cuenta
+     * @param request Monto a reservar y vencimiento opcional
+     * @return HoldResponse con la reserva creada
+     * @throws AccountNotFoundException si no se encuentra la cuenta
+     * @throws AccountInactiveException si la cuenta está anulada
+     * @throws InsufficientBalanceException si el saldo disponible no alcanza
+     */
+    HoldResponse placeHold(Long id, HoldRequest request);
+
+    /**
+     * Captura una reserva al finalizar un viaje: libera el monto reservado y descuenta el monto final.
+     * 
+     * @param holdId ID de la reserva
+     * @param amount Monto final a descontar, en centavos
+     * @return HoldResponse con la reserva capturada
+     * @throws BalanceHoldNotFoundException si no se encuentra la reserva
+     * @throws BalanceHoldNotActiveException si la reserva ya fue capturada, liberada o venció
+     * @throws InsufficientBalanceException si el monto final supera el saldo reservado más el disponible
+     */
+    HoldResponse captureHold(Long holdId, long amount);
+
+    /**
+     * Libera una reserva sin descontar saldo (viaje cancelado).
+     * 
+     * @param holdId ID de la reserva
+     * @return HoldResponse con la reserva liberada
+     * @throws BalanceHoldNotFoundException si no se encuentra la reserva
+     * @throws BalanceHoldNotActiveException si la reserva ya fue capturada, liberada o vencida
+     */
+    HoldResponse releaseHold(Long holdId);
+
+    /**
+     * Obtiene una reserva por su ID.
+     * 
+     * @param holdId ID de la reserva
+     * @return HoldResponse con los datos de la reserva
+     * @throws BalanceHoldNotFoundException si no se encuentra la reserva
+     */
+    HoldResponse getHold(Long holdId);
+
+    /**
+     * Libera un lote de reservas vencidas (usado por el job de reservas).
+     * 
+     * @param batchSize Cantidad máxima de reservas a procesar
+     * @return Cantidad de reservas vencidas liberadas
      */
-    BalanceResponse deductBalance(Long id, Double amount);
+    int releaseExpiredHolds(int batchSize);
 
     /**
      * Obtiene el saldo actual de una cuenta.
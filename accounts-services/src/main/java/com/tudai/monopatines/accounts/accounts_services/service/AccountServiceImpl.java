@@ -1,24 +1,52 @@
 package com.tudai.monopatines.accounts.accounts_services.service;
 
+import com.tudai.monopatines.accounts.accounts_services.cache.AccountCacheEvictor;
+import com.tudai.monopatines.accounts.accounts_services.dto.AccountPageResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountStatusResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductItem;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductItemResult;
+import com.tudai.monopatines.accounts.accounts_services.dto.BatchDeductResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldRequest;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldResponse;
 import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceMovement;
+import com.tudai.monopatines.accounts.accounts_services.entity.IdempotencyKey;
 import com.tudai.monopatines.accounts.accounts_services.exception.AccountAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_services.exception.AccountInactiveException;
 import com.tudai.monopatines.accounts.accounts_services.exception.AccountNotFoundException;
+import com.tudai.monopatines.accounts.accounts_services.exception.BalanceHoldNotActiveException;
+import com.tudai.monopatines.accounts.accounts_services.exception.BalanceHoldNotFoundException;
 import com.tudai.monopatines.accounts.accounts_services.exception.InsufficientBalanceException;
 import com.tudai.monopatines.accounts.accounts_services.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.BalanceBatchRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.BalanceHoldRepository;
 import com.tudai.monopatines.accounts.accounts_services.util.MapperUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio para gestionar cuentas.
@@ -29,14 +57,38 @@ import java.util.Optional;
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BalanceBatchRepository balanceBatchRepository;
+
+    @Autowired
+    private BalanceHoldRepository balanceHoldRepository;
+
+    @Autowired
+    private AccountCacheEvictor accountCacheEvictor;
+
+    @Value("${app.balance.holds.default-ttl-minutes:120}")
+    private int defaultHoldTtlMinutes;
+
     /**
      * {@inheritDoc}
      * 
      * Implementación: Verifica que no exista una cuenta con el mismo número identificatorio,
-     * crea una nueva cuenta con saldo inicial (por defecto 0.0) y la guarda en la base de datos.
+     * crea una nueva cuenta con saldo inicial (por defecto 0) y la guarda en la base de datos.
      */
     @Override
     public AccountResponse createAccount(AccountRequest request) {
@@ -48,7 +100,7 @@ public class AccountServiceImpl implements AccountService {
         Account account = new Account();
         account.setIdentificationNumber(request.getIdentificationNumber());
         account.setMercadoPagoAccountId(request.getMercadoPagoAccountId());
-        account.setCurrentBalance(request.getCurrentBalance() != null ? request.getCurrentBalance() : 0.0);
+        account.setCurrentBalance(request.getCurrentBalance() != null ? request.getCurrentBalance() : 0L);
 
         Account savedAccount = accountRepository.save(account);
         return MapperUtil.mapAccountToResponse(savedAccount);
@@ -58,6 +110,7 @@ public class AccountServiceImpl implements AccountService {
      * {@inheritDoc}
      * 
      * Implementación: Busca la cuenta en la base de datos y la convierte a DTO de respuesta.
+     * El saldo informado incluye las cargas pendientes de consolidar.
      */
     @Override
     @Transactional(readOnly = true)
@@ -67,41 +120,63 @@ public class AccountServiceImpl implements AccountService {
             throw new AccountNotFoundException(id);
         }
         Account account = accountOptional.get();
-        return MapperUtil.mapAccountToResponse(account);
+        AccountResponse response = MapperUtil.mapAccountToResponse(account);
+        response.setCurrentBalance(account.getCurrentBalance() + balanceLedgerService.getPendingAmount(id));
+        return response;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Obtiene todas las cuentas desde el repositorio,
-     * las mapea a DTOs de respuesta y retorna una lista con todos los resultados.
+     * Implementación: Pide al repositorio una cuenta más que el límite para saber
+     * si hay una página siguiente, sin hacer un COUNT.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<AccountResponse> getAllAccounts() {
-        List<Account> accounts = accountRepository.findAll();
-        List<AccountResponse> responses = new ArrayList<>();
-        for (Account account : accounts) {
-            responses.add(MapperUtil.mapAccountToResponse(account));
-        }
-        return responses;
+    public AccountPageResponse getAllAccounts(Long afterId, int limit) {
+        int pageSize = normalizePageSize(limit);
+        List<Account> accounts = accountRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        return mapAccountPage(accounts, pageSize);
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Obtiene todas las cuentas activas (no anuladas) desde el repositorio,
-     * las convierte a DTOs de respuesta y retorna una lista con todos los resultados.
+     * Implementación: Igual que getAllAccounts() pero filtrando las cuentas activas.
      */
     @Override
     @Transactional(readOnly = true)
-    public List<AccountResponse> getActiveAccounts() {
-        List<Account> accounts = accountRepository.findByActiveTrue();
-        List<AccountResponse> responses = new ArrayList<>();
-        for (Account account : accounts) {
-            responses.add(MapperUtil.mapAccountToResponse(account));
+    public AccountPageResponse getActiveAccounts(Long afterId, int limit) {
+        int pageSize = normalizePageSize(limit);
+        List<Account> accounts = accountRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(pageSize + 1));
+        return mapAccountPage(accounts, pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Recorre la tabla con un Stream de JPA (cursor con fetch size,
+     * entidades de solo lectura) en tramos de STREAM_CHUNK_SIZE cuentas: por cada tramo
+     * suma las cargas pendientes con una sola consulta, entrega las cuentas y las desasocia
+     * del contexto de persistencia, así la memoria usada no depende de la cantidad de cuentas.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccounts(boolean activeOnly, Consumer<AccountResponse> consumer) {
+        List<Account> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Account> accounts = activeOnly
+                ? accountRepository.streamActiveOrderById()
+                : accountRepository.streamAllOrderById()) {
+            accounts.forEach(account -> {
+                chunk.add(account);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    emitAccounts(chunk, consumer);
+                }
+            });
         }
-        return responses;
+        emitAccounts(chunk, consumer);
     }
 
     /**
@@ -109,9 +184,12 @@ public class AccountServiceImpl implements AccountService {
      * 
      * Implementación: Busca la cuenta, verifica que el nuevo número identificatorio no exista
      * (si cambió), actualiza los campos y guarda los cambios en la base de datos.
+     * Antes de leer la cuenta consolida las cargas pendientes, para que el saldo
+     * indicado reemplace al saldo real y no quede una carga pendiente por sumar.
      */
     @Override
     public AccountResponse updateAccount(Long id, AccountRequest request) {
+        balanceLedgerService.foldPendingMovements(id);
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
@@ -163,11 +241,20 @@ public class AccountServiceImpl implements AccountService {
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Verifica que la cuenta esté activa, incrementa el saldo
-     * con el monto especificado y guarda los cambios.
+     * Implementación: Verifica que la cuenta exista y esté activa y registra la carga
+     * como un movimiento pendiente en el ledger (solo inserción). La fila de la cuenta
+     * no se modifica: el job de snapshots consolida la carga en el saldo más tarde.
+     * Con clave de idempotencia, un reintento devuelve la respuesta guardada sin
+     * registrar otra carga.
      */
     @Override
-    public BalanceResponse loadBalance(Long id, BalanceRequest request) {
+    public BalanceResponse loadBalance(Long id, BalanceRequest request, String idempotencyKey) {
+        Optional<BalanceResponse> replay = idempotencyService.findResponse(
+                idempotencyKey, IdempotencyService.LOAD_BALANCE, id, request.getAmount());
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
         Optional<Account> accountOptional = accountRepository.findById(id);
         if (accountOptional.isEmpty()) {
             throw new AccountNotFoundException(id);
@@ -178,44 +265,215 @@ public class AccountServiceImpl implements AccountService {
             throw new AccountInactiveException(id);
         }
 
-        account.setCurrentBalance(account.getCurrentBalance() + request.getAmount());
-        Account updatedAccount = accountRepository.save(account);
+        balanceLedgerService.recordCredit(id, request.getAmount());
+        BalanceResponse response = mapBalanceToResponse(account, balanceLedgerService.getPendingAmount(id));
+        idempotencyService.register(idempotencyKey, IdempotencyService.LOAD_BALANCE, id, request.getAmount(), response);
+        return response;
+    }
 
-        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance());
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Descuenta el saldo con un UPDATE condicional
+     * (activa y con saldo suficiente) resuelto en la base de datos. Varios viajes
+     * pueden descontar de la misma cuenta compartida en paralelo sin perder
+     * actualizaciones y sin locks a nivel aplicación. Si el saldo consolidado no
+     * alcanza, consolida las cargas pendientes y reintenta una vez. El descuento
+     * queda registrado en el ledger como movimiento ya aplicado.
+     * Con clave de idempotencia, un reintento devuelve la respuesta guardada sin
+     * tocar la fila de la cuenta.
+     */
+    @Override
+    public BalanceResponse deductBalance(Long id, long amount, String idempotencyKey) {
+        Optional<BalanceResponse> replay = idempotencyService.findResponse(
+                idempotencyKey, IdempotencyService.DEDUCT_BALANCE, id, amount);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        int updated = accountRepository.subtractFromBalanceIfSufficient(id, amount);
+        if (updated == 0 && balanceLedgerService.foldPendingMovements(id) > 0) {
+            updated = accountRepository.subtractFromBalanceIfSufficient(id, amount);
+        }
+        if (updated == 0) {
+            throw resolveBalanceUpdateFailure(id, amount);
+        }
+        accountCacheEvictor.evict(id);
+        balanceLedgerService.recordDebit(id, amount);
+        BalanceResponse response = getBalance(id);
+        idempotencyService.register(idempotencyKey, IdempotencyService.DEDUCT_BALANCE, id, amount, response);
+        return response;
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Verifica que la cuenta esté activa y tenga saldo suficiente,
-     * descuenta el monto del saldo actual y guarda los cambios.
+     * Implementación: Resuelve todo el lote con una cantidad fija de consultas,
+     * independiente de la cantidad de descuentos:
+     * busca las claves de idempotencia ya usadas, bloquea todas las cuentas involucradas
+     * (SELECT ... FOR UPDATE en orden de ID), evalúa cada descuento en memoria en el orden
+     * recibido (contra el saldo no reservado) y aplica el resultado con batch updates de JDBC: un UPDATE por cuenta con el
+     * total descontado, los movimientos del ledger y las claves de idempotencia.
+     * Si algún descuento no alcanza con el saldo consolidado, consolida las cargas pendientes
+     * de esas cuentas y vuelve a evaluar el lote, igual que deductBalance().
      */
     @Override
-    public BalanceResponse deductBalance(Long id, Double amount) {
-        Optional<Account> accountOptional = accountRepository.findById(id);
-        if (accountOptional.isEmpty()) {
-            throw new AccountNotFoundException(id);
+    public BatchDeductResponse deductBalanceBatch(List<BatchDeductItem> items) {
+        Set<String> keys = new HashSet<>();
+        Set<Long> accountIds = new TreeSet<>();
+        for (BatchDeductItem item : items) {
+            accountIds.add(item.getAccountId());
+            if (item.getIdempotencyKey() != null) {
+                keys.add(item.getIdempotencyKey());
+            }
         }
-        Account account = accountOptional.get();
+        Map<String, IdempotencyKey> usedKeys = idempotencyService.findRecords(keys);
 
-        if (!account.getActive()) {
-            throw new AccountInactiveException(id);
+        BatchDeductPlan plan = planBatchDeduct(items, accountIds, usedKeys);
+        if (!plan.shortAccountIds.isEmpty()) {
+            long folded = 0L;
+            for (Long accountId : plan.shortAccountIds) {
+                folded += balanceLedgerService.foldPendingMovements(accountId);
+            }
+            if (folded != 0L) {
+                plan = planBatchDeduct(items, accountIds, usedKeys);
+            }
         }
 
-        if (account.getCurrentBalance() < amount) {
-            throw new InsufficientBalanceException(account.getCurrentBalance(), amount);
+        if (!plan.debits.isEmpty()) {
+            balanceBatchRepository.subtractFromBalances(plan.debits);
+            balanceBatchRepository.insertMovements(plan.movements);
         }
+        idempotencyService.registerAll(plan.newKeys);
+        return new BatchDeductResponse(plan.results);
+    }
 
-        account.setCurrentBalance(account.getCurrentBalance() - amount);
-        Account updatedAccount = accountRepository.save(account);
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Reserva el monto con un UPDATE condicional sobre la cuenta
+     * (activa y con saldo no reservado suficiente) e inserta la reserva. No se mantiene
+     * ningún bloqueo sobre la cuenta durante el viaje. Si el saldo consolidado no alcanza,
+     * consolida las cargas pendientes y reintenta una vez.
+     */
+    @Override
+    public HoldResponse placeHold(Long id, HoldRequest request) {
+        long amount = request.getAmount();
+        int updated = accountRepository.holdBalanceIfAvailable(id, amount);
+        if (updated == 0 && balanceLedgerService.foldPendingMovements(id) > 0) {
+            updated = accountRepository.holdBalanceIfAvailable(id, amount);
+        }
+        if (updated == 0) {
+            throw resolveBalanceUpdateFailure(id, amount);
+        }
+        accountCacheEvictor.evict(id);
 
-        return new BalanceResponse(updatedAccount.getId(), updatedAccount.getCurrentBalance());
+        int ttlMinutes = request.getExpiresInMinutes() != null ? request.getExpiresInMinutes() : defaultHoldTtlMinutes;
+        BalanceHold hold = new BalanceHold(id, amount, LocalDateTime.now().plusMinutes(ttlMinutes));
+        BalanceHold savedHold = balanceHoldRepository.save(hold);
+        return MapperUtil.mapHoldToResponse(savedHold);
     }
 
     /**
      * {@inheritDoc}
      * 
-     * Implementación: Busca la cuenta y retorna solo el saldo actual en un DTO BalanceResponse.
+     * Implementación: Cierra la reserva con un UPDATE condicional sobre su estado y su
+     * vencimiento (así no puede capturarse dos veces ni después de vencer) y aplica la captura
+     * sobre la cuenta en un único UPDATE condicional que libera lo reservado y descuenta
+     * el monto final. Si el monto final no alcanza, consolida las cargas pendientes y
+     * reintenta una vez; si sigue sin alcanzar, la transacción se revierte y la reserva
+     * queda activa. El descuento queda registrado en el ledger.
+     */
+    @Override
+    public HoldResponse captureHold(Long holdId, long amount) {
+        BalanceHold hold = findHold(holdId);
+        if (balanceHoldRepository.captureIfActive(holdId, amount, LocalDateTime.now()) == 0) {
+            BalanceHold current = findHold(holdId);
+            if (current.getStatus() == BalanceHold.HoldStatus.HELD) {
+                throw new BalanceHoldNotActiveException(
+                        "Balance hold with id " + holdId + " expired at " + current.getExpiresAt());
+            }
+            throw new BalanceHoldNotActiveException(holdId, current.getStatus());
+        }
+
+        Long accountId = hold.getAccountId();
+        int updated = accountRepository.captureHeldBalance(accountId, hold.getAmount(), amount);
+        if (updated == 0 && balanceLedgerService.foldPendingMovements(accountId) > 0) {
+            updated = accountRepository.captureHeldBalance(accountId, hold.getAmount(), amount);
+        }
+        if (updated == 0) {
+            Optional<Account> accountOptional = accountRepository.findById(accountId);
+            if (accountOptional.isEmpty()) {
+                throw new AccountNotFoundException(accountId);
+            }
+            Account account = accountOptional.get();
+            throw new InsufficientBalanceException(
+                    account.getCurrentBalance() - account.getHeldBalance() + hold.getAmount(), amount);
+        }
+        accountCacheEvictor.evict(accountId);
+        balanceLedgerService.recordDebit(accountId, amount);
+        return MapperUtil.mapHoldToResponse(findHold(holdId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Cierra la reserva con un UPDATE condicional sobre su estado
+     * y devuelve el monto reservado al saldo disponible de la cuenta.
+     */
+    @Override
+    public HoldResponse releaseHold(Long holdId) {
+        BalanceHold hold = findHold(holdId);
+        closeHold(holdId, BalanceHold.HoldStatus.RELEASED, null);
+        accountRepository.releaseHeldBalance(hold.getAccountId(), hold.getAmount());
+        accountCacheEvictor.evict(hold.getAccountId());
+        return MapperUtil.mapHoldToResponse(findHold(holdId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Busca la reserva y la convierte a DTO de respuesta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public HoldResponse getHold(Long holdId) {
+        return MapperUtil.mapHoldToResponse(findHold(holdId));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Bloquea un lote de reservas vencidas, las marca como EXPIRED
+     * con un único UPDATE y devuelve lo reservado a cada cuenta con un batch update
+     * (un UPDATE por cuenta con el total a liberar).
+     */
+    @Override
+    public int releaseExpiredHolds(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<BalanceHold> expired = balanceHoldRepository.findExpiredForUpdate(now, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(expired.size());
+        Map<Long, Long> heldByAccount = new TreeMap<>();
+        for (BalanceHold hold : expired) {
+            ids.add(hold.getId());
+            heldByAccount.merge(hold.getAccountId(), hold.getAmount(), Long::sum);
+        }
+
+        balanceHoldRepository.markExpired(ids, now);
+        balanceBatchRepository.releaseHeldBalances(heldByAccount);
+        return expired.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Retorna el saldo consolidado de la cuenta (snapshot) más
+     * los movimientos del ledger que todavía no fueron consolidados, y el saldo
+     * disponible (descontando lo reservado por viajes en curso).
      */
     @Override
     @Transactional(readOnly = true)
@@ -225,7 +483,7 @@ public class AccountServiceImpl implements AccountService {
             throw new AccountNotFoundException(id);
         }
         Account account = accountOptional.get();
-        return new BalanceResponse(account.getId(), account.getCurrentBalance());
+        return mapBalanceToResponse(account, balanceLedgerService.getPendingAmount(id));
     }
 
     /**
@@ -258,5 +516,216 @@ public class AccountServiceImpl implements AccountService {
         accountRepository.deleteById(id);
     }
 
-}
+    /**
+     * Determina por qué un UPDATE condicional de saldo no afectó ninguna fila
+     * y construye la excepción correspondiente.
+     * 
+     * @param id ID de la cuenta
+     * @param amount Monto que se intentó aplicar, en centavos
+     * @return Excepción a lanzar (cuenta inexistente, anulada o saldo insuficiente)
+     */
+    private RuntimeException resolveBalanceUpdateFailure(Long id, long amount) {
+        Optional<Account> accountOptional = accountRepository.findById(id);
+        if (accountOptional.isEmpty()) {
+            return new AccountNotFoundException(id);
+        }
+        Account account = accountOptional.get();
+        if (!account.getActive()) {
+            return new AccountInactiveException(id);
+        }
+        return new InsufficientBalanceException(account.getCurrentBalance() - account.getHeldBalance(), amount);
+    }
 
+    /**
+     * Ajusta el tamaño de página pedido al rango permitido (1 a MAX_PAGE_SIZE).
+     * 
+     * @param limit Tamaño de página pedido
+     * @return Tamaño de página a usar
+     */
+    private int normalizePageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Construye una página de cuentas a partir de una consulta que trajo
+     * hasta pageSize + 1 cuentas (la cuenta extra indica que hay página siguiente).
+     * 
+     * @param accounts Cuentas obtenidas, ordenadas por ID
+     * @param pageSize Tamaño de página
+     * @return AccountPageResponse con las cuentas y el cursor de la página siguiente
+     */
+    private AccountPageResponse mapAccountPage(List<Account> accounts, int pageSize) {
+        boolean hasMore = accounts.size() > pageSize;
+        List<Account> page = hasMore ? accounts.subList(0, pageSize) : accounts;
+        List<AccountResponse> responses = mapAccountsWithPending(page);
+        Long nextAfterId = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new AccountPageResponse(responses, nextAfterId);
+    }
+
+    /**
+     * Convierte cuentas a DTO sumando al saldo las cargas pendientes de consolidar
+     * (una sola consulta para todas), igual que getAccountById().
+     * 
+     * @param accounts Cuentas a convertir
+     * @return Lista de AccountResponse en el mismo orden
+     */
+    private List<AccountResponse> mapAccountsWithPending(List<Account> accounts) {
+        List<Long> ids = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            ids.add(account.getId());
+        }
+        Map<Long, Long> pendingAmounts = balanceLedgerService.getPendingAmounts(ids);
+        List<AccountResponse> responses = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            AccountResponse response = MapperUtil.mapAccountToResponse(account);
+            response.setCurrentBalance(account.getCurrentBalance() + pendingAmounts.getOrDefault(account.getId(), 0L));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    /**
+     * Entrega un tramo de cuentas del stream y lo desasocia del contexto de persistencia.
+     * 
+     * @param chunk Cuentas leídas (se vacía al terminar)
+     * @param consumer Destino de cada cuenta
+     */
+    private void emitAccounts(List<Account> chunk, Consumer<AccountResponse> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        mapAccountsWithPending(chunk).forEach(consumer);
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
+    }
+
+    /**
+     * Construye la respuesta de saldo de una cuenta.
+     * 
+     * @param account Cuenta
+     * @param pendingAmount Cargas pendientes de consolidar, en centavos
+     * @return BalanceResponse con el saldo actual y el disponible
+     */
+    private BalanceResponse mapBalanceToResponse(Account account, long pendingAmount) {
+        long balance = account.getCurrentBalance() + pendingAmount;
+        return new BalanceResponse(account.getId(), balance, balance - account.getHeldBalance());
+    }
+
+    /**
+     * Busca una reserva por su ID.
+     * 
+     * @param holdId ID de la reserva
+     * @return Reserva encontrada
+     * @throws BalanceHoldNotFoundException si no se encuentra la reserva
+     */
+    private BalanceHold findHold(Long holdId) {
+        Optional<BalanceHold> holdOptional = balanceHoldRepository.findById(holdId);
+        if (holdOptional.isEmpty()) {
+            throw new BalanceHoldNotFoundException(holdId);
+        }
+        return holdOptional.get();
+    }
+
+    /**
+     * Cierra una reserva con un UPDATE condicional sobre su estado.
+     * 
+     * @param holdId ID de la reserva
+     * @param status Estado final
+     * @param capturedAmount Monto capturado en centavos (null si no se captura)
+     * @throws BalanceHoldNotActiveException si la reserva ya no estaba activa
+     */
+    private void closeHold(Long holdId, BalanceHold.HoldStatus status, Long capturedAmount) {
+        int closed = balanceHoldRepository.closeIfHeld(holdId, status, capturedAmount, LocalDateTime.now());
+        if (closed == 0) {
+            throw new BalanceHoldNotActiveException(holdId, findHold(holdId).getStatus());
+        }
+    }
+
+    /**
+     * Bloquea las cuentas del lote y evalúa cada descuento en memoria, sin modificar nada.
+     * 
+     * @param items Descuentos en el orden recibido
+     * @param accountIds IDs de las cuentas involucradas
+     * @param usedKeys Claves de idempotencia ya registradas
+     * @return Plan con el resultado de cada descuento y los cambios a aplicar
+     */
+    private BatchDeductPlan planBatchDeduct(List<BatchDeductItem> items, Set<Long> accountIds,
+                                            Map<String, IdempotencyKey> usedKeys) {
+        Map<Long, Account> accounts = new HashMap<>();
+        Map<Long, Long> balances = new HashMap<>();
+        for (Account account : accountRepository.findAllByIdForUpdate(accountIds)) {
+            accounts.put(account.getId(), account);
+            balances.put(account.getId(), account.getCurrentBalance());
+        }
+        Map<Long, Long> pendingAmounts = balanceLedgerService.getPendingAmounts(accountIds);
+
+        BatchDeductPlan plan = new BatchDeductPlan();
+        Map<String, IdempotencyKey> batchKeys = new HashMap<>(usedKeys);
+        for (BatchDeductItem item : items) {
+            Long accountId = item.getAccountId();
+            long amount = item.getAmount();
+            String key = item.getIdempotencyKey();
+
+            IdempotencyKey usedKey = key != null ? batchKeys.get(key) : null;
+            if (usedKey != null) {
+                if (usedKey.matches(IdempotencyService.DEDUCT_BALANCE, accountId, amount)) {
+                    plan.results.add(new BatchDeductItemResult(accountId, key,
+                            BatchDeductItemResult.Status.OK, true, usedKey.getBalanceCents()));
+                } else {
+                    plan.results.add(new BatchDeductItemResult(accountId, key,
+                            BatchDeductItemResult.Status.IDEMPOTENCY_CONFLICT, false, null));
+                }
+                continue;
+            }
+
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                plan.results.add(new BatchDeductItemResult(accountId, key,
+                        BatchDeductItemResult.Status.ACCOUNT_NOT_FOUND, false, null));
+                continue;
+            }
+
+            long pending = pendingAmounts.getOrDefault(accountId, 0L);
+            long balance = balances.get(accountId);
+            if (!account.getActive()) {
+                plan.results.add(new BatchDeductItemResult(accountId, key,
+                        BatchDeductItemResult.Status.ACCOUNT_INACTIVE, false, balance + pending));
+                continue;
+            }
+            if (balance - account.getHeldBalance() < amount) {
+                plan.results.add(new BatchDeductItemResult(accountId, key,
+                        BatchDeductItemResult.Status.INSUFFICIENT_BALANCE, false, balance + pending));
+                if (pending > 0) {
+                    plan.shortAccountIds.add(accountId);
+                }
+                continue;
+            }
+
+            balance -= amount;
+            balances.put(accountId, balance);
+            plan.debits.merge(accountId, amount, Long::sum);
+            plan.movements.add(BalanceMovement.appliedDebit(accountId, amount));
+            plan.results.add(new BatchDeductItemResult(accountId, key,
+                    BatchDeductItemResult.Status.OK, false, balance + pending));
+            if (key != null) {
+                IdempotencyKey newKey = new IdempotencyKey(key, IdempotencyService.DEDUCT_BALANCE,
+                        accountId, amount, balance + pending, balance + pending - account.getHeldBalance());
+                plan.newKeys.add(newKey);
+                batchKeys.put(key, newKey);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Resultado de evaluar un lote de descuentos: resultados por descuento
+     * y cambios a aplicar en la base de datos.
+     */
+    private static class BatchDeductPlan {
+        private final List<BatchDeductItemResult> results = new ArrayList<>();
+        private final Map<Long, Long> debits = new TreeMap<>();
+        private final List<BalanceMovement> movements = new ArrayList<>();
+        private final List<IdempotencyKey> newKeys = new ArrayList<>();
+        private final Set<Long> shortAccountIds = new TreeSet<>();
+    }
+}
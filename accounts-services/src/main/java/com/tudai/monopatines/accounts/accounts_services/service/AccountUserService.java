@@ -21,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -44,6 +45,9 @@ public class AccountUserService {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
     /**
      * Asocia un usuario a una cuenta.
      * 
@@ -145,19 +149,22 @@ public class AccountUserService {
     @Transactional(readOnly = true)
     public UsersByAccountResponse getUsersByAccount(Long accountId) {
         // Verificar que la cuenta existe
-        Optional<Account> accountOptional = accountRepository.findById(accountId);
-        if (accountOptional.isEmpty()) {
+        if (!accountRepository.existsById(accountId)) {
             throw new AccountNotFoundException(accountId);
         }
-        Account account = accountOptional.get();
 
-        List<AccountUser> accountUsers = accountUserRepository.findByAccount(account);
+        // Usuarios (JOIN FETCH) y roles de todos los usuarios en una consulta cada uno
+        List<AccountUser> accountUsers = accountUserRepository.findByAccountIdFetchUser(accountId);
+        List<Long> userIds = new ArrayList<>(accountUsers.size());
+        for (AccountUser au : accountUsers) {
+            userIds.add(au.getUser().getId());
+        }
+        Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(userIds);
+
         List<UserResponse> responses = new ArrayList<>();
         for (AccountUser au : accountUsers) {
             UserResponse userResponse = MapperUtil.mapUserToResponse(au.getUser());
-            // Obtener roles para incluir en la respuesta
-            List<String> roles = roleService.getRolesByUserId(au.getUser().getId());
-            userResponse.setRoles(roles);
+            userResponse.setRoles(rolesByUserId.get(au.getUser().getId()));
             responses.add(userResponse);
         }
 
@@ -188,16 +195,25 @@ public class AccountUserService {
     @Transactional(readOnly = true)
     public AccountsByUserResponse getAccountsByUser(Long userId) {
         // Verificar que el usuario existe
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
+        if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
-        User user = userOptional.get();
 
-        List<AccountUser> accountUsers = accountUserRepository.findByUser(user);
+        // Cuentas en la misma consulta que las relaciones (JOIN FETCH)
+        List<AccountUser> accountUsers = accountUserRepository.findByUserIdFetchAccount(userId);
+        List<Long> accountIds = new ArrayList<>(accountUsers.size());
+        for (AccountUser au : accountUsers) {
+            accountIds.add(au.getAccount().getId());
+        }
+        // Saldo con las cargas pendientes de consolidar, igual que GET /api/accounts/{id}
+        Map<Long, Long> pendingAmounts = balanceLedgerService.getPendingAmounts(accountIds);
         List<AccountResponse> responses = new ArrayList<>();
         for (AccountUser au : accountUsers) {
-            responses.add(MapperUtil.mapAccountToResponse(au.getAccount()));
+            Account account = au.getAccount();
+            AccountResponse accountResponse = MapperUtil.mapAccountToResponse(account);
+            accountResponse.setCurrentBalance(account.getCurrentBalance()
+                    + pendingAmounts.getOrDefault(account.getId(), 0L));
+            responses.add(accountResponse);
         }
 
         String message;
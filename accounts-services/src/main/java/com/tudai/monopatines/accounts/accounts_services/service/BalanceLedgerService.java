@@ -0,0 +1,127 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.AccountCacheEvictor;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceMovement;
+import com.tudai.monopatines.accounts.accounts_services.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.BalanceMovementRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio para gestionar el libro de movimientos de saldo (ledger).
+ *
+ * Las cargas se registran como movimientos pendientes (solo inserción, sin tocar
+ * la fila de la cuenta) y se consolidan periódicamente en el saldo de la cuenta,
+ * que funciona como snapshot. El saldo real es snapshot + movimientos pendientes.
+ *
+ */
+@Service
+@Transactional
+public class BalanceLedgerService {
+
+    @Autowired
+    private BalanceMovementRepository balanceMovementRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCacheEvictor accountCacheEvictor;
+
+    /**
+     * Registra una carga pendiente de consolidar.
+     *
+     * @param accountId ID de la cuenta
+     * @param amount Monto cargado en centavos
+     */
+    public void recordCredit(Long accountId, long amount) {
+        balanceMovementRepository.save(BalanceMovement.pendingCredit(accountId, amount));
+    }
+
+    /**
+     * Registra un descuento que ya fue aplicado sobre el saldo de la cuenta.
+     *
+     * @param accountId ID de la cuenta
+     * @param amount Monto descontado en centavos
+     */
+    public void recordDebit(Long accountId, long amount) {
+        balanceMovementRepository.save(BalanceMovement.appliedDebit(accountId, amount));
+    }
+
+    /**
+     * Obtiene la suma de los movimientos pendientes de una cuenta.
+     *
+     * @param accountId ID de la cuenta
+     * @return Monto pendiente de consolidar, en centavos
+     */
+    @Transactional(readOnly = true)
+    public long getPendingAmount(Long accountId) {
+        return balanceMovementRepository.sumPendingAmountByAccountId(accountId);
+    }
+
+    /**
+     * Obtiene la suma de los movimientos pendientes de varias cuentas en una sola consulta.
+     *
+     * @param accountIds IDs de las cuentas
+     * @return Mapa accountId -> monto pendiente en centavos (solo cuentas con movimientos pendientes)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getPendingAmounts(Collection<Long> accountIds) {
+        Map<Long, Long> pendingAmounts = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return pendingAmounts;
+        }
+        for (Object[] row : balanceMovementRepository.sumPendingAmountByAccountIds(accountIds)) {
+            pendingAmounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return pendingAmounts;
+    }
+
+    /**
+     * Consolida los movimientos pendientes de una cuenta en su saldo.
+     *
+     * Bloquea los movimientos pendientes, los marca como aplicados y suma su total
+     * al saldo de la cuenta en un único UPDATE, todo dentro de la misma transacción.
+     *
+     * @param accountId ID de la cuenta
+     * @return Monto consolidado en centavos (0 si no había movimientos pendientes)
+     */
+    public long foldPendingMovements(Long accountId) {
+        List<BalanceMovement> pending = balanceMovementRepository.findByAccountIdAndAppliedFalseOrderByIdAsc(accountId);
+        if (pending.isEmpty()) {
+            return 0L;
+        }
+
+        List<Long> ids = new ArrayList<>(pending.size());
+        long total = 0L;
+        for (BalanceMovement movement : pending) {
+            ids.add(movement.getId());
+            total += movement.getAmount();
+        }
+
+        balanceMovementRepository.markApplied(ids, LocalDateTime.now());
+        accountRepository.addToBalance(accountId, total);
+        accountCacheEvictor.evict(accountId);
+        return total;
+    }
+
+    /**
+     * Obtiene un lote de cuentas con movimientos pendientes de consolidar.
+     *
+     * @param batchSize Cantidad máxima de cuentas a devolver
+     * @return Lista de IDs de cuentas
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findAccountsWithPendingMovements(int batchSize) {
+        return balanceMovementRepository.findAccountIdsWithPendingMovements(PageRequest.of(0, batchSize));
+    }
+}
@@ -0,0 +1,109 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifica la identidad que el api-gateway reenvía después de validar el JWT.
+ * 
+ * El gateway envía el usuario, sus roles y la expiración del token en headers
+ * firmados con HMAC-SHA256 (secreto compartido app.gateway.identity-secret).
+ * Verificar la firma es un solo HMAC sobre un texto corto, más barato que parsear
+ * y verificar el JWT. Si el secreto no está configurado, los headers se ignoran.
+ * 
+ */
+@Service
+public class GatewayIdentityVerifier {
+
+    public static final String USER_ID_HEADER = "X-Gateway-User-Id";
+    public static final String ROLES_HEADER = "X-Gateway-User-Roles";
+    public static final String EXPIRES_HEADER = "X-Gateway-Identity-Expires";
+    public static final String SIGNATURE_HEADER = "X-Gateway-Identity-Signature";
+
+    @Value("${app.gateway.identity-secret:}")
+    private String secret;
+
+    private ThreadLocal<Mac> mac;
+
+    @PostConstruct
+    void init() {
+        if (secret.isBlank()) {
+            return;
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    /**
+     * Obtiene la identidad reenviada por el gateway, si el request la trae y la firma es válida.
+     * 
+     * @param request Request HTTP entrante
+     * @return Optional con el usuario y sus roles, o vacío si no hay identidad, la firma
+     *         no es válida o ya expiró
+     */
+    public Optional<JwtPrincipal> resolve(HttpServletRequest request) {
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (mac == null || signature == null) {
+            return Optional.empty();
+        }
+        String userId = request.getHeader(USER_ID_HEADER);
+        String roles = request.getHeader(ROLES_HEADER);
+        String expires = request.getHeader(EXPIRES_HEADER);
+        if (userId == null || roles == null || expires == null) {
+            return Optional.empty();
+        }
+
+        byte[] expected = mac.get().doFinal((userId + "|" + roles + "|" + expires).getBytes(StandardCharsets.UTF_8));
+        byte[] received;
+        try {
+            received = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(expected, received)) {
+            return Optional.empty();
+        }
+
+        Instant expiresAt;
+        Long id;
+        try {
+            expiresAt = Instant.ofEpochSecond(Long.parseLong(expires));
+            id = Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (!Instant.now().isBefore(expiresAt)) {
+            return Optional.empty();
+        }
+
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (String role : roles.split(",")) {
+            if (!role.isBlank()) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+        }
+        return Optional.of(new JwtPrincipal(id, authorities, expiresAt));
+    }
+}
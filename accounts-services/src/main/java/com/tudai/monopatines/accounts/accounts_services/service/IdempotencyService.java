@@ -0,0 +1,210 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_services.entity.IdempotencyKey;
+import com.tudai.monopatines.accounts.accounts_services.exception.IdempotencyKeyConflictException;
+import com.tudai.monopatines.accounts.accounts_services.exception.InvalidIdempotencyKeyException;
+import com.tudai.monopatines.accounts.accounts_services.repository.BalanceBatchRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.IdempotencyKeyRepository;
+import com.tudai.monopatines.accounts.accounts_services.util.LruCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio para deduplicar operaciones de saldo mediante claves de idempotencia.
+ *
+ * Las claves usadas se guardan en la tabla idempotency_keys (durable y compartida entre
+ * instancias) y las más recientes también en un cache LRU en memoria, para resolver
+ * los reintentos sin ir a la base de datos. La respuesta guardada se devuelve tal cual,
+ * sin volver a tocar la cuenta.
+ *
+ */
+@Service
+@Transactional
+public class IdempotencyService {
+
+    public static final String LOAD_BALANCE = "LOAD_BALANCE";
+    public static final String DEDUCT_BALANCE = "DEDUCT_BALANCE";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private BalanceBatchRepository balanceBatchRepository;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    private LruCache<String, IdempotencyKey> recentKeys;
+
+    @PostConstruct
+    void initCache() {
+        recentKeys = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Busca la respuesta de una operación ya procesada con la clave indicada.
+     *
+     * @param key Clave de idempotencia (null si el cliente no envió el header)
+     * @param operation Operación que se quiere realizar
+     * @param accountId ID de la cuenta
+     * @param amount Monto de la operación, en centavos
+     * @return Respuesta original si la clave ya fue usada, vacío si la operación debe procesarse
+     * @throws InvalidIdempotencyKeyException si la clave está vacía o es demasiado larga
+     * @throws IdempotencyKeyConflictException si la clave se usó para otra operación, cuenta o monto
+     */
+    @Transactional(readOnly = true)
+    public Optional<BalanceResponse> findResponse(String key, String operation, Long accountId, long amount) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        validateKey(key);
+
+        IdempotencyKey record = recentKeys.get(key);
+        if (record == null) {
+            Optional<IdempotencyKey> recordOptional = idempotencyKeyRepository.findById(key);
+            if (recordOptional.isEmpty()) {
+                return Optional.empty();
+            }
+            record = recordOptional.get();
+            recentKeys.put(key, record);
+        }
+
+        if (!record.matches(operation, accountId, amount)) {
+            throw IdempotencyKeyConflictException.forMismatch(key);
+        }
+        return Optional.of(new BalanceResponse(record.getAccountId(), record.getBalanceCents(),
+                record.getAvailableBalanceCents()));
+    }
+
+    /**
+     * Registra la respuesta de una operación procesada con la clave indicada.
+     *
+     * Debe llamarse dentro de la misma transacción que aplica la operación: si otra
+     * solicitud ya registró la clave, el INSERT falla por clave primaria duplicada y
+     * la transacción completa se revierte, así el monto no se aplica dos veces.
+     * La clave se agrega al cache recién cuando la transacción confirma.
+     *
+     * @param key Clave de idempotencia (si es null no se registra nada)
+     * @param operation Operación realizada
+     * @param accountId ID de la cuenta
+     * @param amount Monto de la operación, en centavos
+     * @param response Respuesta devuelta al cliente
+     * @throws IdempotencyKeyConflictException si la clave ya fue registrada por otra solicitud
+     */
+    public void register(String key, String operation, Long accountId, long amount, BalanceResponse response) {
+        if (key == null) {
+            return;
+        }
+
+        IdempotencyKey record = new IdempotencyKey(key, operation, accountId, amount, response.getCurrentBalance(),
+                response.getAvailableBalance());
+        try {
+            idempotencyKeyRepository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            throw IdempotencyKeyConflictException.forConcurrentRequest(key);
+        }
+
+        cacheAfterCommit(List.of(record));
+    }
+
+    /**
+     * Busca varias claves ya usadas de una vez: primero en el cache y las que faltan
+     * en la base de datos con una sola consulta.
+     *
+     * @param keys Claves de idempotencia
+     * @return Mapa clave -> registro, solo con las claves ya usadas
+     * @throws InvalidIdempotencyKeyException si alguna clave está vacía o es demasiado larga
+     */
+    @Transactional(readOnly = true)
+    public Map<String, IdempotencyKey> findRecords(Collection<String> keys) {
+        Map<String, IdempotencyKey> records = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            validateKey(key);
+            IdempotencyKey record = recentKeys.get(key);
+            if (record != null) {
+                records.put(key, record);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (IdempotencyKey record : idempotencyKeyRepository.findAllById(missing)) {
+                records.put(record.getKey(), record);
+                recentKeys.put(record.getKey(), record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Registra varias claves con un único batch insert de JDBC.
+     * Igual que register(), debe llamarse dentro de la transacción que aplica las operaciones.
+     *
+     * @param records Claves a registrar
+     * @throws IdempotencyKeyConflictException si alguna clave ya fue registrada por otra solicitud
+     */
+    public void registerAll(List<IdempotencyKey> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        try {
+            balanceBatchRepository.insertIdempotencyKeys(records);
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyConflictException(
+                    "Some idempotency keys of the batch are already being processed");
+        }
+        cacheAfterCommit(records);
+    }
+
+    /**
+     * Elimina las claves más antiguas que el período de retención configurado.
+     *
+     * @return Cantidad de claves eliminadas
+     */
+    public int purgeExpiredKeys() {
+        return idempotencyKeyRepository.deleteByCreatedAtBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    private void cacheAfterCommit(List<IdempotencyKey> records) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            records.forEach(record -> recentKeys.put(record.getKey(), record));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                records.forEach(record -> recentKeys.put(record.getKey(), record));
+            }
+        });
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identidad extraída de un token JWT ya verificado.
+ * 
+ * Es inmutable: se construye una sola vez al verificar el token y se usa
+ * directamente para armar la autenticación de Spring Security.
+ * 
+ */
+public final class JwtPrincipal {
+
+    /**
+     * ID del usuario (claim "sub" del token).
+     */
+    private final Long userId;
+
+    /**
+     * Roles del usuario (claim "roles"), ya convertidos a authorities.
+     */
+    private final List<SimpleGrantedAuthority> authorities;
+
+    /**
+     * Fecha de expiración del token (claim "exp"), o null si el token no la tiene.
+     */
+    private final Instant expiresAt;
+
+    public JwtPrincipal(Long userId, List<SimpleGrantedAuthority> authorities, Instant expiresAt) {
+        this.userId = userId;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<SimpleGrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{" +
+                "userId=" + userId +
+                ", authorities=" + authorities +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -1,17 +1,28 @@
 package com.tudai.monopatines.accounts.accounts_services.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Servicio para validar tokens JWT.
+ * 
+ * La clave de firma y el parser se construyen una sola vez al iniciar (el parser
+ * de jjwt es inmutable y thread-safe), y cada token se verifica y parsea una
+ * única vez por request.
  */
 @Service
 public class JwtService {
@@ -19,65 +30,45 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secret;
 
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+    }
+
     /**
-     * Valida un token JWT.
+     * Verifica un token JWT (firma, expiración, formato) y extrae la identidad del usuario.
      * 
-     * @param token Token a validar
-     * @return true si el token es válido, false en caso contrario
+     * @param token Token a verificar
+     * @return Optional con el usuario y sus roles, o vacío si el token es inválido
      */
-    public boolean validateToken(String token) {
+    public Optional<JwtPrincipal> parseToken(String token) {
+        Claims claims;
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
-    }
 
-    /**
-     * Extrae el userId del token.
-     * 
-     * @param token Token JWT
-     * @return ID del usuario
-     */
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return Long.parseLong(claims.getSubject());
-    }
+        Long userId;
+        try {
+            userId = Long.parseLong(claims.getSubject());
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
 
-    /**
-     * Extrae los roles del token.
-     * 
-     * @param token Token JWT
-     * @return Lista de roles
-     */
-    @SuppressWarnings("unchecked")
-    public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return (List<String>) claims.get("roles");
-    }
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (claims.get("roles") instanceof List<?> roles) {
+            for (Object role : roles) {
+                authorities.add(new SimpleGrantedAuthority(String.valueOf(role)));
+            }
+        }
 
-    /**
-     * Obtiene la clave de firma para JWT.
-     * 
-     * @return SecretKey
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Date expiration = claims.getExpiration();
+        Instant expiresAt = expiration != null ? expiration.toInstant() : null;
+        return Optional.of(new JwtPrincipal(userId, authorities, expiresAt));
     }
 }
-
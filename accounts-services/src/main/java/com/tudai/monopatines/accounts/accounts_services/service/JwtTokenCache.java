@@ -0,0 +1,104 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cache de tokens JWT ya verificados (hash del token -> identidad del usuario).
+ * 
+ * Los clientes reutilizan el mismo token durante horas, así que la firma se verifica
+ * una sola vez y las siguientes solicitudes con el mismo token se resuelven con
+ * una búsqueda por hash, sin operaciones criptográficas de firma.
+ * 
+ * El cache está acotado en tamaño (LRU) y una entrada deja de usarse al llegar
+ * la expiración ("exp") del token. Los tokens sin expiración y los inválidos no se cachean.
+ * 
+ * Publica las métricas jwt.cache.requests (tag result=hit|miss) y jwt.cache.size.
+ * 
+ */
+@Service
+public class JwtTokenCache {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.cache-size:10000}")
+    private int cacheSize;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private LruCache<String, JwtPrincipal> principalsByTokenHash;
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    void init() {
+        principalsByTokenHash = new LruCache<>(cacheSize);
+        hits = Counter.builder("jwt.cache.requests").tag("result", "hit")
+                .description("Tokens resueltos desde el cache").register(meterRegistry);
+        misses = Counter.builder("jwt.cache.requests").tag("result", "miss")
+                .description("Tokens que requirieron verificar la firma").register(meterRegistry);
+        Gauge.builder("jwt.cache.size", principalsByTokenHash, LruCache::size)
+                .description("Tokens verificados en el cache").register(meterRegistry);
+    }
+
+    /**
+     * Resuelve la identidad de un token, usando el cache si el token ya fue verificado
+     * y todavía no expiró.
+     * 
+     * @param token Token JWT
+     * @return Optional con el usuario y sus roles, o vacío si el token es inválido o expiró
+     */
+    public Optional<JwtPrincipal> resolve(String token) {
+        String tokenHash = hash(token);
+        Instant now = clock.instant();
+
+        JwtPrincipal cached = principalsByTokenHash.get(tokenHash);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            principalsByTokenHash.remove(tokenHash);
+        }
+
+        misses.increment();
+        Optional<JwtPrincipal> principal = jwtService.parseToken(token);
+        if (principal.isPresent() && principal.get().getExpiresAt() != null) {
+            principalsByTokenHash.put(tokenHash, principal.get());
+        }
+        return principal;
+    }
+
+    /**
+     * Calcula el hash SHA-256 del token. Se usa como clave para no guardar tokens en memoria.
+     * 
+     * @param token Token JWT
+     * @return Hash del token en Base64
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
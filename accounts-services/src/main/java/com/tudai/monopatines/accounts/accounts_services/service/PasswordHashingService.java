@@ -0,0 +1,165 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que ejecuta la verificación de passwords (BCrypt) en un pool de hilos
+ * dedicado y acotado.
+ * 
+ * BCrypt consume decenas de milisegundos de CPU por verificación. Ejecutarlo en un
+ * pool del tamaño de la cantidad de CPUs, con una cola limitada, evita que una ráfaga
+ * de logins sature los hilos de Tomcat: cuando la cola está llena la verificación se
+ * rechaza en el momento con PasswordHashingUnavailableException (HTTP 503).
+ * 
+ * También genera el hash nuevo cuando el almacenado quedó desactualizado (rehashIfOutdated).
+ * 
+ * Debe llamarse fuera de una transacción, para no retener una conexión de la base
+ * de datos mientras se calcula el hash.
+ * 
+ * Métricas: password.hashing.queue, password.hashing.active, password.hashing.duration,
+ * password.hashing.wait y password.hashing.rejected.
+ * 
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Cantidad de hilos del pool. 0 usa la cantidad de CPUs disponibles.
+     */
+    @Value("${app.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${app.password-hashing.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Verificaciones de password esperando un hilo libre").register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Verificaciones de password en curso").register(meterRegistry);
+        hashTimer = Timer.builder("password.hashing.duration")
+                .description("Tiempo de cálculo del hash").register(meterRegistry);
+        waitTimer = Timer.builder("password.hashing.wait")
+                .description("Tiempo de espera en la cola").register(meterRegistry);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Verificaciones rechazadas por saturación").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Verifica un password contra su hash almacenado en el pool dedicado.
+     * 
+     * @param rawPassword Password en texto plano
+     * @param encodedPassword Hash almacenado
+     * @return true si el password coincide con el hash
+     * @throws PasswordHashingUnavailableException si el pool está saturado o la verificación no termina a tiempo
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return runOnPool(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Genera un hash nuevo si el hash almacenado usa un algoritmo o costo anterior al configurado.
+     * Debe llamarse solo después de verificar el password con matches().
+     * 
+     * @param rawPassword Password en texto plano (ya verificado)
+     * @param encodedPassword Hash almacenado
+     * @return Optional con el hash nuevo, o vacío si el hash almacenado está actualizado
+     * @throws PasswordHashingUnavailableException si el pool está saturado o el cálculo no termina a tiempo
+     */
+    public Optional<String> rehashIfOutdated(String rawPassword, String encodedPassword) {
+        if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return Optional.empty();
+        }
+        return Optional.of(runOnPool(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Ejecuta un cálculo de hash en el pool dedicado y espera el resultado.
+     * 
+     * @param task Cálculo a ejecutar
+     * @return Resultado del cálculo
+     * @throws PasswordHashingUnavailableException si el pool está saturado o el cálculo no termina a tiempo
+     */
+    private <T> T runOnPool(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Too many concurrent password verifications, retry later");
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Password verification timed out, retry later");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while verifying password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        }
+    }
+}
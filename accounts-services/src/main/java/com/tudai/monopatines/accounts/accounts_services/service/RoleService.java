@@ -9,14 +9,24 @@ import com.tudai.monopatines.accounts.accounts_services.repository.UserRoleRepos
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Servicio para gestionar roles y asignaciones de roles a usuarios.
  * 
+ * Mantiene en memoria el catálogo de roles (nombre -> ID), que casi nunca cambia,
+ * para resolver un rol por nombre sin consultar la base de datos. Los roles de cada
+ * usuario se cachean en el cache de segundo nivel (región user-roles-by-user), que se
+ * invalida en todas las instancias al asignar o quitar roles.
+ * 
  */
 @Service
 @Transactional
@@ -31,37 +41,70 @@ public class RoleService {
     @Autowired
     private UserRoleRepository userRoleRepository;
 
+    /**
+     * Catálogo de roles (nombre -> ID). Es inmutable: se reemplaza completo al refrescarlo.
+     */
+    private volatile Map<String, Long> roleIdsByName = Map.of();
+
+    /**
+     * Recarga el catálogo de roles desde la base de datos.
+     * 
+     * Se llama al iniciar la aplicación (después de RoleInitializer) y cada vez
+     * que se crea un rol.
+     */
+    @Transactional(readOnly = true)
+    public void refreshRoleCatalog() {
+        Map<String, Long> catalog = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            catalog.put(role.getName(), role.getId());
+        }
+        roleIdsByName = Map.copyOf(catalog);
+    }
+
     /**
      * Obtiene todos los roles asignados a un usuario.
      * 
      * Retorna la lista de nombres de roles (ej: "ROLE_USER", "ROLE_ADMIN")
-     * asignados al usuario especificado.
+     * asignados al usuario especificado. Si el usuario no existe, la lista es vacía.
      * 
      * @param userId ID del usuario
      * @return Lista de nombres de roles asignados al usuario
      */
     @Transactional(readOnly = true)
     public List<String> getRolesByUserId(Long userId) {
-        Optional<User> userOptional = userRepository.findById(userId);
-        if (userOptional.isEmpty()) {
-            return new ArrayList<>();
+        return new ArrayList<>(userRoleRepository.findRoleNamesByUserId(userId));
+    }
+
+    /**
+     * Obtiene los roles de varios usuarios con una única consulta.
+     * 
+     * Se usa en los listados de usuarios para no consultar los roles de a un usuario por vez.
+     * 
+     * @param userIds IDs de los usuarios
+     * @return Mapa userId -> lista de nombres de roles (lista vacía si el usuario no tiene roles)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<String>> getRolesByUserIds(Collection<Long> userIds) {
+        Map<Long, List<String>> rolesByUserId = new HashMap<>();
+        for (Long userId : userIds) {
+            rolesByUserId.put(userId, new ArrayList<>());
+        }
+        if (rolesByUserId.isEmpty()) {
+            return rolesByUserId;
         }
 
-        List<UserRole> userRoles = userRoleRepository.findByUserId(userId);
-        List<String> roles = new ArrayList<>();
-        for (UserRole userRole : userRoles) {
-            if (userRole.getRole() != null) {
-                roles.add(userRole.getRole().getName());
-            }
+        for (Object[] row : userRoleRepository.findRoleNamesByUserIds(rolesByUserId.keySet())) {
+            rolesByUserId.get((Long) row[0]).add((String) row[1]);
         }
-        return roles;
+        return rolesByUserId;
     }
 
     /**
      * Asigna un rol a un usuario.
      * 
      * Crea una relación entre el usuario y el rol especificado.
-     * El rol debe existir previamente en el sistema.
+     * El rol debe existir previamente en el sistema. El rol se resuelve
+     * desde el catálogo en memoria, sin consultar la tabla de roles.
      * 
      * @param userId ID del usuario
      * @param roleName Nombre del rol (ej: "ROLE_USER", "ROLE_ADMIN")
@@ -74,7 +117,7 @@ public class RoleService {
         }
         User user = userOptional.get();
 
-        Optional<Role> roleOptional = roleRepository.findByName(roleName);
+        Optional<Role> roleOptional = findRoleByName(roleName);
         if (roleOptional.isEmpty()) {
             throw new RuntimeException("Role not found with name: " + roleName);
         }
@@ -102,7 +145,7 @@ public class RoleService {
         }
         User user = userOptional.get();
 
-        Optional<Role> roleOptional = roleRepository.findByName(roleName);
+        Optional<Role> roleOptional = findRoleByName(roleName);
         if (roleOptional.isEmpty()) {
             return;
         }
@@ -121,11 +164,46 @@ public class RoleService {
      * @return Role creado o existente
      */
     public Role createRoleIfNotExists(String roleName) {
-        Optional<Role> roleOptional = roleRepository.findByName(roleName);
+        Optional<Role> roleOptional = findRoleByName(roleName);
         if (roleOptional.isPresent()) {
             return roleOptional.get();
         }
-        Role role = new Role(roleName);
-        return roleRepository.save(role);
+        Role role = roleRepository.save(new Role(roleName));
+        runAfterCommit(this::refreshRoleCatalog);
+        return role;
+    }
+
+    /**
+     * Resuelve un rol por nombre usando el catálogo en memoria.
+     * Devuelve una referencia (proxy) al rol, sin consultar la base de datos.
+     * Si el nombre no está en el catálogo, lo recarga una vez por si el rol
+     * fue creado por otro proceso.
+     * 
+     * @param roleName Nombre del rol
+     * @return Optional con la referencia al rol o vacío si no existe
+     */
+    private Optional<Role> findRoleByName(String roleName) {
+        Long roleId = roleIdsByName.get(roleName);
+        if (roleId == null) {
+            refreshRoleCatalog();
+            roleId = roleIdsByName.get(roleName);
+        }
+        if (roleId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(roleRepository.getReferenceById(roleId));
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
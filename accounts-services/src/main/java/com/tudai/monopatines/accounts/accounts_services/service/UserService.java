@@ -68,5 +68,17 @@ public interface UserService {
      * @throws UserNotFoundException si no se encuentra el usuario
      */
     boolean validatePassword(ValidatePasswordRequest request);
+
+    /**
+     * Autentica un usuario: valida el password y retorna sus datos con roles.
+     * Reemplaza la secuencia validatePassword + getUserByEmail usada en el login
+     * con una única búsqueda del usuario.
+     * 
+     * @param request ValidatePasswordRequest con email y password
+     * @return UserResponse con los datos del usuario y sus roles
+     * @throws UserNotFoundException si no se encuentra el usuario
+     * @throws InvalidCredentialsException si el password no es válido
+     */
+    UserResponse authenticate(ValidatePasswordRequest request);
 }
 
@@ -5,17 +5,22 @@ import com.tudai.monopatines.accounts.accounts_services.dto.UpdateUserRequest;
 import com.tudai.monopatines.accounts.accounts_services.dto.UserResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.ValidatePasswordRequest;
 import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import com.tudai.monopatines.accounts.accounts_services.exception.InvalidCredentialsException;
+import com.tudai.monopatines.accounts.accounts_services.exception.PasswordHashingUnavailableException;
 import com.tudai.monopatines.accounts.accounts_services.exception.UserAlreadyExistsException;
 import com.tudai.monopatines.accounts.accounts_services.exception.UserNotFoundException;
 import com.tudai.monopatines.accounts.accounts_services.repository.UserRepository;
 import com.tudai.monopatines.accounts.accounts_services.util.MapperUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +32,8 @@ import java.util.Optional;
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
+
     @Autowired
     private UserRepository userRepository;
     
@@ -34,7 +41,7 @@ public class UserServiceImpl implements UserService {
     private RoleService roleService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     /**
      * {@inheritDoc}
@@ -118,18 +125,23 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      * 
      * Implementación: Obtiene todos los usuarios desde el repositorio,
-     * obtiene los roles de cada usuario, los mapea a DTOs de respuesta
-     * y retorna una lista con todos los resultados incluyendo los roles.
+     * obtiene los roles de todos los usuarios con una única consulta, los mapea
+     * a DTOs de respuesta y retorna una lista con todos los resultados incluyendo los roles.
      */
     @Override
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
         List<User> users = userRepository.findAll();
+        List<Long> userIds = new ArrayList<>(users.size());
+        for (User user : users) {
+            userIds.add(user.getId());
+        }
+        Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(userIds);
+
         List<UserResponse> responses = new ArrayList<>();
         for (User user : users) {
             UserResponse response = MapperUtil.mapUserToResponse(user);
-            List<String> roles = roleService.getRolesByUserId(user.getId());
-            response.setRoles(roles);
+            response.setRoles(rolesByUserId.get(user.getId()));
             responses.add(response);
         }
         return responses;
@@ -176,9 +188,11 @@ public class UserServiceImpl implements UserService {
      * 
      * Implementación: Busca el usuario por email y valida el password comparándolo
      * con el hash almacenado en la base de datos usando BCrypt.
+     * Se ejecuta sin transacción: la conexión a la base se libera después de la búsqueda
+     * y el hash se calcula en el pool dedicado de PasswordHashingService.
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public boolean validatePassword(ValidatePasswordRequest request) {
         Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
         if (userOptional.isEmpty()) {
@@ -189,7 +203,57 @@ public class UserServiceImpl implements UserService {
         String hashedPassword = user.getPassword();
         
         // Comparar password con el hash almacenado
-        return passwordEncoder.matches(request.getPassword(), hashedPassword);
+        if (!passwordHashingService.matches(request.getPassword(), hashedPassword)) {
+            return false;
+        }
+        upgradePasswordHashIfOutdated(user, request.getPassword());
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Implementación: Busca el usuario por email una sola vez, compara el password
+     * con el hash almacenado y, si es válido, retorna el usuario con sus roles.
+     * Se ejecuta sin transacción, igual que validatePassword.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserResponse authenticate(ValidatePasswordRequest request) {
+        Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
+        if (userOptional.isEmpty()) {
+            throw new UserNotFoundException("User with email " + request.getEmail() + " not found");
+        }
+
+        User user = userOptional.get();
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            throw InvalidCredentialsException.forEmail(request.getEmail());
+        }
+        upgradePasswordHashIfOutdated(user, request.getPassword());
+
+        UserResponse response = MapperUtil.mapUserToResponse(user);
+        response.setRoles(roleService.getRolesByUserId(user.getId()));
+        return response;
     }
-}
 
+    /**
+     * Reemplaza el hash del password si fue generado con un algoritmo o costo anterior
+     * al configurado. Se llama después de un login exitoso, cuando se tiene el password en claro.
+     * 
+     * Si el pool de hashing está saturado se omite: se reintentará en el próximo login.
+     * 
+     * @param user Usuario autenticado
+     * @param rawPassword Password en texto plano ya verificado
+     */
+    private void upgradePasswordHashIfOutdated(User user, String rawPassword) {
+        try {
+            Optional<String> newHash = passwordHashingService.rehashIfOutdated(rawPassword, user.getPassword());
+            if (newHash.isPresent()) {
+                userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), newHash.get());
+                logger.debug("Password hash upgraded for user {}", user.getId());
+            }
+        } catch (PasswordHashingUnavailableException e) {
+            logger.debug("Password hash upgrade skipped for user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+}
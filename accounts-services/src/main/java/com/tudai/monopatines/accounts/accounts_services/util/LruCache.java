@@ -0,0 +1,81 @@
+package com.tudai.monopatines.accounts.accounts_services.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache en memoria de tamaño acotado con política LRU (se descarta la entrada
+ * usada hace más tiempo cuando se alcanza la capacidad máxima).
+ *
+ * Es thread-safe: todas las operaciones se sincronizan sobre la instancia.
+ * Pensada para mapas chicos y calientes (claves de idempotencia, roles por usuario).
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    /**
+     * Crea un cache LRU con la capacidad indicada.
+     *
+     * @param maxSize Cantidad máxima de entradas
+     */
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Obtiene un valor del cache.
+     *
+     * @param key Clave a buscar
+     * @return Valor asociado o null si no está en el cache
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Agrega o reemplaza un valor en el cache.
+     *
+     * @param key Clave
+     * @param value Valor
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Elimina una entrada del cache.
+     *
+     * @param key Clave a eliminar
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Elimina todas las entradas del cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Obtiene la cantidad de entradas actualmente en el cache.
+     *
+     * @return Cantidad de entradas
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -1,8 +1,10 @@
 package com.tudai.monopatines.accounts.accounts_services.util;
 
 import com.tudai.monopatines.accounts.accounts_services.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldResponse;
 import com.tudai.monopatines.accounts.accounts_services.dto.UserResponse;
 import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
 import com.tudai.monopatines.accounts.accounts_services.entity.User;
 
 /**
@@ -36,6 +38,25 @@ public class MapperUtil {
         return response;
     }
 
+    /**
+     * Mapea una entidad BalanceHold a un DTO HoldResponse.
+     * 
+     * @param hold Entidad BalanceHold de la base de datos
+     * @return HoldResponse DTO con los datos de la reserva
+     */
+    public static HoldResponse mapHoldToResponse(BalanceHold hold) {
+        HoldResponse response = new HoldResponse();
+        response.setId(hold.getId());
+        response.setAccountId(hold.getAccountId());
+        response.setAmount(hold.getAmount());
+        response.setCapturedAmount(hold.getCapturedAmount());
+        response.setStatus(hold.getStatus());
+        response.setCreatedAt(hold.getCreatedAt());
+        response.setExpiresAt(hold.getExpiresAt());
+        response.setClosedAt(hold.getClosedAt());
+        return response;
+    }
+
     /**
      * Mapea una entidad User a un DTO UserResponse.
      * 
@@ -44,7 +65,7 @@ public class MapperUtil {
      * evitando exponer anotaciones JPA y relaciones directamente en la API REST.
      * 
      * Nota: Este método no incluye los roles. Los roles deben agregarse después
-     * llamando a roleService.getRolesByUserId() y usando setRoles() en el UserResponse.
+     * llamando a roleService.getRolesByUserId() (o getRolesByUserIds() en listados) y usando setRoles() en el UserResponse.
      * 
      * @param user Entidad User de la base de datos
      * @return UserResponse DTO con los datos del usuario (sin roles)
@@ -0,0 +1,31 @@
+package com.tudai.monopatines.accounts.accounts_services.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Deserializador JSON para montos que se guardan en centavos.
+ *
+ * Lee el monto decimal del JSON (12.50) directamente como BigDecimal, sin pasar
+ * por double, y lo convierte a centavos (1250). También acepta el monto como texto ("12.50").
+ *
+ */
+public class MoneyJsonDeserializer extends JsonDeserializer<Long> {
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return MoneyUtil.toCents(new BigDecimal(parser.getText().trim()));
+            } catch (NumberFormatException e) {
+                return (Long) context.handleWeirdStringValue(Long.class, parser.getText(), "not a valid amount");
+            }
+        }
+        return MoneyUtil.toCents(parser.getDecimalValue());
+    }
+}
@@ -0,0 +1,22 @@
+package com.tudai.monopatines.accounts.accounts_services.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Serializador JSON para montos guardados en centavos.
+ *
+ * Escribe el monto como número decimal (1250 centavos -> 12.50), manteniendo
+ * el formato de la API aunque internamente se use un long.
+ *
+ */
+public class MoneyJsonSerializer extends JsonSerializer<Long> {
+
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeNumber(MoneyUtil.toDecimal(cents));
+    }
+}
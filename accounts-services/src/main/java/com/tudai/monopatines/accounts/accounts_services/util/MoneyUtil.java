@@ -0,0 +1,61 @@
+package com.tudai.monopatines.accounts.accounts_services.util;
+
+import com.tudai.monopatines.accounts.accounts_services.exception.InvalidAmountException;
+
+import java.math.BigDecimal;
+
+/**
+ * Clase utilitaria para trabajar con montos de dinero en punto fijo.
+ *
+ * Los saldos y montos se manejan internamente como un long con la cantidad de
+ * centavos (unidades menores). Así se evita la deriva de redondeo de Double al
+ * acumular millones de cargos pequeños y el boxing en cada operación de saldo.
+ * La conversión desde/hacia decimales solo ocurre en el borde (JSON y parámetros HTTP).
+ *
+ */
+public class MoneyUtil {
+
+    /**
+     * Cantidad de decimales de la unidad monetaria.
+     */
+    public static final int SCALE = 2;
+
+    private MoneyUtil() {
+    }
+
+    /**
+     * Convierte un monto decimal a centavos.
+     *
+     * @param amount Monto decimal (ej: 12.50)
+     * @return Cantidad de centavos (ej: 1250)
+     * @throws InvalidAmountException si el monto tiene más de dos decimales o no entra en un long
+     */
+    public static long toCents(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidAmountException("Invalid amount " + amount.toPlainString()
+                    + ": at most " + SCALE + " decimal places are allowed");
+        }
+    }
+
+    /**
+     * Convierte una cantidad de centavos a monto decimal.
+     *
+     * @param cents Cantidad de centavos (ej: 1250)
+     * @return Monto decimal con dos decimales (ej: 12.50)
+     */
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Formatea una cantidad de centavos como texto decimal, para mensajes de error y logs.
+     *
+     * @param cents Cantidad de centavos
+     * @return Monto como texto (ej: "12.50")
+     */
+    public static String format(long cents) {
+        return toDecimal(cents).toPlainString();
+    }
+}
@@ -0,0 +1,96 @@
+-- Schema inicial de accounts-service (equivalente al que generaba ddl-auto=update).
+-- Usa IF NOT EXISTS para que una base creada por Hibernate quede como punto de partida.
+
+CREATE SEQUENCE IF NOT EXISTS accounts_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE IF NOT EXISTS roles_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE IF NOT EXISTS user_roles_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+CREATE SEQUENCE IF NOT EXISTS account_user_seq START WITH 1 INCREMENT BY 50 NOCACHE;
+
+CREATE TABLE IF NOT EXISTS accounts (
+    id BIGINT NOT NULL,
+    identification_number VARCHAR(255) NOT NULL,
+    mercado_pago_account_id VARCHAR(255) NOT NULL,
+    current_balance_cents BIGINT NOT NULL,
+    held_balance_cents BIGINT NOT NULL,
+    active BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    cancelled_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_identification_number UNIQUE (identification_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    assigned_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_roles_user_role UNIQUE (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS account_user (
+    id BIGINT NOT NULL,
+    account_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    associated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_user_account_user UNIQUE (account_id, user_id),
+    CONSTRAINT fk_account_user_account FOREIGN KEY (account_id) REFERENCES accounts (id),
+    CONSTRAINT fk_account_user_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS balance_movements (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    type ENUM('CREDIT','DEBIT') NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    applied BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    applied_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS balance_holds (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    captured_amount_cents BIGINT,
+    status ENUM('CAPTURED','EXPIRED','HELD','RELEASED') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    closed_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(128) NOT NULL,
+    operation VARCHAR(32) NOT NULL,
+    account_id BIGINT NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    balance_cents BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (idempotency_key)
+) ENGINE=InnoDB;
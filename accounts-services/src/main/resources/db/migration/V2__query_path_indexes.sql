@@ -0,0 +1,27 @@
+-- Indices para los caminos de acceso de los repositorios. Cada uno indica las consultas que
+-- resuelve; QueryIndexUsageTest verifica con EXPLAIN que ninguna consulta recorra la tabla entera.
+
+-- AccountRepository.findByActiveTrue / findByActiveFalse / findByActiveTrueAndIdGreaterThanOrderByIdAsc /
+-- streamActiveOrderById: filtro por estado y orden por ID sin filesort
+CREATE INDEX IF NOT EXISTS idx_accounts_active_id ON accounts (active, id);
+
+-- UserRoleRepository.findByUserId / findByUser / findRoleNamesByUserId(s) / existsByUserAndRole:
+-- uk_user_roles_user_role (user_id, role_id) ya cubre estas consultas. Indice para la FK a roles
+CREATE INDEX IF NOT EXISTS idx_user_roles_role_id ON user_roles (role_id);
+
+-- AccountUserRepository.findByAccount / findByAccountIdFetchUser: uk_account_user_account_user
+-- (account_id, user_id). findByUser / findByUserIdFetchAccount: indice inverso, cubre el join a accounts
+CREATE INDEX IF NOT EXISTS idx_account_user_user_account ON account_user (user_id, account_id);
+
+-- BalanceMovementRepository.sumPendingAmountByAccountId(s) / findByAccountIdAndAppliedFalseOrderByIdAsc
+CREATE INDEX IF NOT EXISTS idx_balance_movements_account_applied ON balance_movements (account_id, applied, id);
+
+-- BalanceMovementRepository.findAccountIdsWithPendingMovements (job de consolidacion)
+CREATE INDEX IF NOT EXISTS idx_balance_movements_applied_account ON balance_movements (applied, account_id);
+
+-- BalanceHoldRepository.findExpiredForUpdate (job de vencimiento) y consultas por cuenta
+CREATE INDEX IF NOT EXISTS idx_balance_holds_status_expires_at ON balance_holds (status, expires_at);
+CREATE INDEX IF NOT EXISTS idx_balance_holds_account_id ON balance_holds (account_id);
+
+-- IdempotencyKeyRepository.deleteByCreatedAtBefore (purga periodica)
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,14 @@
+-- Invalidaciones del cache de segundo nivel entre instancias (ver CacheInvalidationChannel).
+-- Cada instancia inserta las entidades que modifico y lee las filas nuevas de las demas;
+-- las filas se eliminan pasado el periodo de retencion.
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    instance_id VARCHAR(36) NOT NULL,
+    region VARCHAR(100) NOT NULL,
+    entity_key VARCHAR(64),
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- CacheInvalidationChannel.purge
+CREATE INDEX IF NOT EXISTS idx_cache_invalidations_created_at ON cache_invalidations (created_at);
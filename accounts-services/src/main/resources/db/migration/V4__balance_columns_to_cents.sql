@@ -0,0 +1,26 @@
+-- Pasa los montos a centavos en las bases creadas por Hibernate antes de las migraciones
+-- (ddl-auto=update). V1 no modifica las tablas que ya existen, asi que en esas bases accounts
+-- conserva la columna DOUBLE current_balance NOT NULL y no tiene las columnas en centavos: se
+-- agregan en 0, se les suma el valor viejo en centavos y la columna vieja se elimina (con ella
+-- los INSERT fallan en modo estricto). Lo mismo con balance_movements.amount.
+--
+-- Si Hibernate ya habia agregado las columnas en centavos, solo se aplicaron deltas sobre ellas,
+-- asi que el monto real es el valor viejo en centavos mas el de la columna nueva. En una base
+-- creada por V1 las columnas viejas no existen: se agregan vacias para que el UPDATE no falle.
+-- Los DEFAULT 0 solo sirven para completar las filas existentes y se quitan al final, como en V1.
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS current_balance_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS held_balance_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS current_balance DOUBLE NULL;
+UPDATE accounts SET current_balance_cents = current_balance_cents + CAST(ROUND(current_balance * 100) AS SIGNED)
+WHERE current_balance IS NOT NULL;
+ALTER TABLE accounts DROP COLUMN current_balance;
+ALTER TABLE accounts ALTER COLUMN current_balance_cents DROP DEFAULT;
+ALTER TABLE accounts ALTER COLUMN held_balance_cents DROP DEFAULT;
+
+ALTER TABLE balance_movements ADD COLUMN IF NOT EXISTS amount_cents BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE balance_movements ADD COLUMN IF NOT EXISTS amount DOUBLE NULL;
+UPDATE balance_movements SET amount_cents = amount_cents + CAST(ROUND(amount * 100) AS SIGNED)
+WHERE amount IS NOT NULL;
+ALTER TABLE balance_movements DROP COLUMN amount;
+ALTER TABLE balance_movements ALTER COLUMN amount_cents DROP DEFAULT;
@@ -0,0 +1,5 @@
+-- Guarda tambien el saldo disponible de la respuesta original, para que un reintento con la
+-- misma clave de idempotencia reciba exactamente la misma respuesta. Las claves registradas
+-- antes de este cambio quedan con NULL y se responden sin saldo disponible.
+
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS available_balance_cents BIGINT NULL;
@@ -0,0 +1,79 @@
+package com.tudai.monopatines.accounts.accounts_services.benchmark;
+
+/**
+ * Medición de tiempos compartida por los benchmarks que se ejecutan a pedido (-Dbenchmark=true).
+ *
+ * bestOf corre una ronda de calentamiento (JIT, pool de conexiones) que no se cuenta y
+ * después benchmark.rounds rondas (5 por defecto), y devuelve la mejor.
+ */
+public final class BenchmarkTimer {
+
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 5);
+
+    private BenchmarkTimer() {
+    }
+
+    /**
+     * Mide una operación y devuelve la mejor ronda.
+     *
+     * @param body Operación a medir
+     * @return Nanosegundos de la ronda más rápida
+     */
+    public static long bestOf(Runnable body) {
+        return bestOf(() -> { }, body);
+    }
+
+    /**
+     * Mide una operación y devuelve la mejor ronda.
+     *
+     * @param beforeRound Se ejecuta antes de cada ronda, fuera de la medición (por ejemplo, vaciar caches)
+     * @param body Operación a medir
+     * @return Nanosegundos de la ronda más rápida
+     */
+    public static long bestOf(Runnable beforeRound, Runnable body) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round <= ROUNDS; round++) {
+            beforeRound.run();
+            long elapsed = time(body);
+            if (round > 0) {
+                best = Math.min(best, elapsed);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Mide una sola ejecución, sin calentamiento (cargas que no se pueden repetir o latencias individuales).
+     *
+     * @param body Operación a medir
+     * @return Nanosegundos transcurridos
+     */
+    public static long time(Runnable body) {
+        long start = System.nanoTime();
+        body.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Percentil de una lista de latencias ordenada, en milisegundos con un decimal.
+     *
+     * @param sortedNanos Latencias en nanosegundos, ordenadas de menor a mayor
+     * @param percentile Percentil (0-100)
+     * @return Latencia del percentil, formateada
+     */
+    public static String percentileMs(long[] sortedNanos, int percentile) {
+        int index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1);
+        return String.format("%.1f", sortedNanos[index] / 1_000_000.0);
+    }
+
+    /**
+     * Costo por operación en microsegundos con dos decimales.
+     *
+     * @param nanos Duración total de la ronda
+     * @param operations Operaciones realizadas en la ronda
+     * @return Microsegundos por operación, formateados
+     */
+    public static String microsPerOperation(long nanos, int operations) {
+        return String.format("%.2f", nanos / 1000.0 / operations);
+    }
+}
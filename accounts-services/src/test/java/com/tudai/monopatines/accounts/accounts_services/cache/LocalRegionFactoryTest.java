@@ -0,0 +1,147 @@
+package com.tudai.monopatines.accounts.accounts_services.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.cfg.spi.EntityDataCachingConfig;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Verifica los límites de las regiones de LocalRegionFactory y qué escrituras se informan
+ * a las demás instancias.
+ */
+class LocalRegionFactoryTest {
+
+    private MockEnvironment environment;
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationChannel channel;
+    private LocalRegionFactory regionFactory;
+    private SessionFactoryImplementor sessionFactory;
+    private MappingMetamodelImplementor mappingMetamodel;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("app.cache.default.max-entries", "100")
+                .withProperty("app.cache.regions.users.max-entries", "2")
+                .withProperty("app.cache.regions.roles.ttl-ms", "1");
+        meterRegistry = new SimpleMeterRegistry();
+        channel = mock(CacheInvalidationChannel.class);
+        regionFactory = new LocalRegionFactory(environment, meterRegistry);
+        regionFactory.setInvalidationChannel(channel);
+        // Sin anotaciones: algunas anotaciones de estas interfaces no están en el classpath de test
+        sessionFactory = mock(SessionFactoryImplementor.class, withSettings().withoutAnnotations());
+        mappingMetamodel = mock(MappingMetamodelImplementor.class, withSettings().withoutAnnotations());
+        when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+    }
+
+    @Test
+    void regionKeepsConfiguredNumberOfEntries() {
+        LocalStorageAccess users = domainRegion("users", "users");
+
+        users.putFromLoad(1L, "a", null);
+        users.putFromLoad(2L, "b", null);
+        users.getFromCache(1L, null);
+        users.putFromLoad(3L, "c", null);
+
+        assertEquals("a", users.getFromCache(1L, null));
+        assertNull(users.getFromCache(2L, null));
+        assertEquals("c", users.getFromCache(3L, null));
+        assertEquals(3.0, meterRegistry.counter("hibernate.cache.requests", "region", "users", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("hibernate.cache.requests", "region", "users", "result", "miss").count());
+    }
+
+    @Test
+    void entriesExpireAfterRegionTtl() throws InterruptedException {
+        LocalStorageAccess roles = domainRegion("roles", "roles");
+
+        roles.putFromLoad(1L, "ROLE_USER", null);
+        Thread.sleep(5);
+
+        assertFalse(roles.contains(1L));
+        assertNull(roles.getFromCache(1L, null));
+    }
+
+    @Test
+    void localWritesArePublishedButLoadsAreNot() {
+        LocalStorageAccess accounts = domainRegion("accounts", "accounts");
+
+        accounts.putFromLoad(1L, "loaded", null);
+        verifyNoInteractions(channel);
+
+        accounts.putIntoCache(1L, "updated", null);
+        accounts.evictData(2L);
+        accounts.evictData();
+
+        verify(channel).publish("accounts", 1L);
+        verify(channel).publish("accounts", 2L);
+        verify(channel).publish("accounts", null);
+    }
+
+    @Test
+    void remoteInvalidationEvictsEntityWithoutRepublishing() {
+        LocalStorageAccess accounts = domainRegion("accounts", "accounts");
+        accounts.putFromLoad(1L, "a", null);
+        accounts.putFromLoad(2L, "b", null);
+
+        regionFactory.evictLocally("accounts", 1L);
+
+        assertFalse(accounts.contains(1L));
+        assertTrue(accounts.contains(2L));
+        verify(channel, never()).publish("accounts", 1L);
+    }
+
+    @Test
+    void remoteInvalidationOnlyExpiresQueriesOverTheEntityTables() {
+        domainRegion("accounts", "accounts");
+        domainRegion("users", "users");
+        StorageAccess usersByEmail = regionFactory.createQueryResultsRegionStorageAccess("users-by-email", null);
+        usersByEmail.putIntoCache("query", "result", null);
+        StorageAccess timestamps = regionFactory.createTimestampsRegionStorageAccess("timestamps", null);
+        long cachedAt = regionFactory.nextTimestamp();
+
+        // Un cambio de saldo en otra instancia llega como invalidación de la región accounts
+        regionFactory.evictLocally("accounts", 1L);
+
+        // Hibernate descarta una query cacheada si alguna de sus tablas tiene un timestamp >= al de la query
+        assertTrue(usersByEmail.contains("query"));
+        assertTrue((Long) timestamps.getFromCache("accounts", null) >= cachedAt);
+        assertNull(timestamps.getFromCache("users", null));
+        verifyNoInteractions(channel);
+    }
+
+    private LocalStorageAccess domainRegion(String regionName, String... tables) {
+        NavigableRole role = new NavigableRole("entity." + regionName);
+        EntityDataCachingConfig entityCaching = mock(EntityDataCachingConfig.class);
+        when(entityCaching.getNavigableRole()).thenReturn(role);
+        DomainDataRegionConfig config = mock(DomainDataRegionConfig.class);
+        when(config.getRegionName()).thenReturn(regionName);
+        when(config.getEntityCaching()).thenReturn(List.of(entityCaching));
+        EntityPersister persister = mock(EntityPersister.class, withSettings().withoutAnnotations());
+        when(persister.getPropertySpaces()).thenReturn(tables);
+        when(mappingMetamodel.getEntityDescriptor(role.getFullPath())).thenReturn(persister);
+        DomainDataRegionBuildingContext buildingContext = mock(DomainDataRegionBuildingContext.class);
+        when(buildingContext.getSessionFactory()).thenReturn(sessionFactory);
+        return (LocalStorageAccess) regionFactory.createDomainDataStorageAccess(config, buildingContext);
+    }
+}
@@ -0,0 +1,134 @@
+package com.tudai.monopatines.accounts.accounts_services.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aplica las migraciones (V1 en adelante) sobre una base con el schema y los datos que dejaba
+ * Hibernate antes de las migraciones (test/resources/db/baseline_schema.sql) y verifica que
+ * termine con el schema de las migraciones y los saldos pasados a centavos, o que no inicie si
+ * una tabla existente no coincide con la que crea V1.
+ *
+ * Requiere la base MariaDB configurada y un usuario con permiso para crear la base
+ * accounts_db_migration_test, que se crea de cero en cada test y se elimina al terminar.
+ */
+class SchemaMigratorTest {
+
+    private static final String DATABASE = "accounts_db_migration_test";
+
+    private JdbcTemplate server;
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createDatabase() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        String url = properties.getProperty("spring.datasource.url");
+        String serverUrl = url.substring(0, url.lastIndexOf('/') + 1);
+        String username = properties.getProperty("spring.datasource.username");
+        String password = properties.getProperty("spring.datasource.password");
+
+        server = new JdbcTemplate(new DriverManagerDataSource(serverUrl, username, password));
+        server.execute("DROP DATABASE IF EXISTS " + DATABASE);
+        server.execute("CREATE DATABASE " + DATABASE);
+        dataSource = new DriverManagerDataSource(serverUrl + DATABASE, username, password);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        server.execute("DROP DATABASE IF EXISTS " + DATABASE);
+    }
+
+    @Test
+    void migratesBaselineDatabase() throws Exception {
+        createBaselineSchema();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO accounts (id, identification_number, mercado_pago_account_id, " +
+                "current_balance, active, created_at) VALUES (1, 'ACC-1', 'MP-1', 12.34, 1, ?)", now);
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, phone_number, password, created_at) " +
+                "VALUES (1, 'Ana', 'Perez', 'ana@example.com', '+5491100000000', 'hash', ?)", now);
+        jdbcTemplate.update("INSERT INTO roles (id, name) VALUES (1, 'ROLE_USER')");
+        jdbcTemplate.update("INSERT INTO user_roles (id, user_id, role_id, assigned_at) VALUES (1, 1, 1, ?)", now);
+        jdbcTemplate.update("INSERT INTO account_user (id, account_id, user_id, associated_at) VALUES (1, 1, 1, ?)",
+                now);
+
+        migrate();
+
+        assertEquals(migrationCount(),
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class));
+        assertEquals(1234L, jdbcTemplate.queryForObject(
+                "SELECT current_balance_cents FROM accounts WHERE id = 1", Long.class));
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "SELECT held_balance_cents FROM accounts WHERE id = 1", Long.class));
+        assertFalse(columns("accounts").contains("current_balance"));
+        assertFalse(columns("balance_movements").contains("amount"));
+
+        // Los INSERT que genera Hibernate con las entidades actuales
+        jdbcTemplate.update("INSERT INTO accounts (id, identification_number, mercado_pago_account_id, " +
+                "current_balance_cents, held_balance_cents, active, created_at) VALUES (2, 'ACC-2', 'MP-2', 0, 0, 1, ?)",
+                now);
+        jdbcTemplate.update("INSERT INTO balance_movements (account_id, type, amount_cents, applied, created_at) " +
+                "VALUES (1, 'CREDIT', 500, 0, ?)", now);
+
+        // Una segunda ejecución no vuelve a aplicar nada
+        assertDoesNotThrow(this::migrate);
+    }
+
+    @Test
+    void rejectsExistingTableThatDoesNotMatchScript() throws Exception {
+        createBaselineSchema();
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN phone_number");
+        jdbcTemplate.execute("ALTER TABLE roles ADD COLUMN code VARCHAR(20) NOT NULL");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, this::migrate);
+
+        assertTrue(ex.getMessage().contains("table users existed before V1__initial_schema.sql"));
+        assertTrue(ex.getMessage().contains("missing column phone_number"));
+        assertTrue(ex.getMessage().contains("column code is NOT NULL without default"));
+        // Nada queda registrado: las migraciones se repiten y se vuelve a comparar en el próximo inicio
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class));
+        assertThrows(IllegalStateException.class, this::migrate);
+    }
+
+    private void createBaselineSchema() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/baseline_schema.sql"));
+        }
+    }
+
+    private void migrate() throws Exception {
+        SchemaMigrator migrator = new SchemaMigrator();
+        ReflectionTestUtils.setField(migrator, "dataSource", dataSource);
+        migrator.migrate();
+    }
+
+    private int migrationCount() throws Exception {
+        return new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql").length;
+    }
+
+    private List<String> columns(String table) {
+        return jdbcTemplate.queryForList("SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = ? AND table_name = ?", String.class, DATABASE, table);
+    }
+}
@@ -0,0 +1,123 @@
+package com.tudai.monopatines.accounts.accounts_services.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.accounts.accounts_services.dto.AccountPageResponse;
+import com.tudai.monopatines.accounts.accounts_services.dto.AccountResponse;
+import com.tudai.monopatines.accounts.accounts_services.service.AccountService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class AccountControllerListingTest {
+
+    @Mock
+    private AccountService accountService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AccountController controller = new AccountController();
+        ReflectionTestUtils.setField(controller, "accountService", accountService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "streamExecutor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(controller, "streamTimeoutMs", 5000L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void listingWithoutCursorKeepsListShape() throws Exception {
+        streamAccounts(false, account(1L), account(2L));
+
+        mockMvc.perform(get("/api/accounts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void activeListingWithoutCursorKeepsListShape() throws Exception {
+        streamAccounts(true, account(3L));
+
+        mockMvc.perform(get("/api/accounts/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3));
+    }
+
+    @Test
+    void listingWithCursorReturnsPage() throws Exception {
+        when(accountService.getAllAccounts(10L, 100))
+                .thenReturn(new AccountPageResponse(List.of(account(11L)), 11L));
+
+        mockMvc.perform(get("/api/accounts").param("afterId", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(11))
+                .andExpect(jsonPath("$.nextAfterId").value(11));
+    }
+
+    @Test
+    void listingWithLimitReturnsPage() throws Exception {
+        when(accountService.getActiveAccounts(null, 5))
+                .thenReturn(new AccountPageResponse(List.of(account(1L)), null));
+
+        mockMvc.perform(get("/api/accounts/active").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1));
+    }
+
+    @Test
+    void ndjsonStreamsOneAccountPerLine() throws Exception {
+        streamAccounts(false, account(1L), account(2L));
+
+        MvcResult result = mockMvc.perform(get("/api/accounts").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(2L, new ObjectMapper().readTree(lines[1]).get("id").asLong());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamAccounts(boolean activeOnly, AccountResponse... accounts) {
+        doAnswer(invocation -> {
+            Consumer<AccountResponse> consumer = invocation.getArgument(1);
+            for (AccountResponse account : accounts) {
+                consumer.accept(account);
+            }
+            return null;
+        }).when(accountService).streamAccounts(eq(activeOnly), any(Consumer.class));
+    }
+
+    private AccountResponse account(Long id) {
+        AccountResponse account = new AccountResponse();
+        account.setId(id);
+        return account;
+    }
+}
@@ -0,0 +1,91 @@
+package com.tudai.monopatines.accounts.accounts_services.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.accounts.accounts_services.service.GatewayIdentityVerifier;
+import com.tudai.monopatines.accounts.accounts_services.service.JwtPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogFilterTest {
+
+    @Mock
+    private GatewayIdentityVerifier gatewayIdentityVerifier;
+
+    private final AccessLogFilter accessLogFilter = new AccessLogFilter(1.0, 1000, "");
+    private final JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger accessLog = (Logger) LoggerFactory.getLogger("access-log");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtAuthenticationFilter, "gatewayIdentityVerifier", gatewayIdentityVerifier);
+        appender.start();
+        accessLog.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLog.detachAppender(appender);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void logsTheAuthenticatedUser() throws Exception {
+        when(gatewayIdentityVerifier.resolve(any())).thenReturn(Optional.of(
+                new JwtPrincipal(42L, List.of(new SimpleGrantedAuthority("ROLE_USER")), null)));
+
+        JsonNode entry = filter(new MockHttpServletRequest("GET", "/api/accounts/1"));
+
+        assertEquals(42L, entry.get("userId").asLong());
+    }
+
+    @Test
+    void ignoresUnverifiedUserIdHeader() throws Exception {
+        when(gatewayIdentityVerifier.resolve(any())).thenReturn(Optional.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts/1");
+        request.addHeader(GatewayIdentityVerifier.USER_ID_HEADER, "7");
+
+        JsonNode entry = filter(request);
+
+        assertTrue(entry.get("userId").isNull());
+    }
+
+    /**
+     * Ejecuta AccessLogFilter alrededor de JwtAuthenticationFilter y, como la cadena de seguridad,
+     * limpia el SecurityContextHolder al terminar.
+     */
+    private JsonNode filter(MockHttpServletRequest request) throws Exception {
+        accessLogFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                jwtAuthenticationFilter.doFilter(req, res, (innerReq, innerRes) -> { });
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+        assertEquals(1, appender.list.size());
+        return new ObjectMapper().readTree(appender.list.get(0).getFormattedMessage());
+    }
+}
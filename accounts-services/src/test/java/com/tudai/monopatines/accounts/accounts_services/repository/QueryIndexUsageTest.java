@@ -0,0 +1,476 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.CacheInvalidationChannel;
+import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+import com.tudai.monopatines.accounts.accounts_services.entity.Role;
+import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Ejecuta cada consulta de los repositorios (y de CacheInvalidationChannel) contra tablas con
+ * filas sembradas, captura el SQL que Hibernate y JdbcTemplate envían realmente a la base, con
+ * sus parámetros, y falla si el plan de EXPLAIN de alguna recorre una tabla completa (tipo ALL
+ * o index). La única excepción es el catálogo fijo de roles, de pocas filas, en los JOIN.
+ *
+ * Se siembran {@value #ROWS} filas por tabla con una distribución parecida a la real (pocas
+ * cuentas anuladas, pocos movimientos pendientes y reservas activas, pocas claves e
+ * invalidaciones vencidas), así el optimizador solo elige el índice si los filtros son
+ * selectivos y existe uno aplicable. Las filas se insertan con SQL directo sobre el schema de
+ * las migraciones: en una base creada antes por Hibernate, V4 ya eliminó las columnas DOUBLE
+ * current_balance y amount NOT NULL que harían fallar estos INSERT.
+ *
+ * Las consultas que recorren toda la tabla a propósito (streamAllOrderById, findAll,
+ * findByActiveTrue y streamActiveOrderById, que devuelven casi todas las cuentas) no se incluyen.
+ *
+ * Requiere la base MariaDB configurada, como AccountsServicesApplicationTests.
+ */
+@SpringBootTest(properties = {
+        // Los jobs programados no deben modificar las filas sembradas mientras corre el test
+        "app.balance.snapshot.interval-ms=3600000",
+        "app.balance.holds.sweep.interval-ms=3600000",
+        "app.idempotency.purge-interval-ms=3600000",
+        "app.cache.invalidation.purge-interval-ms=3600000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTest {
+
+    private static final long BASE_ID = 900_000_000L;
+    private static final int ROWS = 5000;
+    private static final String SEED_PREFIX = "idx-test-";
+    private static final String SEED_INSTANCE = "00000000-0000-0000-0000-000000000000";
+
+    // Cuenta (y usuario) activa con un movimiento pendiente
+    private static final long ACCOUNT_ID = BASE_ID + 1;
+    private static final long USER_ID = BASE_ID + 1;
+
+    // Catálogos de pocas filas que pueden leerse completos en un JOIN
+    private static final Set<String> SMALL_TABLES = Set.of("roles");
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private AccountUserRepository accountUserRepository;
+
+    @Autowired
+    private BalanceMovementRepository balanceMovementRepository;
+
+    @Autowired
+    private BalanceHoldRepository balanceHoldRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private CacheInvalidationChannel cacheInvalidationChannel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long roleUserId;
+    private long heldHoldId;
+    private List<Long> movementIds;
+    private List<Long> holdIds;
+
+    @BeforeAll
+    void seed() {
+        deleteSeededRows();
+        roleUserId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, "ROLE_USER");
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp old = Timestamp.valueOf(LocalDateTime.now().minusDays(2));
+        Timestamp future = Timestamp.valueOf(LocalDateTime.now().plusHours(2));
+        List<Object[]> accounts = new ArrayList<>(ROWS);
+        List<Object[]> users = new ArrayList<>(ROWS);
+        List<Object[]> userRoles = new ArrayList<>(ROWS);
+        List<Object[]> accountUsers = new ArrayList<>(ROWS);
+        List<Object[]> movements = new ArrayList<>(ROWS * 4);
+        List<Object[]> holds = new ArrayList<>(ROWS);
+        List<Object[]> idempotencyKeys = new ArrayList<>(ROWS);
+        List<Object[]> invalidations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            long id = BASE_ID + i;
+            boolean active = i % 100 != 0;
+            accounts.add(new Object[]{id, SEED_PREFIX + i, "MP-" + i, 10_000L, 0L, active, now,
+                    active ? null : now});
+            users.add(new Object[]{id, "Index", "Test", SEED_PREFIX + i + "@example.com", "+5491100000000",
+                    "hash", now});
+            userRoles.add(new Object[]{id, id, roleUserId, now});
+            accountUsers.add(new Object[]{id, id, id, now});
+            for (int j = 0; j < 4; j++) {
+                boolean applied = !(j == 0 && i % 100 == 1);
+                movements.add(new Object[]{id, 100L, applied, now, applied ? now : null});
+            }
+            String status = i % 50 == 2 ? "HELD" : "CAPTURED";
+            holds.add(new Object[]{id, 500L, status, now, i % 100 == 2 ? now : future});
+            boolean expired = i % 100 == 3;
+            idempotencyKeys.add(new Object[]{SEED_PREFIX + i, id, 100L, 10_000L, expired ? old : now});
+            invalidations.add(new Object[]{SEED_INSTANCE, "accounts", String.valueOf(id), expired ? old : now});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO accounts (id, identification_number, mercado_pago_account_id, " +
+                "current_balance_cents, held_balance_cents, active, created_at, cancelled_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, first_name, last_name, email, phone_number, password, " +
+                "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (id, user_id, role_id, assigned_at) VALUES (?, ?, ?, ?)",
+                userRoles);
+        jdbcTemplate.batchUpdate("INSERT INTO account_user (id, account_id, user_id, associated_at) " +
+                "VALUES (?, ?, ?, ?)", accountUsers);
+        jdbcTemplate.batchUpdate("INSERT INTO balance_movements (account_id, type, amount_cents, applied, " +
+                "created_at, applied_at) VALUES (?, 'CREDIT', ?, ?, ?, ?)", movements);
+        jdbcTemplate.batchUpdate("INSERT INTO balance_holds (account_id, amount_cents, status, created_at, " +
+                "expires_at) VALUES (?, ?, ?, ?, ?)", holds);
+        jdbcTemplate.batchUpdate("INSERT INTO idempotency_keys (idempotency_key, operation, account_id, " +
+                "amount_cents, balance_cents, created_at) VALUES (?, 'CREDIT', ?, ?, ?, ?)", idempotencyKeys);
+        jdbcTemplate.batchUpdate("INSERT INTO cache_invalidations (instance_id, region, entity_key, created_at) " +
+                "VALUES (?, ?, ?, ?)", invalidations);
+        // Estadísticas actualizadas para que el optimizador conozca la selectividad de cada índice
+        jdbcTemplate.queryForList("ANALYZE TABLE accounts, users, user_roles, account_user, balance_movements, " +
+                "balance_holds, idempotency_keys, cache_invalidations");
+
+        heldHoldId = jdbcTemplate.queryForObject("SELECT id FROM balance_holds WHERE account_id = ?",
+                Long.class, BASE_ID + 52);
+        movementIds = jdbcTemplate.queryForList("SELECT id FROM balance_movements WHERE account_id = ?",
+                Long.class, ACCOUNT_ID);
+        holdIds = jdbcTemplate.queryForList("SELECT id FROM balance_holds WHERE account_id IN (?, ?, ?)",
+                Long.class, BASE_ID + 2, BASE_ID + 52, BASE_ID + 102);
+    }
+
+    @AfterAll
+    void deleteSeededRows() {
+        jdbcTemplate.update("DELETE FROM cache_invalidations WHERE instance_id = ?", SEED_INSTANCE);
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM balance_holds WHERE account_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM balance_movements WHERE account_id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM account_user WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM user_roles WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM users WHERE id >= ?", BASE_ID);
+        jdbcTemplate.update("DELETE FROM accounts WHERE id >= ?", BASE_ID);
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        // Las cuentas y los usuarios sembrados comparten IDs
+        List<Long> ids = List.of(ACCOUNT_ID, ACCOUNT_ID + 1, ACCOUNT_ID + 2);
+        return Stream.of(
+                // AccountRepository
+                query("Account.existsByIdentificationNumber",
+                        () -> accountRepository.existsByIdentificationNumber(SEED_PREFIX + 1)),
+                query("Account.findByIdentificationNumber",
+                        () -> accountRepository.findByIdentificationNumber(SEED_PREFIX + 1)),
+                query("Account.findByActiveFalse",
+                        () -> accountRepository.findByActiveFalse()),
+                query("Account.findByIdGreaterThanOrderByIdAsc",
+                        () -> accountRepository.findByIdGreaterThanOrderByIdAsc(BASE_ID, Limit.of(100))),
+                query("Account.findByActiveTrueAndIdGreaterThanOrderByIdAsc",
+                        () -> accountRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(BASE_ID, Limit.of(100))),
+                query("Account.addToBalanceIfActive",
+                        () -> accountRepository.addToBalanceIfActive(ACCOUNT_ID, 100L)),
+                query("Account.addToBalance",
+                        () -> accountRepository.addToBalance(ACCOUNT_ID, 100L)),
+                query("Account.subtractFromBalanceIfSufficient",
+                        () -> accountRepository.subtractFromBalanceIfSufficient(ACCOUNT_ID, 100L)),
+                query("Account.holdBalanceIfAvailable",
+                        () -> accountRepository.holdBalanceIfAvailable(ACCOUNT_ID, 100L)),
+                query("Account.captureHeldBalance",
+                        () -> accountRepository.captureHeldBalance(ACCOUNT_ID, 0L, 100L)),
+                query("Account.releaseHeldBalance",
+                        () -> accountRepository.releaseHeldBalance(ACCOUNT_ID, 0L)),
+                query("Account.findAllByIdForUpdate",
+                        () -> accountRepository.findAllByIdForUpdate(ids)),
+                // UserRepository
+                query("User.findByEmail",
+                        () -> userRepository.findByEmail(SEED_PREFIX + 1 + "@example.com")),
+                query("User.existsByEmail",
+                        () -> userRepository.existsByEmail(SEED_PREFIX + 1 + "@example.com")),
+                query("User.updatePasswordIfUnchanged",
+                        () -> userRepository.updatePasswordIfUnchanged(USER_ID, "hash", "rehash")),
+                // RoleRepository
+                query("Role.findByName",
+                        () -> roleRepository.findByName("ROLE_USER")),
+                // UserRoleRepository
+                query("UserRole.findByUser",
+                        () -> userRoleRepository.findByUser(user(USER_ID))),
+                query("UserRole.findByUserId",
+                        () -> userRoleRepository.findByUserId(USER_ID)),
+                query("UserRole.findRoleNamesByUserId",
+                        () -> userRoleRepository.findRoleNamesByUserId(USER_ID)),
+                query("UserRole.findRoleNamesByUserIds",
+                        () -> userRoleRepository.findRoleNamesByUserIds(ids)),
+                query("UserRole.findByUserAndRole",
+                        () -> userRoleRepository.findByUserAndRole(user(USER_ID), role(roleUserId))),
+                query("UserRole.existsByUserAndRole",
+                        () -> userRoleRepository.existsByUserAndRole(user(USER_ID), role(roleUserId))),
+                // AccountUserRepository
+                query("AccountUser.findByAccount",
+                        () -> accountUserRepository.findByAccount(account(ACCOUNT_ID))),
+                query("AccountUser.findByUser",
+                        () -> accountUserRepository.findByUser(user(USER_ID))),
+                query("AccountUser.findByAccountIdFetchUser",
+                        () -> accountUserRepository.findByAccountIdFetchUser(ACCOUNT_ID)),
+                query("AccountUser.findByUserIdFetchAccount",
+                        () -> accountUserRepository.findByUserIdFetchAccount(USER_ID)),
+                query("AccountUser.findByAccountAndUser",
+                        () -> accountUserRepository.findByAccountAndUser(account(ACCOUNT_ID), user(USER_ID))),
+                query("AccountUser.existsByAccountAndUser",
+                        () -> accountUserRepository.existsByAccountAndUser(account(ACCOUNT_ID), user(USER_ID))),
+                // BalanceMovementRepository
+                query("BalanceMovement.sumPendingAmountByAccountId",
+                        () -> balanceMovementRepository.sumPendingAmountByAccountId(ACCOUNT_ID)),
+                query("BalanceMovement.sumPendingAmountByAccountIds",
+                        () -> balanceMovementRepository.sumPendingAmountByAccountIds(ids)),
+                query("BalanceMovement.findAccountIdsWithPendingMovements",
+                        () -> balanceMovementRepository.findAccountIdsWithPendingMovements(PageRequest.of(0, 500))),
+                query("BalanceMovement.findByAccountIdAndAppliedFalseOrderByIdAsc",
+                        () -> balanceMovementRepository.findByAccountIdAndAppliedFalseOrderByIdAsc(ACCOUNT_ID)),
+                query("BalanceMovement.markApplied",
+                        () -> balanceMovementRepository.markApplied(movementIds, now)),
+                // BalanceHoldRepository
+                query("BalanceHold.closeIfHeld",
+                        () -> balanceHoldRepository.closeIfHeld(heldHoldId, BalanceHold.HoldStatus.RELEASED, null, now)),
+                query("BalanceHold.captureIfActive",
+                        () -> balanceHoldRepository.captureIfActive(heldHoldId, 100L, now)),
+                query("BalanceHold.findExpiredForUpdate",
+                        () -> balanceHoldRepository.findExpiredForUpdate(now, PageRequest.of(0, 500))),
+                query("BalanceHold.markExpired",
+                        () -> balanceHoldRepository.markExpired(holdIds, now)),
+                // IdempotencyKeyRepository
+                query("IdempotencyKey.deleteByCreatedAtBefore",
+                        () -> idempotencyKeyRepository.deleteByCreatedAtBefore(now.minusHours(24))),
+                // CacheInvalidationChannel
+                query("CacheInvalidation.synchronize",
+                        () -> cacheInvalidationChannel.synchronize()),
+                query("CacheInvalidation.purge",
+                        () -> cacheInvalidationChannel.purge())
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryUsesAnIndex(String query, Runnable call) {
+        // Sin cache de segundo nivel ni de queries, para que la consulta llegue a la base
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        List<CapturedStatement> statements = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            // Los UPDATE y DELETE no deben modificar las filas sembradas
+            status.setRollbackOnly();
+            StatementCapture.start();
+            try {
+                call.run();
+            } finally {
+                statements.addAll(StatementCapture.stop());
+            }
+        });
+
+        List<CapturedStatement> explainable = statements.stream().filter(CapturedStatement::explainable).toList();
+        assertFalse(explainable.isEmpty(), query + " did not send any query to the database");
+        for (CapturedStatement statement : explainable) {
+            Set<String> smallTables = smallTableNames(statement.sql());
+            List<Map<String, Object>> plan =
+                    jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), statement.parameters().toArray());
+            for (Map<String, Object> row : plan) {
+                Object accessType = row.get("type");
+                boolean fullScan = "ALL".equals(accessType) || "index".equals(accessType);
+                assertFalse(fullScan && !smallTables.contains(String.valueOf(row.get("table"))),
+                        query + " scans table " + row.get("table") + ": " + statement.sql() + " " + row);
+            }
+        }
+    }
+
+    private static Arguments query(String name, Runnable call) {
+        return Arguments.of(name, call);
+    }
+
+    /**
+     * Nombres con los que EXPLAIN informa las tablas de SMALL_TABLES: el de la tabla y el alias
+     * que le asigna Hibernate en la consulta.
+     */
+    private static Set<String> smallTableNames(String sql) {
+        Set<String> names = new HashSet<>(SMALL_TABLES);
+        for (String table : SMALL_TABLES) {
+            Matcher matcher = Pattern.compile("\\b" + table + "\\s+(?:as\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE)
+                    .matcher(sql);
+            while (matcher.find()) {
+                names.add(matcher.group(1));
+            }
+        }
+        return names;
+    }
+
+    private Account account(long id) {
+        return entityManager.getReference(Account.class, id);
+    }
+
+    private User user(long id) {
+        return entityManager.getReference(User.class, id);
+    }
+
+    private Role role(long id) {
+        return entityManager.getReference(Role.class, id);
+    }
+
+    /**
+     * Envuelve el DataSource de la aplicación para capturar las sentencias que envían Hibernate
+     * y JdbcTemplate. Un StatementInspector de Hibernate no alcanza: no ve los parámetros, que
+     * EXPLAIN necesita para estimar la selectividad, ni el SQL de JdbcTemplate.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCaptureDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private record CapturedStatement(String sql, List<Object> parameters) {
+
+        boolean explainable() {
+            String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+            return statement.startsWith("select") || statement.startsWith("update") || statement.startsWith("delete");
+        }
+    }
+
+    /**
+     * Registra las sentencias ejecutadas por el hilo actual entre start() y stop(); las de otros
+     * hilos (jobs programados) y las que se ejecutan fuera de ese intervalo se ignoran.
+     */
+    private static final class StatementCapture {
+
+        private static final ThreadLocal<List<CapturedStatement>> captured = new ThreadLocal<>();
+
+        static void start() {
+            captured.set(new ArrayList<>());
+        }
+
+        static List<CapturedStatement> stop() {
+            List<CapturedStatement> statements = captured.get();
+            captured.remove();
+            return statements;
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof PreparedStatement statement && args[0] instanceof String sql) {
+                    return wrap(statement, method.getReturnType(), sql);
+                }
+                if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                    return wrap(statement, Statement.class, null);
+                }
+                return result;
+            });
+        }
+
+        /**
+         * @param sql SQL de la sentencia preparada, o null para un Statement que recibe el SQL al ejecutarse
+         */
+        private static Statement wrap(Statement statement, Class<?> type, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (Statement) proxy(type, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    Object value = name.equals("setNull") ? null : args[1];
+                    parameters.put(index, value instanceof Enum<?> constant ? constant.name() : value);
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                    List<CapturedStatement> statements = captured.get();
+                    if (statements != null && sql != null) {
+                        statements.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+                    } else if (statements != null && args != null && args[0] instanceof String executed) {
+                        statements.add(new CapturedStatement(executed, List.of()));
+                    }
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(StatementCapture.class.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.tudai.monopatines.accounts.accounts_services.repository;
+
+import com.tudai.monopatines.accounts.accounts_services.benchmark.BenchmarkTimer;
+import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mide el throughput de inserción de usuarios por JPA contra la base configurada.
+ *
+ * Requiere MariaDB y se ejecuta solo a pedido:
+ * mvn test -Dtest=UserBulkInsertBenchmarkTest -Dbenchmark=true [-Dbenchmark.users=100000]
+ *
+ * Para comparar con la inserción de a una fila, correr con
+ * -Dspring.jpa.properties.hibernate.jdbc.batch_size=1.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserBulkInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkInsertBenchmarkTest.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String emailPrefix = "bench-" + System.currentTimeMillis() + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPrefix + "%");
+    }
+
+    @Test
+    void insertUsers() {
+        int total = Integer.getInteger("benchmark.users", 100_000);
+
+        // Una sola ronda: repetirla insertaría otros usuarios y mediría una tabla más grande
+        long elapsedMs = BenchmarkTimer.time(() -> {
+            for (int offset = 0; offset < total; offset += CHUNK_SIZE) {
+                List<User> chunk = new ArrayList<>(CHUNK_SIZE);
+                for (int i = offset; i < Math.min(offset + CHUNK_SIZE, total); i++) {
+                    chunk.add(new User("Bench", "User", emailPrefix + i + "@example.com", "+5491100000000"));
+                }
+                transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(chunk));
+            }
+        }) / 1_000_000;
+
+        logger.info("Insertados {} usuarios en {} ms ({} usuarios/s)",
+                total, elapsedMs, String.format("%.0f", total * 1000.0 / Math.max(elapsedMs, 1)));
+        assertEquals(total, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, emailPrefix + "%"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.cache.AccountCacheEvictor;
+import com.tudai.monopatines.accounts.accounts_services.dto.HoldResponse;
+import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import com.tudai.monopatines.accounts.accounts_services.entity.BalanceHold;
+import com.tudai.monopatines.accounts.accounts_services.exception.BalanceHoldNotActiveException;
+import com.tudai.monopatines.accounts.accounts_services.exception.InsufficientBalanceException;
+import com.tudai.monopatines.accounts.accounts_services.repository.AccountRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.BalanceHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountServiceImplHoldTest {
+
+    private static final Long HOLD_ID = 10L;
+    private static final Long ACCOUNT_ID = 1L;
+    private static final long HELD = 500L;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private BalanceHoldRepository balanceHoldRepository;
+
+    @Mock
+    private BalanceLedgerService balanceLedgerService;
+
+    @Mock
+    private AccountCacheEvictor accountCacheEvictor;
+
+    private AccountServiceImpl accountService;
+
+    @BeforeEach
+    void setUp() {
+        accountService = new AccountServiceImpl();
+        ReflectionTestUtils.setField(accountService, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(accountService, "balanceHoldRepository", balanceHoldRepository);
+        ReflectionTestUtils.setField(accountService, "balanceLedgerService", balanceLedgerService);
+        ReflectionTestUtils.setField(accountService, "accountCacheEvictor", accountCacheEvictor);
+    }
+
+    @Test
+    void captureOfExpiredHoldIsRejected() {
+        BalanceHold hold = hold(BalanceHold.HoldStatus.HELD, LocalDateTime.now().minusMinutes(1));
+        when(balanceHoldRepository.findById(HOLD_ID)).thenReturn(Optional.of(hold));
+        when(balanceHoldRepository.captureIfActive(eq(HOLD_ID), eq(400L), any())).thenReturn(0);
+
+        BalanceHoldNotActiveException ex = assertThrows(BalanceHoldNotActiveException.class,
+                () -> accountService.captureHold(HOLD_ID, 400L));
+
+        assertTrue(ex.getMessage().contains("expired"));
+        verify(accountRepository, never()).captureHeldBalance(anyLong(), anyLong(), anyLong());
+        verify(balanceLedgerService, never()).recordDebit(anyLong(), anyLong());
+    }
+
+    @Test
+    void captureChecksExpiryAgainstCurrentTime() {
+        BalanceHold hold = hold(BalanceHold.HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        when(balanceHoldRepository.findById(HOLD_ID)).thenReturn(Optional.of(hold));
+        when(balanceHoldRepository.captureIfActive(eq(HOLD_ID), eq(400L), any())).thenReturn(1);
+        when(accountRepository.captureHeldBalance(ACCOUNT_ID, HELD, 400L)).thenReturn(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        accountService.captureHold(HOLD_ID, 400L);
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(balanceHoldRepository).captureIfActive(eq(HOLD_ID), eq(400L), now.capture());
+        assertTrue(!now.getValue().isBefore(before) && !now.getValue().isAfter(LocalDateTime.now()));
+        verify(balanceLedgerService).recordDebit(ACCOUNT_ID, 400L);
+    }
+
+    @Test
+    void secondCaptureIsRejected() {
+        BalanceHold hold = hold(BalanceHold.HoldStatus.CAPTURED, LocalDateTime.now().plusMinutes(5));
+        when(balanceHoldRepository.findById(HOLD_ID)).thenReturn(Optional.of(hold));
+        when(balanceHoldRepository.captureIfActive(eq(HOLD_ID), eq(400L), any())).thenReturn(0);
+
+        BalanceHoldNotActiveException ex = assertThrows(BalanceHoldNotActiveException.class,
+                () -> accountService.captureHold(HOLD_ID, 400L));
+
+        assertTrue(ex.getMessage().contains("CAPTURED"));
+        verify(accountRepository, never()).captureHeldBalance(anyLong(), anyLong(), anyLong());
+        verify(balanceLedgerService, never()).recordDebit(anyLong(), anyLong());
+    }
+
+    @Test
+    void overCaptureWithinAvailableBalanceIsApplied() {
+        BalanceHold hold = hold(BalanceHold.HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        when(balanceHoldRepository.findById(HOLD_ID)).thenReturn(Optional.of(hold));
+        when(balanceHoldRepository.captureIfActive(eq(HOLD_ID), eq(800L), any())).thenReturn(1);
+        when(accountRepository.captureHeldBalance(ACCOUNT_ID, HELD, 800L)).thenReturn(1);
+
+        HoldResponse response = accountService.captureHold(HOLD_ID, 800L);
+
+        assertEquals(HOLD_ID, response.getId());
+        verify(accountCacheEvictor).evict(ACCOUNT_ID);
+        verify(balanceLedgerService).recordDebit(ACCOUNT_ID, 800L);
+    }
+
+    @Test
+    void overCaptureBeyondAvailableBalanceIsRejected() {
+        BalanceHold hold = hold(BalanceHold.HoldStatus.HELD, LocalDateTime.now().plusMinutes(5));
+        when(balanceHoldRepository.findById(HOLD_ID)).thenReturn(Optional.of(hold));
+        when(balanceHoldRepository.captureIfActive(eq(HOLD_ID), eq(2000L), any())).thenReturn(1);
+        when(accountRepository.captureHeldBalance(ACCOUNT_ID, HELD, 2000L)).thenReturn(0);
+        when(balanceLedgerService.foldPendingMovements(ACCOUNT_ID)).thenReturn(0L);
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        account.setCurrentBalance(1000L);
+        account.setHeldBalance(HELD);
+        when(accountRepository.findById(ACCOUNT_ID)).thenReturn(Optional.of(account));
+
+        assertThrows(InsufficientBalanceException.class, () -> accountService.captureHold(HOLD_ID, 2000L));
+
+        verify(balanceLedgerService, never()).recordDebit(anyLong(), anyLong());
+        verify(accountCacheEvictor, never()).evict(ACCOUNT_ID);
+    }
+
+    private BalanceHold hold(BalanceHold.HoldStatus status, LocalDateTime expiresAt) {
+        BalanceHold hold = new BalanceHold(ACCOUNT_ID, HELD, expiresAt);
+        hold.setId(HOLD_ID);
+        hold.setStatus(status);
+        return hold;
+    }
+}
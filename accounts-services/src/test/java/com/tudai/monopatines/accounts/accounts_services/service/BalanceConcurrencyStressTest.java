@@ -0,0 +1,104 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.entity.Account;
+import com.tudai.monopatines.accounts.accounts_services.exception.InsufficientBalanceException;
+import com.tudai.monopatines.accounts.accounts_services.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dispara miles de descuentos en paralelo sobre una misma cuenta y verifica que no se pierda
+ * ninguna actualización ni el saldo quede negativo.
+ *
+ * Requiere MariaDB y se ejecuta solo a pedido:
+ * mvn test -Dtest=BalanceConcurrencyStressTest -Dstress=true [-Dstress.deductions=5000]
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "stress", matches = "true")
+class BalanceConcurrencyStressTest {
+
+    private static final long AMOUNT = 100L;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long accountId;
+
+    @AfterEach
+    void cleanUp() {
+        if (accountId == null) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM balance_movements WHERE account_id = ?", accountId);
+        jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", accountId);
+    }
+
+    @Test
+    void parallelDeductionsNeverOverdraw() throws Exception {
+        int deductions = Integer.getInteger("stress.deductions", 5000);
+        // Alcanza para la mitad de los descuentos: la otra mitad tiene que ser rechazada
+        long initialBalance = (deductions / 2) * AMOUNT;
+        Account account = new Account("STRESS-" + System.currentTimeMillis(), "MP-STRESS");
+        account.setCurrentBalance(initialBalance);
+        accountId = accountRepository.save(account).getId();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(deductions);
+        try {
+            for (int i = 0; i < deductions; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        accountService.deductBalance(accountId, AMOUNT, null);
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long finalBalance = jdbcTemplate.queryForObject(
+                "SELECT current_balance_cents FROM accounts WHERE id = ?", Long.class, accountId);
+        assertTrue(finalBalance >= 0, "Balance went negative: " + finalBalance);
+        assertEquals(deductions / 2, succeeded.get());
+        assertEquals(deductions - deductions / 2, rejected.get());
+        assertEquals(initialBalance - succeeded.get() * AMOUNT, finalBalance);
+        assertEquals(succeeded.get(), jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balance_movements WHERE account_id = ? AND type = 'DEBIT'",
+                Integer.class, accountId));
+    }
+}
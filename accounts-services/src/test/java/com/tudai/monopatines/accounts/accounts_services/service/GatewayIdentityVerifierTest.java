@@ -0,0 +1,90 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que GatewayIdentityVerifier acepte solo identidades firmadas por el gateway y vigentes.
+ */
+class GatewayIdentityVerifierTest {
+
+    private static final String SECRET = "secreto-compartido-de-prueba";
+
+    private GatewayIdentityVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new GatewayIdentityVerifier();
+        ReflectionTestUtils.setField(verifier, "secret", SECRET);
+        verifier.init();
+    }
+
+    @Test
+    void acceptsSignedIdentity() throws Exception {
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+        MockHttpServletRequest request = signedRequest("42", "ROLE_USER,ROLE_ADMIN", expires, SECRET);
+
+        Optional<JwtPrincipal> principal = verifier.resolve(request);
+
+        assertTrue(principal.isPresent());
+        assertEquals(42L, principal.get().getUserId());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")),
+                principal.get().getAuthorities());
+    }
+
+    @Test
+    void rejectsForgedTamperedOrExpiredIdentity() throws Exception {
+        long future = Instant.now().plusSeconds(60).getEpochSecond();
+
+        assertTrue(verifier.resolve(signedRequest("42", "ROLE_USER", future, "otro-secreto")).isEmpty());
+
+        MockHttpServletRequest tampered = signedRequest("42", "ROLE_USER", future, SECRET);
+        tampered.removeHeader(GatewayIdentityVerifier.ROLES_HEADER);
+        tampered.addHeader(GatewayIdentityVerifier.ROLES_HEADER, "ROLE_ADMIN");
+        assertTrue(verifier.resolve(tampered).isEmpty());
+
+        long past = Instant.now().minusSeconds(1).getEpochSecond();
+        assertTrue(verifier.resolve(signedRequest("42", "ROLE_USER", past, SECRET)).isEmpty());
+
+        assertTrue(verifier.resolve(new MockHttpServletRequest()).isEmpty());
+    }
+
+    @Test
+    void ignoresIdentityWhenSecretIsNotConfigured() throws Exception {
+        GatewayIdentityVerifier disabled = new GatewayIdentityVerifier();
+        ReflectionTestUtils.setField(disabled, "secret", "");
+        disabled.init();
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+
+        assertTrue(disabled.resolve(signedRequest("42", "ROLE_ADMIN", expires, SECRET)).isEmpty());
+    }
+
+    private static MockHttpServletRequest signedRequest(String userId, String roles, long expires, String secret)
+            throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((userId + "|" + roles + "|" + expires).getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayIdentityVerifier.USER_ID_HEADER, userId);
+        request.addHeader(GatewayIdentityVerifier.ROLES_HEADER, roles);
+        request.addHeader(GatewayIdentityVerifier.EXPIRES_HEADER, String.valueOf(expires));
+        request.addHeader(GatewayIdentityVerifier.SIGNATURE_HEADER,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.dto.BalanceResponse;
+import com.tudai.monopatines.accounts.accounts_services.entity.IdempotencyKey;
+import com.tudai.monopatines.accounts.accounts_services.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Test
+    void replayReturnsTheOriginalResponseFromTheDatabase() {
+        BalanceResponse original = new BalanceResponse(7L, 10000L, 7500L);
+        newService().register(KEY, IdempotencyService.DEDUCT_BALANCE, 7L, 250L, original);
+
+        ArgumentCaptor<IdempotencyKey> saved = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(saved.capture());
+        when(idempotencyKeyRepository.findById(KEY)).thenReturn(Optional.of(saved.getValue()));
+
+        // Otra instancia (cache vacío) resuelve el reintento desde la base
+        Optional<BalanceResponse> replay = newService().findResponse(KEY, IdempotencyService.DEDUCT_BALANCE,
+                7L, 250L);
+
+        assertTrue(replay.isPresent());
+        assertEquals(original.getAccountId(), replay.get().getAccountId());
+        assertEquals(original.getCurrentBalance(), replay.get().getCurrentBalance());
+        assertEquals(original.getAvailableBalance(), replay.get().getAvailableBalance());
+    }
+
+    @Test
+    void replayReturnsTheOriginalResponseFromTheCache() {
+        IdempotencyService service = newService();
+        BalanceResponse original = new BalanceResponse(7L, 10000L, 7500L);
+        service.register(KEY, IdempotencyService.LOAD_BALANCE, 7L, 250L, original);
+
+        BalanceResponse replay = service.findResponse(KEY, IdempotencyService.LOAD_BALANCE, 7L, 250L)
+                .orElseThrow();
+
+        assertEquals(original.getCurrentBalance(), replay.getCurrentBalance());
+        assertEquals(original.getAvailableBalance(), replay.getAvailableBalance());
+    }
+
+    private IdempotencyService newService() {
+        IdempotencyService service = new IdempotencyService();
+        ReflectionTestUtils.setField(service, "idempotencyKeyRepository", idempotencyKeyRepository);
+        ReflectionTestUtils.setField(service, "cacheSize", 100);
+        service.initCache();
+        return service;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.benchmark.BenchmarkTimer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el costo por solicitud de autenticar un JWT con el camino anterior del filtro
+ * (validateToken, getUserIdFromToken y getRolesFromToken: tres parsers y tres verificaciones
+ * de firma) y con el actual (JwtService.parseToken: un parser creado al iniciar y una sola
+ * verificación).
+ *
+ * No requiere base de datos; se ejecuta solo a pedido:
+ * mvn test -Dtest=JwtParsingBenchmarkTest -Dbenchmark=true [-Dbenchmark.operations=200000] [-Dbenchmark.rounds=5]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtParsingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtParsingBenchmarkTest.class);
+
+    private static final String SECRET = "eGtmMWtKQXl5UCFjUjEwR0pQKk1qcU5FUVZxWWd4Qk0=";
+
+    private long checksum;
+
+    @Test
+    void compareTriplePassAndSinglePass() {
+        int operations = Integer.getInteger("benchmark.operations", 200_000);
+        String token = Jwts.builder()
+                .subject("42")
+                .claim("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(signingKey())
+                .compact();
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+
+        long tripleNanos = BenchmarkTimer.bestOf(() -> {
+            for (int i = 0; i < operations; i++) {
+                checksum += runTriplePass(token);
+            }
+        });
+        long singleNanos = BenchmarkTimer.bestOf(() -> {
+            for (int i = 0; i < operations; i++) {
+                JwtPrincipal principal = jwtService.parseToken(token).orElseThrow();
+                checksum -= principal.getUserId() + principal.getAuthorities().size()
+                        - principal.getAuthorities().size();
+            }
+        });
+
+        logger.info("Tres pasadas (anterior): {} us/solicitud", BenchmarkTimer.microsPerOperation(tripleNanos, operations));
+        logger.info("Una pasada (parseToken): {} us/solicitud", BenchmarkTimer.microsPerOperation(singleNanos, operations));
+        // Las dos variantes corren la misma cantidad de rondas y leen el mismo usuario
+        assertEquals(0, checksum);
+    }
+
+    /**
+     * Camino anterior del filtro: cada llamada arma la clave y el parser y vuelve a verificar la firma.
+     */
+    @SuppressWarnings("unchecked")
+    private static long runTriplePass(String token) {
+        Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload();
+        long userId = Long.parseLong(claims.getSubject());
+        claims = Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload();
+        List<String> roles = (List<String>) claims.get("roles");
+        return userId + roles.size() - roles.size();
+    }
+
+    private static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,69 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que JwtService extraiga usuario y roles de un token en una sola pasada
+ * y rechace tokens inválidos sin lanzar excepciones.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "eGtmMWtKQXl5UCFjUjEwR0pQKk1qcU5FUVZxWWd4Qk0=";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        jwtService.init();
+    }
+
+    @Test
+    void parseTokenReturnsUserIdAndRoles() {
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        String token = buildToken(SECRET, "42", List.of("ROLE_USER", "ROLE_ADMIN"), expiration);
+
+        Optional<JwtPrincipal> principal = jwtService.parseToken(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(42L, principal.get().getUserId());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")),
+                principal.get().getAuthorities());
+        assertEquals(expiration.getTime() / 1000, principal.get().getExpiresAt().getEpochSecond());
+    }
+
+    @Test
+    void parseTokenRejectsInvalidTokens() {
+        Date future = new Date(System.currentTimeMillis() + 60_000);
+        String otherSecret = "b3RyYS1jbGF2ZS1kZS1wcnVlYmEtcGFyYS1maXJtYXItdG9rZW5z";
+
+        assertTrue(jwtService.parseToken(buildToken(otherSecret, "42", List.of("ROLE_USER"), future)).isEmpty());
+        assertTrue(jwtService.parseToken(buildToken(SECRET, "42", List.of("ROLE_USER"),
+                new Date(System.currentTimeMillis() - 60_000))).isEmpty());
+        assertTrue(jwtService.parseToken(buildToken(SECRET, "no-numerico", List.of("ROLE_USER"), future)).isEmpty());
+        assertTrue(jwtService.parseToken("no-es-un-jwt").isEmpty());
+    }
+
+    private static String buildToken(String secret, String subject, List<String> roles, Date expiration) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("roles", roles)
+                .expiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
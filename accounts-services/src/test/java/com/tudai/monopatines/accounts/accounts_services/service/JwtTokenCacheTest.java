@@ -0,0 +1,69 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que JwtTokenCache verifique cada token una sola vez y respete su expiración.
+ */
+class JwtTokenCacheTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenCache jwtTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JwtService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenCache = new JwtTokenCache();
+        ReflectionTestUtils.setField(jwtTokenCache, "jwtService", jwtService);
+        ReflectionTestUtils.setField(jwtTokenCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(jwtTokenCache, "cacheSize", 100);
+        jwtTokenCache.init();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        JwtPrincipal principal = new JwtPrincipal(7L, List.of(new SimpleGrantedAuthority("ROLE_USER")),
+                Instant.now().plusSeconds(3600));
+        when(jwtService.parseToken("token")).thenReturn(Optional.of(principal));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.of(principal), jwtTokenCache.resolve("token"));
+        }
+
+        verify(jwtService, times(1)).parseToken("token");
+        assertEquals(4.0, meterRegistry.counter("jwt.cache.requests", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("jwt.cache.requests", "result", "miss").count());
+    }
+
+    @Test
+    void expiredAndInvalidTokensAreNotServedFromCache() {
+        JwtPrincipal expired = new JwtPrincipal(7L, List.of(), Instant.now().minusSeconds(1));
+        when(jwtService.parseToken("expired")).thenReturn(Optional.of(expired));
+        when(jwtService.parseToken("invalid")).thenReturn(Optional.empty());
+
+        jwtTokenCache.resolve("expired");
+        jwtTokenCache.resolve("expired");
+        assertTrue(jwtTokenCache.resolve("invalid").isEmpty());
+        assertTrue(jwtTokenCache.resolve("invalid").isEmpty());
+
+        verify(jwtService, times(2)).parseToken("expired");
+        verify(jwtService, times(2)).parseToken("invalid");
+    }
+}
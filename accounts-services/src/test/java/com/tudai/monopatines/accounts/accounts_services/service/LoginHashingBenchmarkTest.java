@@ -0,0 +1,99 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.benchmark.BenchmarkTimer;
+import com.tudai.monopatines.accounts.accounts_services.config.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mide la latencia de la verificación de password del login (PasswordHashingService.matches,
+ * con el pool dedicado y el encoder de SecurityConfig) para cada costo de BCrypt, con varios
+ * logins simultáneos, e informa p50 y p99. Sirve para elegir app.password.bcrypt-strength
+ * según el presupuesto de latencia del login en el hardware donde se despliega.
+ *
+ * No requiere base de datos; se ejecuta solo a pedido:
+ * mvn test -Dtest=LoginHashingBenchmarkTest -Dbenchmark=true
+ *     [-Dbenchmark.costs=8,10,12] [-Dbenchmark.logins=100] [-Dbenchmark.concurrency=4]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LoginHashingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHashingBenchmarkTest.class);
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Test
+    void loginLatencyPerBcryptCost() throws Exception {
+        int[] costs = Arrays.stream(System.getProperty("benchmark.costs", "8,10,12").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int logins = Integer.getInteger("benchmark.logins", 100);
+        int concurrency = Integer.getInteger("benchmark.concurrency", 4);
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (int cost : costs) {
+                PasswordEncoder passwordEncoder = new SecurityConfig().passwordEncoder("bcrypt", cost);
+                String hash = passwordEncoder.encode(PASSWORD);
+                PasswordHashingService passwordHashingService = newService(passwordEncoder, concurrency);
+                try {
+                    // Calienta el JIT con una tanda del tamaño de la concurrencia antes de medir
+                    run(clients, passwordHashingService, hash, concurrency);
+                    long[] latencies = run(clients, passwordHashingService, hash, logins);
+                    Arrays.sort(latencies);
+
+                    logger.info("BCrypt costo {}: p50 {} ms, p99 {} ms ({} logins, {} concurrentes, {} CPUs)",
+                            cost, BenchmarkTimer.percentileMs(latencies, 50), BenchmarkTimer.percentileMs(latencies, 99),
+                            logins, concurrency, Runtime.getRuntime().availableProcessors());
+                } finally {
+                    passwordHashingService.shutdown();
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta los logins repartidos entre los clientes simultáneos.
+     *
+     * @return Latencia de cada login en nanosegundos (espera en la cola más cálculo del hash)
+     */
+    private static long[] run(ExecutorService clients, PasswordHashingService passwordHashingService,
+                              String hash, int logins) throws Exception {
+        List<Future<Long>> results = new ArrayList<>(logins);
+        for (int i = 0; i < logins; i++) {
+            results.add(clients.submit(() ->
+                    BenchmarkTimer.time(() -> assertTrue(passwordHashingService.matches(PASSWORD, hash)))));
+        }
+        long[] latencies = new long[logins];
+        for (int i = 0; i < logins; i++) {
+            latencies[i] = results.get(i).get();
+        }
+        return latencies;
+    }
+
+    private static PasswordHashingService newService(PasswordEncoder passwordEncoder, int concurrency) {
+        PasswordHashingService passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHashingService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 0);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", concurrency);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 60_000L);
+        passwordHashingService.init();
+        return passwordHashingService;
+    }
+}
@@ -0,0 +1,100 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.config.SecurityConfig;
+import com.tudai.monopatines.accounts.accounts_services.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Verifica que PasswordHashingService rechace verificaciones cuando el pool y su cola están llenos
+ * y que solo regenere hashes con algoritmo o costo desactualizado.
+ */
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return true;
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHashingService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 5000L);
+        passwordHashingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void rejectsWhenPoolAndQueueAreFull() throws Exception {
+        // Uno en curso y uno en cola ocupan todo el pool
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("a", "hash"));
+        waitUntil(() -> meterRegistry.get("password.hashing.active").gauge().value() == 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHashingService.matches("b", "hash"));
+        waitUntil(() -> meterRegistry.get("password.hashing.queue").gauge().value() == 1);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordHashingService.matches("c", "hash"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rehashesOnlyOutdatedHashes() {
+        PasswordEncoder passwordEncoder = new SecurityConfig().passwordEncoder("bcrypt", 5);
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", passwordEncoder);
+
+        // Hash sin prefijo y con costo menor: se verifica y se actualiza
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+        assertTrue(passwordHashingService.matches("secret", legacyHash));
+        Optional<String> upgraded = passwordHashingService.rehashIfOutdated("secret", legacyHash);
+        assertTrue(upgraded.isPresent());
+        assertTrue(upgraded.get().startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordHashingService.matches("secret", upgraded.get()));
+
+        // Hash con el algoritmo y costo actuales: no se vuelve a generar
+        assertTrue(passwordHashingService.rehashIfOutdated("secret", upgraded.get()).isEmpty());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,107 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.benchmark.BenchmarkTimer;
+import com.tudai.monopatines.accounts.accounts_services.entity.Role;
+import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import com.tudai.monopatines.accounts.accounts_services.entity.UserRole;
+import com.tudai.monopatines.accounts.accounts_services.repository.RoleRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.UserRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.UserRoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara el tiempo de resolver los roles de un listado de usuarios con una consulta por
+ * usuario (camino anterior, N+1) y con una sola consulta (RoleService.getRolesByUserIds).
+ * Antes de cada ronda se vacía el cache de queries para medir las consultas a la base.
+ *
+ * Requiere MariaDB y se ejecuta solo a pedido:
+ * mvn test -Dtest=RoleLookupBenchmarkTest -Dbenchmark=true [-Dbenchmark.users=1000] [-Dbenchmark.rounds=5]
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RoleLookupBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleLookupBenchmarkTest.class);
+
+    @Autowired
+    private RoleService roleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String emailPrefix = "bench-roles-" + System.currentTimeMillis() + "-";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE ur FROM user_roles ur JOIN users u ON u.id = ur.user_id WHERE u.email LIKE ?",
+                emailPrefix + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", emailPrefix + "%");
+    }
+
+    @Test
+    void comparePerUserAndBulkLookups() {
+        int total = Integer.getInteger("benchmark.users", 1000);
+        List<Long> userIds = transactionTemplate.execute(status -> {
+            Role role = roleRepository.findByName("ROLE_USER").orElseThrow();
+            List<User> users = new ArrayList<>(total);
+            for (int i = 0; i < total; i++) {
+                users.add(new User("Bench", "Roles", emailPrefix + i + "@example.com", "+5491100000000"));
+            }
+            userRepository.saveAll(users);
+            List<UserRole> userRoles = new ArrayList<>(total);
+            for (User user : users) {
+                userRoles.add(new UserRole(user, role));
+            }
+            userRoleRepository.saveAll(userRoles);
+            return users.stream().map(User::getId).toList();
+        });
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+
+        long perUserNanos = BenchmarkTimer.bestOf(cache::evictQueryRegions, () -> {
+            int perUserRoles = 0;
+            for (Long userId : userIds) {
+                perUserRoles += roleService.getRolesByUserId(userId).size();
+            }
+            assertEquals(total, perUserRoles);
+        });
+        long bulkNanos = BenchmarkTimer.bestOf(cache::evictQueryRegions, () -> {
+            Map<Long, List<String>> rolesByUserId = roleService.getRolesByUserIds(userIds);
+            assertEquals(total, rolesByUserId.values().stream().mapToInt(List::size).sum());
+        });
+
+        logger.info("Roles de {} usuarios, una consulta por usuario: {} ms", total, perUserNanos / 1_000_000);
+        logger.info("Roles de {} usuarios, una sola consulta:        {} ms", total, bulkNanos / 1_000_000);
+    }
+}
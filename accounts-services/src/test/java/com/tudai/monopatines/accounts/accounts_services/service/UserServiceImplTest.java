@@ -0,0 +1,71 @@
+package com.tudai.monopatines.accounts.accounts_services.service;
+
+import com.tudai.monopatines.accounts.accounts_services.dto.UserResponse;
+import com.tudai.monopatines.accounts.accounts_services.entity.User;
+import com.tudai.monopatines.accounts.accounts_services.repository.UserRepository;
+import com.tudai.monopatines.accounts.accounts_services.repository.UserRoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserRoleRepository userRoleRepository;
+
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        RoleService roleService = new RoleService();
+        ReflectionTestUtils.setField(roleService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(roleService, "userRoleRepository", userRoleRepository);
+
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "roleService", roleService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 500})
+    void getAllUsersRunsConstantNumberOfQueries(int userCount) {
+        List<User> users = new ArrayList<>();
+        List<Object[]> roleRows = new ArrayList<>();
+        for (long id = 1; id <= userCount; id++) {
+            User user = new User("Nombre" + id, "Apellido" + id, "user" + id + "@mail.com", "123");
+            user.setId(id);
+            users.add(user);
+            roleRows.add(new Object[]{id, "ROLE_USER"});
+        }
+        roleRows.add(new Object[]{1L, "ROLE_ADMIN"});
+        when(userRepository.findAll()).thenReturn(users);
+        when(userRoleRepository.findRoleNamesByUserIds(anyCollection())).thenReturn(roleRows);
+
+        List<UserResponse> responses = userService.getAllUsers();
+
+        assertEquals(userCount, responses.size());
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), responses.get(0).getRoles());
+        assertEquals("ROLE_USER", responses.get(userCount - 1).getRoles().get(0));
+        verify(userRepository, times(1)).findAll();
+        verify(userRoleRepository, times(1)).findRoleNamesByUserIds(anyCollection());
+        verifyNoMoreInteractions(userRepository, userRoleRepository);
+    }
+}
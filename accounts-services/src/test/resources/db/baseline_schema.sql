@@ -0,0 +1,58 @@
+-- Schema que generaba Hibernate (ddl-auto=update) para las entidades anteriores a las
+-- migraciones: IDs autoincrementales y saldo en DOUBLE (accounts.current_balance).
+-- Punto de partida de SchemaMigratorTest para aplicar V1 en adelante sobre una base existente.
+
+CREATE TABLE accounts (
+    active BIT NOT NULL,
+    current_balance FLOAT(53) NOT NULL,
+    cancelled_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    identification_number VARCHAR(255) NOT NULL,
+    mercado_pago_account_id VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+    created_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    email VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    phone_number VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE roles (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description VARCHAR(255),
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_roles (
+    assigned_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    role_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE account_user (
+    account_id BIGINT NOT NULL,
+    associated_at DATETIME(6) NOT NULL,
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE accounts ADD CONSTRAINT UK_accounts_identification_number UNIQUE (identification_number);
+ALTER TABLE users ADD CONSTRAINT UK_users_email UNIQUE (email);
+ALTER TABLE roles ADD CONSTRAINT UK_roles_name UNIQUE (name);
+ALTER TABLE user_roles ADD CONSTRAINT UK_user_roles_user_role UNIQUE (user_id, role_id);
+ALTER TABLE account_user ADD CONSTRAINT UK_account_user_account_user UNIQUE (account_id, user_id);
+ALTER TABLE user_roles ADD CONSTRAINT FK_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id);
+ALTER TABLE user_roles ADD CONSTRAINT FK_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE account_user ADD CONSTRAINT FK_account_user_account FOREIGN KEY (account_id) REFERENCES accounts (id);
+ALTER TABLE account_user ADD CONSTRAINT FK_account_user_user FOREIGN KEY (user_id) REFERENCES users (id);
@@ -0,0 +1,46 @@
+package com.tudai.monopatines.gateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Respuesta guardada en el cache del gateway: body, tipo de contenido y ETag.
+ */
+public final class CachedResponse {
+
+    private final byte[] body;
+    private final MediaType contentType;
+    private final String etag;
+    private final String resourceRoot;
+    private final long expiresAtNanos;
+
+    public CachedResponse(byte[] body, MediaType contentType, String etag, String resourceRoot, long expiresAtNanos) {
+        this.body = body;
+        this.contentType = contentType;
+        this.etag = etag;
+        this.resourceRoot = resourceRoot;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    /**
+     * Recurso al que pertenece la respuesta (ej: /api/accounts/5), usado para invalidarla.
+     */
+    public String getResourceRoot() {
+        return resourceRoot;
+    }
+
+    public boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+}
@@ -0,0 +1,179 @@
+package com.tudai.monopatines.gateway.cache;
+
+import com.tudai.monopatines.gateway.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache en memoria de respuestas GET del gateway.
+ *
+ * <p>Acotado en cantidad de entradas (LRU), en tamaño por entrada y en tiempo (TTL). Las
+ * escrituras que pasan por el gateway invalidan las respuestas del recurso afectado con
+ * {@link #invalidate(String)}, o todo el cache con {@link #invalidateAll()} cuando no se
+ * puede saber qué recurso cambió. El TTL acota lo que puede quedar desactualizado por
+ * cambios que no pasan por el gateway.</p>
+ *
+ * <p>Métricas: gateway.response-cache.requests (tag result=hit|miss|not-modified),
+ * gateway.response-cache.bytes-saved, gateway.response-cache.invalidations y
+ * gateway.response-cache.size.</p>
+ */
+@Component
+public class ResponseCache {
+
+    private final LruCache<String, CachedResponse> responses;
+    private final Duration ttl;
+    private final int maxEntryBytes;
+    // Cambia con cada invalidación: una respuesta pedida antes de una escritura no se guarda
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+    private final Counter bytesSaved;
+    private final Counter invalidationCounter;
+
+    public ResponseCache(@Value("${gateway.response-cache.max-entries:10000}") int maxEntries,
+                         @Value("${gateway.response-cache.ttl-ms:10000}") long ttlMs,
+                         @Value("${gateway.response-cache.max-entry-bytes:65536}") int maxEntryBytes,
+                         MeterRegistry meterRegistry) {
+        this.responses = new LruCache<>(maxEntries);
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = Counter.builder("gateway.response-cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gateway.response-cache.requests").tag("result", "miss").register(meterRegistry);
+        this.notModified = Counter.builder("gateway.response-cache.requests").tag("result", "not-modified")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("gateway.response-cache.bytes-saved")
+                .description("Bytes de respuestas servidas sin llamar al servicio o sin enviar el body (304)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("gateway.response-cache.invalidations")
+                .description("Invalidaciones por escrituras que pasan por el gateway").register(meterRegistry);
+        Gauge.builder("gateway.response-cache.size", responses, LruCache::size)
+                .description("Respuestas guardadas en el cache").register(meterRegistry);
+    }
+
+    /**
+     * Busca una respuesta vigente.
+     *
+     * @param key Clave de la respuesta (ver ResponseCacheGatewayFilterFactory)
+     * @return Respuesta guardada, o null si no existe o expiró
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = responses.get(key);
+        if (cached != null && cached.isExpired(System.nanoTime())) {
+            responses.remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Guarda una respuesta, salvo que supere el tamaño máximo o que haya habido una
+     * invalidación desde que se pidió al servicio.
+     *
+     * @param key Clave de la respuesta
+     * @param body Body de la respuesta
+     * @param contentType Tipo de contenido
+     * @param etag ETag calculado para el body
+     * @param resourceRoot Recurso al que pertenece la respuesta
+     * @param invalidationsAtRequest Valor de {@link #currentVersion()} al pedir la respuesta
+     */
+    public void put(String key, byte[] body, MediaType contentType, String etag, String resourceRoot,
+                    long invalidationsAtRequest) {
+        if (body.length > maxEntryBytes || invalidations.get() != invalidationsAtRequest) {
+            return;
+        }
+        responses.put(key, new CachedResponse(body, contentType, etag, resourceRoot, System.nanoTime() + ttl.toNanos()));
+    }
+
+    /**
+     * Versión actual del cache; se incrementa con cada invalidación.
+     *
+     * @return Versión a pasar a {@link #put} al guardar la respuesta
+     */
+    public long currentVersion() {
+        return invalidations.get();
+    }
+
+    /**
+     * Elimina las respuestas de un recurso (ej: /api/accounts/5 incluye /api/accounts/5/active).
+     *
+     * @param resourceRoot Recurso modificado
+     */
+    public void invalidate(String resourceRoot) {
+        invalidations.incrementAndGet();
+        invalidationCounter.increment();
+        responses.removeIf((key, cached) -> resourceRoot.equals(cached.getResourceRoot()));
+    }
+
+    /**
+     * Elimina todas las respuestas.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        invalidationCounter.increment();
+        responses.clear();
+    }
+
+    public void recordHit(int bodyBytes) {
+        hits.increment();
+        bytesSaved.increment(bodyBytes);
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordNotModified(int bodyBytes) {
+        notModified.increment();
+        bytesSaved.increment(bodyBytes);
+    }
+
+    /**
+     * Calcula un ETag fuerte a partir del body (SHA-256).
+     *
+     * @param body Body de la respuesta
+     * @return ETag entre comillas
+     */
+    public static String etagFor(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Indica si el header If-None-Match del request coincide con el ETag.
+     *
+     * @param ifNoneMatch Valor del header (puede tener varios ETags o "*")
+     * @param etag ETag de la respuesta
+     * @return true si el cliente ya tiene esta versión
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.tudai.monopatines.gateway.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.gateway.ratelimit.InMemoryRateLimiter;
+import com.tudai.monopatines.gateway.security.IdentityHeaderSigner;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Locale;
+
+/**
+ * Claves para el rate limiting de las rutas (filtro RequestRateLimiter).
+ *
+ * <ul>
+ *   <li>clientIpKeyResolver: IP del cliente (por defecto).</li>
+ *   <li>userKeyResolver: ID del usuario autenticado (header que agrega JwtAuthenticationFilter);
+ *       si el request no trae token, la IP.</li>
+ *   <li>loginEmailKeyResolver: email del body de login, para frenar ataques de credenciales
+ *       sobre una misma cuenta desde muchas IPs. Requiere el filtro CacheRequestBody
+ *       antes del RequestRateLimiter en la ruta; si no hay email, la IP.</li>
+ * </ul>
+ *
+ * <p>ipRateLimiter es un segundo InMemoryRateLimiter (args ip-rate-limiter.*) para las rutas
+ * con dos RequestRateLimiter: el login se limita por email y además por IP, para que una
+ * IP no pueda probar credenciales sobre muchas cuentas distintas.</p>
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @Primary
+    public KeyResolver clientIpKeyResolver() {
+        return exchange -> Mono.just("ip:" + clientIp(exchange));
+    }
+
+    @Bean
+    public KeyResolver userKeyResolver() {
+        return exchange -> {
+            String userId = exchange.getRequest().getHeaders().getFirst(IdentityHeaderSigner.USER_ID_HEADER);
+            return Mono.just(userId != null ? "user:" + userId : "ip:" + clientIp(exchange));
+        };
+    }
+
+    @Bean
+    public KeyResolver loginEmailKeyResolver(ObjectMapper objectMapper) {
+        return exchange -> {
+            Object body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+            if (body instanceof String json && !json.isBlank()) {
+                try {
+                    JsonNode email = objectMapper.readTree(json).get("email");
+                    if (email != null && email.isTextual() && !email.asText().isBlank()) {
+                        return Mono.just("email:" + email.asText().trim().toLowerCase(Locale.ROOT));
+                    }
+                } catch (Exception e) {
+                    // Body inválido: se limita por IP y el servicio responderá el error
+                }
+            }
+            return Mono.just("ip:" + clientIp(exchange));
+        };
+    }
+
+    @Bean
+    public InMemoryRateLimiter ipRateLimiter(ConfigurationService configurationService,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${gateway.rate-limit.max-keys:100000}") int maxKeys,
+                                             @Value("${gateway.rate-limit.default-replenish-rate:20}") int defaultReplenishRate,
+                                             @Value("${gateway.rate-limit.default-burst-capacity:40}") int defaultBurstCapacity) {
+        return new InMemoryRateLimiter("ip-rate-limiter", configurationService, meterRegistry, maxKeys,
+                defaultReplenishRate, defaultBurstCapacity);
+    }
+
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
+}
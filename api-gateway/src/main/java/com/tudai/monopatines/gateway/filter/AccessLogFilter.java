@@ -0,0 +1,133 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.gateway.security.IdentityHeaderSigner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Access log JSON (una línea por request) en el logger "access-log".
+ *
+ * <p>Se registra una muestra de los requests (gateway.access-log.sample-rate); los 5xx, los lentos
+ * (gateway.access-log.slow-threshold-ms) y los que tienen debug se registran siempre.</p>
+ *
+ * <p>Debug por request: si el header X-Debug-Log coincide con gateway.access-log.debug-token,
+ * la entrada incluye el enrutamiento (ruta, URI destino, reintentos y headers sin credenciales).
+ * El header se reenvía y el servicio habilita sus propios logs DEBUG para ese request.</p>
+ */
+@Component
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    public static final String DEBUG_HEADER = "X-Debug-Log";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access-log");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Set<String> HIDDEN_HEADERS = Set.of(
+            HttpHeaders.AUTHORIZATION.toLowerCase(), HttpHeaders.COOKIE.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase(), DEBUG_HEADER.toLowerCase(),
+            IdentityHeaderSigner.SIGNATURE_HEADER.toLowerCase());
+
+    private final double sampleRate;
+    private final long slowThresholdMs;
+    private final byte[] debugToken;
+
+    public AccessLogFilter(@Value("${gateway.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${gateway.access-log.slow-threshold-ms:1000}") long slowThresholdMs,
+                           @Value("${gateway.access-log.debug-token:}") String debugToken) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+        this.debugToken = debugToken.isBlank() ? null : debugToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        boolean debug = isDebugRequested(exchange.getRequest());
+        return chain.filter(exchange).doFinally(signal -> log(exchange, start, debug));
+    }
+
+    private void log(ServerWebExchange exchange, long start, boolean debug) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+        boolean sampled = status >= 500 || durationMs >= slowThresholdMs || debug
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled || !accessLog.isInfoEnabled()) {
+            return;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", Instant.now().toString());
+        entry.put("method", request.getMethod().name());
+        entry.put("path", request.getPath().value());
+        entry.put("status", status);
+        entry.put("durationMs", durationMs);
+        entry.put("route", route != null ? route.getId() : null);
+        entry.put("clientIp", remoteAddress != null ? remoteAddress.getHostString() : null);
+        if (debug) {
+            URI target = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            entry.put("debug", true);
+            entry.put("query", request.getURI().getRawQuery());
+            entry.put("routeUri", route != null ? route.getUri().toString() : null);
+            entry.put("target", target != null ? target.toString() : null);
+            entry.put("retries", exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY));
+            entry.put("requestHeaders", visibleHeaders(request.getHeaders()));
+            entry.put("responseHeaders", visibleHeaders(exchange.getResponse().getHeaders()));
+        }
+        try {
+            accessLog.info(objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            accessLog.warn("Could not serialize access log entry for {}", request.getPath().value());
+        }
+    }
+
+    private boolean isDebugRequested(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(DEBUG_HEADER);
+        return header != null && debugToken != null
+                && MessageDigest.isEqual(header.getBytes(StandardCharsets.UTF_8), debugToken);
+    }
+
+    private static Map<String, List<String>> visibleHeaders(HttpHeaders headers) {
+        Map<String, List<String>> visible = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (!HIDDEN_HEADERS.contains(name.toLowerCase())) {
+                visible.put(name, values);
+            }
+        });
+        return visible;
+    }
+}
@@ -0,0 +1,97 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.tudai.monopatines.gateway.resilience.CircuitBreaker;
+import com.tudai.monopatines.gateway.resilience.CircuitBreakerRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Filtro de ruta CircuitBreaker: corta los requests hacia un servicio que está fallando.
+ *
+ * <p>Cuenta como fallo un error al enrutar (conexión, timeout) o una respuesta 5xx del
+ * servicio. Con el circuito abierto responde 503 con Retry-After sin llamar al servicio.
+ * Debe ir antes del filtro Retry para registrar un solo resultado por request.</p>
+ *
+ * <pre>
+ * - name: CircuitBreaker
+ *   args:
+ *     name: accounts-service
+ * </pre>
+ */
+@Component
+public class CircuitBreakerGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CircuitBreakerGatewayFilterFactory.Config> {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public CircuitBreakerGatewayFilterFactory(CircuitBreakerRegistry circuitBreakerRegistry) {
+        super(Config.class);
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("name");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        CircuitBreaker breaker = circuitBreakerRegistry.get(config.getName());
+        return (exchange, chain) -> {
+            if (!breaker.tryAcquirePermission()) {
+                circuitBreakerRegistry.recordShortCircuited(breaker.getName());
+                return shortCircuit(exchange.getResponse(), breaker);
+            }
+            return chain.filter(exchange)
+                    .doOnSuccess(done -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        if (status != null && status.is5xxServerError()) {
+                            breaker.onFailure();
+                        } else {
+                            breaker.onSuccess();
+                        }
+                    })
+                    .doOnError(e -> breaker.onFailure())
+                    .doOnCancel(breaker::releasePermission);
+        };
+    }
+
+    private Mono<Void> shortCircuit(ServerHttpResponse response, CircuitBreaker breaker) {
+        long retryAfterSeconds = Math.max(1, (breaker.getRemainingOpenDuration().toMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        byte[] body = ("{\"error\":\"Service Unavailable\",\"message\":\"Circuit breaker open for "
+                + breaker.getName() + "\"}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    public static class Config {
+
+        /**
+         * Nombre del circuito. Las rutas con el mismo nombre comparten el circuito.
+         */
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public Config setName(String name) {
+            this.name = name;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.tudai.monopatines.gateway.security.GatewayIdentity;
+import com.tudai.monopatines.gateway.security.IdentityHeaderSigner;
+import com.tudai.monopatines.gateway.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Filtro global que valida el token JWT en el borde, antes de enrutar al servicio.
+ *
+ * <p>Para las rutas configuradas en gateway.jwt.paths:</p>
+ * <ul>
+ *   <li>Si el request trae un token inválido o expirado, se responde 401 sin llamar al servicio.</li>
+ *   <li>Si el token es válido, se agregan los headers de identidad firmados
+ *       (ver {@link IdentityHeaderSigner}) que el servicio acepta sin volver a verificar el JWT.
+ *       Sin secreto configurado no se agregan y el servicio verifica el JWT reenviado.</li>
+ *   <li>Si no trae token, el request sigue sin identidad y el servicio decide
+ *       (algunos endpoints, como el registro, son públicos).</li>
+ * </ul>
+ *
+ * <p>Los headers de identidad que envíe el cliente se descartan siempre.</p>
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final byte[] UNAUTHORIZED_BODY =
+            "{\"error\":\"Unauthorized\",\"message\":\"Invalid or expired JWT token\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtVerifier jwtVerifier;
+    private final IdentityHeaderSigner identityHeaderSigner;
+    private final List<String> protectedPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public JwtAuthenticationFilter(JwtVerifier jwtVerifier,
+                                   IdentityHeaderSigner identityHeaderSigner,
+                                   @Value("${gateway.jwt.paths:/api/accounts/**}") List<String> protectedPaths) {
+        this.jwtVerifier = jwtVerifier;
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.protectedPaths = protectedPaths;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        ServerHttpRequest.Builder forwarded = request.mutate().headers(headers -> {
+            headers.remove(IdentityHeaderSigner.USER_ID_HEADER);
+            headers.remove(IdentityHeaderSigner.ROLES_HEADER);
+            headers.remove(IdentityHeaderSigner.EXPIRES_HEADER);
+            headers.remove(IdentityHeaderSigner.SIGNATURE_HEADER);
+        });
+
+        if (!isProtected(request.getPath().value()) || authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
+        }
+
+        Optional<GatewayIdentity> identity = jwtVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+        if (identity.isEmpty()) {
+            return unauthorized(exchange.getResponse());
+        }
+
+        if (!identityHeaderSigner.isEnabled()) {
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
+        }
+
+        String userId = String.valueOf(identity.get().getUserId());
+        String roles = String.join(",", identity.get().getRoles());
+        String expires = String.valueOf(identity.get().getExpiresAt().getEpochSecond());
+        String signature = identityHeaderSigner.sign(userId, roles, expires);
+
+        forwarded.headers(headers -> {
+            headers.set(IdentityHeaderSigner.USER_ID_HEADER, userId);
+            headers.set(IdentityHeaderSigner.ROLES_HEADER, roles);
+            headers.set(IdentityHeaderSigner.EXPIRES_HEADER, expires);
+            headers.set(IdentityHeaderSigner.SIGNATURE_HEADER, signature);
+        });
+        return chain.filter(exchange.mutate().request(forwarded.build()).build());
+    }
+
+    /**
+     * Se ejecuta antes que los filtros de enrutamiento.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private boolean isProtected(String path) {
+        for (String pattern : protectedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Void> unauthorized(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(UNAUTHORIZED_BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,96 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.tudai.monopatines.gateway.loadbalancer.InstanceHealthTracker;
+import com.tudai.monopatines.gateway.loadbalancer.ServiceInstanceChooser;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.DelegatingServiceInstance;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * Resuelve las rutas lb://&lt;servicio&gt; a una instancia concreta del servicio.
+ *
+ * <p>Las instancias salen del discovery client simple de Spring Cloud
+ * (spring.cloud.discovery.client.simple.instances), y la instancia de cada request la
+ * elige {@link ServiceInstanceChooser}. Se ejecuta justo antes del filtro de load balancer
+ * por defecto del gateway, que así recibe la URL ya resuelta y la deja pasar.</p>
+ *
+ * <p>Si la conexión a la instancia falla, se excluye del balanceo (ver
+ * {@link InstanceHealthTracker}). Si el servicio no tiene instancias responde 503.</p>
+ */
+@Component
+public class LoadBalancerClientFilter implements GlobalFilter, Ordered {
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final ServiceInstanceChooser instanceChooser;
+    private final InstanceHealthTracker healthTracker;
+
+    public LoadBalancerClientFilter(ReactiveDiscoveryClient discoveryClient,
+                                    ServiceInstanceChooser instanceChooser,
+                                    InstanceHealthTracker healthTracker) {
+        this.discoveryClient = discoveryClient;
+        this.instanceChooser = instanceChooser;
+        this.healthTracker = healthTracker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !"lb".equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        addOriginalRequestUrl(exchange, url);
+        String serviceId = url.getHost();
+
+        return discoveryClient.getInstances(serviceId)
+                .collectList()
+                .flatMap(instances -> {
+                    ServiceInstance instance = instanceChooser.choose(serviceId, instances)
+                            .orElseThrow(() -> NotFoundException.create(false,
+                                    "No hay instancias disponibles de " + serviceId));
+
+                    // Sin esquema propio en la instancia, la URI reconstruida conservaría "lb"
+                    String scheme = instance.isSecure() ? "https" : "http";
+                    exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, LoadBalancerUriTools
+                            .reconstructURI(new DelegatingServiceInstance(instance, scheme), url));
+
+                    healthTracker.requestStarted(instance);
+                    return chain.filter(exchange)
+                            .doOnError(e -> {
+                                if (isConnectionError(e)) {
+                                    healthTracker.markUnreachable(instance, e);
+                                }
+                            })
+                            .doFinally(signal -> healthTracker.requestFinished(instance));
+                });
+    }
+
+    private boolean isConnectionError(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,219 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.tudai.monopatines.gateway.cache.CachedResponse;
+import com.tudai.monopatines.gateway.cache.ResponseCache;
+import com.tudai.monopatines.gateway.security.IdentityHeaderSigner;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtro de ruta ResponseCache: guarda en {@link ResponseCache} las respuestas 200 de los
+ * GET de los paths configurados y responde con ellas sin llamar al servicio.
+ *
+ * <p>La clave es el usuario autenticado (headers X-Gateway-* de JwtAuthenticationFilter),
+ * el path con su query y el header Accept; los requests sin identidad no se cachean. Las
+ * respuestas llevan ETag y, si el If-None-Match del cliente coincide, se responde 304 sin
+ * body. Un POST/PUT/DELETE exitoso en la ruta invalida el recurso (ej: un PUT a
+ * /api/accounts/5/balance invalida /api/accounts/5 y /api/accounts/5/active) o todo el
+ * cache si el path no identifica un recurso cacheable (ej: /api/accounts/associate).</p>
+ *
+ * <p>Se ejecuta antes que NettyWriteResponseFilter para poder leer el body de la respuesta,
+ * y por lo tanto antes que el resto de los filtros de la ruta: un hit no consume rate limit
+ * ni pasa por el circuit breaker.</p>
+ *
+ * <pre>
+ * - name: ResponseCache
+ *   args:
+ *     paths: /api/accounts/{id},/api/accounts/{id}/active
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getPath().value();
+
+            if (request.getMethod() != HttpMethod.GET) {
+                if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).doOnSuccess(done -> invalidateAfterWrite(exchange, config, path));
+            }
+
+            String userId = request.getHeaders().getFirst(IdentityHeaderSigner.USER_ID_HEADER);
+            if (userId == null || !isCacheable(config, path)) {
+                return chain.filter(exchange);
+            }
+
+            String key = userId + "|" + request.getHeaders().getFirst(IdentityHeaderSigner.ROLES_HEADER)
+                    + "|" + request.getURI().getRawPath() + "?" + request.getURI().getRawQuery()
+                    + "|" + request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+            String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+
+            CachedResponse cached = responseCache.get(key);
+            if (cached != null) {
+                return writeCached(exchange.getResponse(), cached, ifNoneMatch);
+            }
+
+            responseCache.recordMiss();
+            ServerHttpResponse caching = new CachingResponse(exchange.getResponse(), key, resourceRoot(path),
+                    ifNoneMatch, responseCache.currentVersion());
+            return chain.filter(exchange.mutate().response(caching).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerHttpResponse response, CachedResponse cached, String ifNoneMatch) {
+        response.getHeaders().setETag(cached.getEtag());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        if (ResponseCache.matches(ifNoneMatch, cached.getEtag())) {
+            responseCache.recordNotModified(cached.getBody().length);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        responseCache.recordHit(cached.getBody().length);
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.getContentType() != null) {
+            response.getHeaders().setContentType(cached.getContentType());
+        }
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private void invalidateAfterWrite(ServerWebExchange exchange, Config config, String path) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status == null || !status.is2xxSuccessful()) {
+            return;
+        }
+        String root = resourceRoot(path);
+        if (root != null && isCacheable(config, root)) {
+            responseCache.invalidate(root);
+        } else {
+            responseCache.invalidateAll();
+        }
+    }
+
+    private boolean isCacheable(Config config, String path) {
+        for (String pattern : config.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recurso al que pertenece un path: hasta el primer segmento numérico inclusive
+     * (/api/accounts/5/balance -> /api/accounts/5, /api/accounts/users/7 -> /api/accounts/users/7).
+     *
+     * @return Recurso, o null si el path no tiene un ID
+     */
+    private static String resourceRoot(String path) {
+        StringBuilder root = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            root.append('/').append(segment);
+            if (segment.chars().allMatch(Character::isDigit)) {
+                return root.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lee el body de la respuesta del servicio para guardarlo y le agrega el ETag.
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final String resourceRoot;
+        private final String ifNoneMatch;
+        private final long cacheVersion;
+
+        CachingResponse(ServerHttpResponse delegate, String key, String resourceRoot, String ifNoneMatch,
+                        long cacheVersion) {
+            super(delegate);
+            this.key = key;
+            this.resourceRoot = resourceRoot;
+            this.ifNoneMatch = ifNoneMatch;
+            this.cacheVersion = cacheVersion;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!HttpStatus.OK.equals(getStatusCode()) || getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                String etag = ResponseCache.etagFor(bytes);
+                responseCache.put(key, bytes, getHeaders().getContentType(), etag, resourceRoot, cacheVersion);
+                getHeaders().setETag(etag);
+                getHeaders().set(CACHE_HEADER, "MISS");
+
+                if (ResponseCache.matches(ifNoneMatch, etag)) {
+                    responseCache.recordNotModified(bytes.length);
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return setComplete();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    public static class Config {
+
+        /**
+         * Paths cacheables (patrones Ant, ej: /api/accounts/{id}).
+         */
+        private List<String> paths = new ArrayList<>();
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public Config setPaths(List<String> paths) {
+            this.paths = paths;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.tudai.monopatines.gateway.filter;
+
+import com.tudai.monopatines.gateway.resilience.RetryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.RetryGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Filtro de ruta RetryBudget: acota los reintentos del filtro Retry con un
+ * {@link RetryBudget} por ruta.
+ *
+ * <p>Va después de Retry, que vuelve a ejecutar los filtros siguientes en cada intento.
+ * El primer intento deposita en el presupuesto; cada reintento consume un token y, si no
+ * quedan, el request termina con 503 sin volver a llamar al servicio.</p>
+ *
+ * <p>Métricas por ruta (tag route): gateway.retry.attempts y gateway.retry.budget-exhausted.</p>
+ *
+ * <pre>
+ * - name: RetryBudget
+ *   args:
+ *     ratio: 0.2
+ *     minRetriesPerSecond: 1
+ *     maxTokens: 10
+ * </pre>
+ */
+@Component
+public class RetryBudgetGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public RetryBudgetGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RetryBudget budget = new RetryBudget(config.getRatio(), config.getMinRetriesPerSecond(), config.getMaxTokens());
+        Counter attempts = Counter.builder("gateway.retry.attempts")
+                .description("Reintentos ejecutados hacia el servicio")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+        Counter exhausted = Counter.builder("gateway.retry.budget-exhausted")
+                .description("Reintentos descartados por falta de presupuesto")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+
+        return (exchange, chain) -> {
+            // Retry guarda la cantidad de intentos terminados en este atributo
+            boolean isRetry = exchange.getAttribute(RetryGatewayFilterFactory.RETRY_ITERATION_KEY) != null;
+            if (!isRetry) {
+                budget.recordRequest();
+            } else if (budget.tryAcquireRetry()) {
+                attempts.increment();
+            } else {
+                exhausted.increment();
+                return Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Retry budget exhausted"));
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    public static class Config implements HasRouteId {
+
+        private String routeId;
+
+        /**
+         * Reintentos permitidos por cada request original (0.2 = hasta 20% de reintentos).
+         */
+        private double ratio = 0.2;
+
+        /**
+         * Reintentos por segundo permitidos aunque la ruta tenga poco tráfico.
+         */
+        private double minRetriesPerSecond = 1;
+
+        /**
+         * Máximo de reintentos acumulados.
+         */
+        private double maxTokens = 10;
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public Config setRatio(double ratio) {
+            this.ratio = ratio;
+            return this;
+        }
+
+        public double getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public Config setMinRetriesPerSecond(double minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+            return this;
+        }
+
+        public double getMaxTokens() {
+            return maxTokens;
+        }
+
+        public Config setMaxTokens(double maxTokens) {
+            this.maxTokens = maxTokens;
+            return this;
+        }
+    }
+}
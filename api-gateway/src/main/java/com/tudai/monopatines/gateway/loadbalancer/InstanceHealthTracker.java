@@ -0,0 +1,201 @@
+package com.tudai.monopatines.gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de cada instancia de los servicios balanceados: requests en curso y salud.
+ *
+ * <p>La salud se revisa de dos formas. Activa: cada health-check.interval-ms se consulta
+ * el endpoint de health de todas las instancias, y una instancia queda fuera del balanceo
+ * tras unhealthy-threshold fallos seguidos. Pasiva: si el gateway no logra conectarse a
+ * una instancia al enrutar un request, queda fuera de inmediato. En ambos casos vuelve
+ * al balanceo con el primer health check exitoso.</p>
+ *
+ * <p>Métricas: gateway.loadbalancer.outstanding (tags service, instance) y
+ * gateway.loadbalancer.evictions (tag service).</p>
+ */
+@Component
+public class InstanceHealthTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceHealthTracker.class);
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final String healthPath;
+    private final Duration interval;
+    private final Duration timeout;
+    private final int unhealthyThreshold;
+    private final Map<String, InstanceState> statesByInstance = new ConcurrentHashMap<>();
+
+    private Disposable healthChecks;
+
+    public InstanceHealthTracker(ReactiveDiscoveryClient discoveryClient,
+                                 WebClient.Builder webClientBuilder,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${gateway.load-balancer.health-check.path:/actuator/health}") String healthPath,
+                                 @Value("${gateway.load-balancer.health-check.interval-ms:5000}") long intervalMs,
+                                 @Value("${gateway.load-balancer.health-check.timeout-ms:2000}") long timeoutMs,
+                                 @Value("${gateway.load-balancer.health-check.unhealthy-threshold:2}") int unhealthyThreshold) {
+        this.discoveryClient = discoveryClient;
+        this.webClient = webClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.healthPath = healthPath;
+        this.interval = Duration.ofMillis(intervalMs);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.unhealthyThreshold = unhealthyThreshold;
+    }
+
+    @PostConstruct
+    void startHealthChecks() {
+        healthChecks = Flux.interval(interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> checkAll())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopHealthChecks() {
+        if (healthChecks != null) {
+            healthChecks.dispose();
+        }
+    }
+
+    /**
+     * Indica si la instancia puede recibir requests.
+     *
+     * @param instance Instancia del servicio
+     * @return true si no fue excluida por health checks o errores de conexión
+     */
+    public boolean isHealthy(ServiceInstance instance) {
+        return state(instance).healthy;
+    }
+
+    /**
+     * Cantidad de requests enrutados a la instancia que todavía no terminaron.
+     *
+     * @param instance Instancia del servicio
+     * @return Requests en curso
+     */
+    public int getOutstandingRequests(ServiceInstance instance) {
+        return state(instance).outstanding.get();
+    }
+
+    /**
+     * Registra el inicio de un request hacia la instancia.
+     *
+     * @param instance Instancia elegida
+     */
+    public void requestStarted(ServiceInstance instance) {
+        state(instance).outstanding.incrementAndGet();
+    }
+
+    /**
+     * Registra el fin (exitoso o no) de un request hacia la instancia.
+     *
+     * @param instance Instancia elegida
+     */
+    public void requestFinished(ServiceInstance instance) {
+        state(instance).outstanding.decrementAndGet();
+    }
+
+    /**
+     * Excluye la instancia del balanceo hasta el próximo health check exitoso.
+     * Se usa cuando el gateway no pudo conectarse a la instancia.
+     *
+     * @param instance Instancia que falló
+     * @param cause Error de conexión
+     */
+    public void markUnreachable(ServiceInstance instance, Throwable cause) {
+        InstanceState state = state(instance);
+        state.consecutiveFailures.set(unhealthyThreshold);
+        evict(instance, state, cause.toString());
+    }
+
+    /**
+     * Consulta el health de todas las instancias conocidas.
+     *
+     * @return Mono que completa cuando terminaron todos los checks
+     */
+    Mono<Void> checkAll() {
+        return discoveryClient.getServices()
+                .flatMap(discoveryClient::getInstances)
+                .flatMap(this::check)
+                .onErrorResume(e -> {
+                    log.warn("No se pudo completar el health check de instancias: {}", e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Boolean> check(ServiceInstance instance) {
+        return webClient.get()
+                .uri(instance.getUri() + healthPath)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful()))
+                .timeout(timeout)
+                .onErrorReturn(false)
+                .doOnNext(up -> recordCheck(instance, up));
+    }
+
+    private void recordCheck(ServiceInstance instance, boolean up) {
+        InstanceState state = state(instance);
+        if (up) {
+            state.consecutiveFailures.set(0);
+            if (!state.healthy) {
+                state.healthy = true;
+                log.info("Instancia {} de {} vuelve al balanceo", instance.getUri(), instance.getServiceId());
+            }
+        } else if (state.consecutiveFailures.incrementAndGet() >= unhealthyThreshold) {
+            evict(instance, state, "health check fallido");
+        }
+    }
+
+    private void evict(ServiceInstance instance, InstanceState state, String reason) {
+        if (state.healthy) {
+            state.healthy = false;
+            Counter.builder("gateway.loadbalancer.evictions")
+                    .tag("service", instance.getServiceId())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Instancia {} de {} fuera del balanceo: {}", instance.getUri(), instance.getServiceId(), reason);
+        }
+    }
+
+    private InstanceState state(ServiceInstance instance) {
+        String key = instance.getServiceId() + "@" + instance.getUri();
+        return statesByInstance.computeIfAbsent(key, k -> {
+            InstanceState state = new InstanceState();
+            Gauge.builder("gateway.loadbalancer.outstanding", state.outstanding, AtomicInteger::get)
+                    .tag("service", instance.getServiceId())
+                    .tag("instance", instance.getUri().toString())
+                    .register(meterRegistry);
+            return state;
+        });
+    }
+
+    private static final class InstanceState {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile boolean healthy = true;
+    }
+}
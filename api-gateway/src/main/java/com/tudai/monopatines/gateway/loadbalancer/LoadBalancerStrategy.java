@@ -0,0 +1,31 @@
+package com.tudai.monopatines.gateway.loadbalancer;
+
+/**
+ * Estrategias para elegir la instancia de un servicio en las rutas lb://.
+ *
+ * <p>Se configuran por servicio en gateway.load-balancer.strategies.&lt;servicio&gt;
+ * con los valores round-robin o least-outstanding.</p>
+ */
+public enum LoadBalancerStrategy {
+
+    /**
+     * Reparte los requests entre las instancias en orden.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Elige la instancia con menos requests en curso desde este gateway.
+     */
+    LEAST_OUTSTANDING;
+
+    /**
+     * Convierte el valor de configuración (ej: "least-outstanding") en la estrategia.
+     *
+     * @param value Valor configurado
+     * @return Estrategia correspondiente
+     * @throws IllegalArgumentException si el valor no corresponde a ninguna estrategia
+     */
+    public static LoadBalancerStrategy fromProperty(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase());
+    }
+}
@@ -0,0 +1,85 @@
+package com.tudai.monopatines.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Elige la instancia de un servicio para cada request de una ruta lb://.
+ *
+ * <p>Solo se consideran las instancias sanas según {@link InstanceHealthTracker}. Si todas
+ * están fuera del balanceo se intenta igual con la lista completa: un health check puede
+ * ir atrasado y es preferible probar antes que responder 503 sin llamar a nadie.</p>
+ *
+ * <p>La estrategia se lee de gateway.load-balancer.strategies.&lt;servicio&gt;, con
+ * gateway.load-balancer.default-strategy para los servicios sin configuración propia.</p>
+ */
+@Component
+public class ServiceInstanceChooser {
+
+    private final InstanceHealthTracker healthTracker;
+    private final Environment environment;
+    private final LoadBalancerStrategy defaultStrategy;
+    private final Map<String, AtomicInteger> positionsByService = new ConcurrentHashMap<>();
+    private final Map<String, LoadBalancerStrategy> strategiesByService = new ConcurrentHashMap<>();
+
+    public ServiceInstanceChooser(InstanceHealthTracker healthTracker,
+                                  Environment environment,
+                                  @Value("${gateway.load-balancer.default-strategy:round-robin}") String defaultStrategy) {
+        this.healthTracker = healthTracker;
+        this.environment = environment;
+        this.defaultStrategy = LoadBalancerStrategy.fromProperty(defaultStrategy);
+    }
+
+    /**
+     * Elige una instancia del servicio.
+     *
+     * @param serviceId ID del servicio (host de la URI lb://)
+     * @param instances Instancias registradas del servicio
+     * @return Optional con la instancia elegida, o vacío si el servicio no tiene instancias
+     */
+    public Optional<ServiceInstance> choose(String serviceId, List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return Optional.empty();
+        }
+        List<ServiceInstance> candidates = instances.stream().filter(healthTracker::isHealthy).toList();
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+
+        // La posición rota en ambas estrategias para repartir los empates
+        int start = Math.floorMod(positionsByService
+                .computeIfAbsent(serviceId, id -> new AtomicInteger())
+                .getAndIncrement(), candidates.size());
+
+        if (strategyFor(serviceId) == LoadBalancerStrategy.ROUND_ROBIN) {
+            return Optional.of(candidates.get(start));
+        }
+
+        ServiceInstance chosen = null;
+        int lowest = Integer.MAX_VALUE;
+        for (int i = 0; i < candidates.size(); i++) {
+            ServiceInstance candidate = candidates.get((start + i) % candidates.size());
+            int outstanding = healthTracker.getOutstandingRequests(candidate);
+            if (outstanding < lowest) {
+                lowest = outstanding;
+                chosen = candidate;
+            }
+        }
+        return Optional.of(chosen);
+    }
+
+    private LoadBalancerStrategy strategyFor(String serviceId) {
+        return strategiesByService.computeIfAbsent(serviceId, id -> {
+            String configured = environment.getProperty("gateway.load-balancer.strategies." + id);
+            return configured != null ? LoadBalancerStrategy.fromProperty(configured) : defaultStrategy;
+        });
+    }
+}
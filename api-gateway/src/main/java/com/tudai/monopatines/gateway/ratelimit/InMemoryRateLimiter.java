@@ -0,0 +1,192 @@
+package com.tudai.monopatines.gateway.ratelimit;
+
+import com.tudai.monopatines.gateway.util.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rate limiter en memoria (token bucket) para el filtro RequestRateLimiter del gateway.
+ *
+ * <p>Cada clave (IP, usuario o email, según el KeyResolver de la ruta) tiene su propio
+ * bucket por ruta. El bucket se recarga a replenishRate tokens por segundo hasta
+ * burstCapacity; cada request consume requestedTokens. Si no alcanzan, el gateway
+ * responde 429 sin llamar al servicio.</p>
+ *
+ * <p>No requiere Redis: el estado vive en cada instancia del gateway, así que con varias
+ * instancias el límite efectivo es por instancia. La cantidad de buckets está acotada
+ * (LRU) para que un barrido de claves no agote la memoria.</p>
+ *
+ * <p>Configuración por ruta, en los args del filtro:</p>
+ * <pre>
+ * in-memory-rate-limiter.replenishRate: 5
+ * in-memory-rate-limiter.burstCapacity: 10
+ * </pre>
+ *
+ * <p>La configuración es una por ruta y por instancia del limiter. Para aplicar dos límites
+ * a la misma ruta (por ejemplo, el login por email y por IP) el segundo filtro usa otra
+ * instancia, ipRateLimiter (ver RateLimitConfig), con el prefijo ip-rate-limiter.</p>
+ */
+@Primary
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final LruCache<String, TokenBucket> buckets;
+    private final Config defaultConfig;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public InMemoryRateLimiter(ConfigurationService configurationService,
+                               MeterRegistry meterRegistry,
+                               @Value("${gateway.rate-limit.max-keys:100000}") int maxKeys,
+                               @Value("${gateway.rate-limit.default-replenish-rate:20}") int defaultReplenishRate,
+                               @Value("${gateway.rate-limit.default-burst-capacity:40}") int defaultBurstCapacity) {
+        this(CONFIGURATION_PROPERTY_NAME, configurationService, meterRegistry, maxKeys, defaultReplenishRate,
+                defaultBurstCapacity);
+    }
+
+    /**
+     * Crea un limiter que lee su configuración de los args con el prefijo indicado.
+     *
+     * @param configurationPropertyName Prefijo de los args del filtro (por ejemplo ip-rate-limiter)
+     */
+    public InMemoryRateLimiter(String configurationPropertyName,
+                               ConfigurationService configurationService,
+                               MeterRegistry meterRegistry,
+                               int maxKeys,
+                               int defaultReplenishRate,
+                               int defaultBurstCapacity) {
+        super(Config.class, configurationPropertyName, configurationService);
+        this.buckets = new LruCache<>(maxKeys);
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config()
+                .setReplenishRate(defaultReplenishRate)
+                .setBurstCapacity(defaultBurstCapacity);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        String bucketKey = routeId + ":" + id;
+
+        TokenBucket bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(config.getBurstCapacity()));
+
+        long remaining = bucket.tryConsume(config, System.nanoTime());
+        boolean allowed = remaining >= 0;
+        if (!allowed) {
+            Counter.builder("gateway.rate-limit.rejected").tag("route", routeId).register(meterRegistry).increment();
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return Mono.just(new Response(allowed, headers));
+    }
+
+    /**
+     * Bucket de tokens de una clave. Se recarga en forma continua según el tiempo transcurrido.
+     */
+    static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int initialTokens) {
+            this.tokens = initialTokens;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        /**
+         * Intenta consumir los tokens de un request.
+         *
+         * @return Tokens restantes, o -1 si no alcanzaban (el request se rechaza)
+         */
+        synchronized long tryConsume(Config config, long nowNanos) {
+            double elapsedSeconds = (nowNanos - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(config.getBurstCapacity(), tokens + elapsedSeconds * config.getReplenishRate());
+            lastRefillNanos = nowNanos;
+
+            if (tokens < config.getRequestedTokens()) {
+                return -1;
+            }
+            tokens -= config.getRequestedTokens();
+            return (long) tokens;
+        }
+    }
+
+    /**
+     * Configuración del rate limiter para una ruta.
+     */
+    @Validated
+    public static class Config {
+
+        /**
+         * Tokens que se recargan por segundo (requests por segundo sostenidos).
+         */
+        @Min(1)
+        private int replenishRate;
+
+        /**
+         * Máximo de tokens acumulables (tamaño de la ráfaga permitida).
+         */
+        @Min(1)
+        private int burstCapacity = 1;
+
+        /**
+         * Tokens que consume cada request.
+         */
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Config{replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity
+                    + ", requestedTokens=" + requestedTokens + '}';
+        }
+    }
+}
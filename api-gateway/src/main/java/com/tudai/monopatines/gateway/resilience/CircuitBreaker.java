@@ -0,0 +1,160 @@
+package com.tudai.monopatines.gateway.resilience;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker por conteo de llamadas.
+ *
+ * <p>CLOSED: registra el resultado de las últimas window-size llamadas y abre el circuito
+ * cuando, con al menos minimum-calls registradas, el porcentaje de fallos llega a
+ * failure-rate-threshold. OPEN: rechaza las llamadas sin ejecutarlas durante open-duration.
+ * HALF_OPEN: deja pasar half-open-calls llamadas de prueba; si todas terminan bien vuelve
+ * a CLOSED y ante el primer fallo vuelve a OPEN.</p>
+ *
+ * <p>Cada llamada permitida por {@link #tryAcquirePermission()} debe terminar con
+ * {@link #onSuccess()}, {@link #onFailure()} o {@link #releasePermission()} (si no llegó a
+ * ejecutarse).</p>
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Ventana circular con el resultado de las últimas llamadas (true = fallo)
+    private final boolean[] outcomes;
+    private int nextOutcome;
+    private int recordedCalls;
+    private int recordedFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls) {
+        this.name = name;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Pide permiso para ejecutar una llamada.
+     *
+     * @return true si la llamada puede ejecutarse, false si el circuito la rechaza
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    /**
+     * Registra una llamada exitosa.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenSucceeded++;
+            if (halfOpenSucceeded >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Registra una llamada fallida (error de conexión, timeout o respuesta 5xx).
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && recordedFailures * 100 >= failureRateThreshold * recordedCalls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Devuelve un permiso de una llamada que no llegó a ejecutarse, sin registrar resultado.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    /**
+     * Estado actual del circuito.
+     *
+     * @return CLOSED, OPEN o HALF_OPEN
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Tiempo que falta para que el circuito abierto deje pasar llamadas de prueba.
+     *
+     * @return Duración restante, o cero si el circuito no está abierto
+     */
+    public synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openDurationNanos - (System.nanoTime() - openedAtNanos)));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                recordedFailures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            recordedFailures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        nextOutcome = 0;
+        recordedCalls = 0;
+        recordedFailures = 0;
+    }
+}
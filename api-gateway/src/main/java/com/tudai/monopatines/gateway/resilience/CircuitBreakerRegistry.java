@@ -0,0 +1,77 @@
+package com.tudai.monopatines.gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breakers del gateway, uno por nombre (normalmente el servicio destino).
+ * Las rutas que usan el mismo nombre comparten el circuito.
+ *
+ * <p>Métricas por breaker (tag name): gateway.circuitbreaker.state (0 = CLOSED,
+ * 1 = OPEN, 2 = HALF_OPEN) y gateway.circuitbreaker.short-circuited (llamadas rechazadas
+ * con el circuito abierto).</p>
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Map<String, CircuitBreaker> breakersByName = new ConcurrentHashMap<>();
+    private final Map<String, Counter> shortCircuitedByName = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(MeterRegistry meterRegistry,
+                                  @Value("${gateway.circuit-breaker.window-size:50}") int windowSize,
+                                  @Value("${gateway.circuit-breaker.minimum-calls:20}") int minimumCalls,
+                                  @Value("${gateway.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                                  @Value("${gateway.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+                                  @Value("${gateway.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.meterRegistry = meterRegistry;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = Duration.ofMillis(openDurationMs);
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Obtiene el circuit breaker con el nombre indicado, creándolo si no existe.
+     *
+     * @param name Nombre del circuito
+     * @return Circuit breaker
+     */
+    public CircuitBreaker get(String name) {
+        return breakersByName.computeIfAbsent(name, n -> {
+            CircuitBreaker breaker = new CircuitBreaker(n, windowSize, minimumCalls, failureRateThreshold,
+                    openDuration, halfOpenCalls);
+            Gauge.builder("gateway.circuitbreaker.state", breaker, b -> b.getState().ordinal())
+                    .description("Estado del circuito: 0 CLOSED, 1 OPEN, 2 HALF_OPEN")
+                    .tag("name", n)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    /**
+     * Registra una llamada rechazada por el circuito abierto.
+     *
+     * @param name Nombre del circuito
+     */
+    public void recordShortCircuited(String name) {
+        shortCircuitedByName.computeIfAbsent(name, n -> Counter.builder("gateway.circuitbreaker.short-circuited")
+                        .description("Requests rechazados con el circuito abierto")
+                        .tag("name", n)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,56 @@
+package com.tudai.monopatines.gateway.resilience;
+
+/**
+ * Presupuesto de reintentos de una ruta (token bucket).
+ *
+ * <p>Cada request deposita ratio tokens y cada reintento consume uno, así los reintentos
+ * quedan acotados a una fracción del tráfico. Además se recargan min-retries-per-second
+ * tokens por segundo para que una ruta con poco tráfico pueda reintentar. El saldo no
+ * supera max-tokens: cuando el servicio falla en masa, los reintentos se agotan rápido
+ * en lugar de multiplicar la carga.</p>
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double minRetriesPerSecond;
+    private final double maxTokens;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RetryBudget(double ratio, double minRetriesPerSecond, double maxTokens) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Registra un request original (no reintento).
+     */
+    public synchronized void recordRequest() {
+        refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * Consume un token para reintentar.
+     *
+     * @return true si queda presupuesto para el reintento
+     */
+    public synchronized boolean tryAcquireRetry() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * minRetriesPerSecond);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tudai.monopatines.gateway.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Identidad del usuario extraída de un token JWT ya verificado en el gateway.
+ *
+ * <p>Es inmutable y se reenvía a los servicios en headers firmados
+ * (ver {@link IdentityHeaderSigner}).</p>
+ */
+public final class GatewayIdentity {
+
+    private final Long userId;
+    private final List<String> roles;
+    private final Instant expiresAt;
+
+    public GatewayIdentity(Long userId, List<String> roles, Instant expiresAt) {
+        this.userId = userId;
+        this.roles = List.copyOf(roles);
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tudai.monopatines.gateway.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Firma la identidad que el gateway reenvía a los servicios.
+ *
+ * <p>Los headers X-Gateway-User-Id, X-Gateway-User-Roles y X-Gateway-Identity-Expires
+ * se firman con HMAC-SHA256 (header X-Gateway-Identity-Signature) usando un secreto
+ * compartido con los servicios. Así un servicio puede aceptar la identidad con un solo
+ * HMAC sobre un texto corto, sin volver a parsear y verificar el JWT, y un cliente que
+ * llame directo al servicio no puede falsificarla.</p>
+ *
+ * <p>El texto firmado es "userId|roles|expires" (roles separados por coma).</p>
+ *
+ * <p>Si gateway.identity.secret no está configurado la firma queda deshabilitada: el gateway
+ * no reenvía identidad y cada servicio verifica el JWT del header Authorization.</p>
+ */
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String USER_ID_HEADER = "X-Gateway-User-Id";
+    public static final String ROLES_HEADER = "X-Gateway-User-Roles";
+    public static final String EXPIRES_HEADER = "X-Gateway-Identity-Expires";
+    public static final String SIGNATURE_HEADER = "X-Gateway-Identity-Signature";
+
+    private static final Logger log = LoggerFactory.getLogger(IdentityHeaderSigner.class);
+
+    private final ThreadLocal<Mac> mac;
+
+    public IdentityHeaderSigner(@Value("${gateway.identity.secret:}") String secret) {
+        if (secret.isBlank()) {
+            log.warn("gateway.identity.secret is not set: identity headers are disabled, services will verify the JWT");
+            this.mac = null;
+            return;
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 not available", e);
+            }
+        });
+    }
+
+    /**
+     * Indica si hay un secreto configurado para firmar la identidad.
+     *
+     * @return true si la identidad se puede reenviar firmada
+     */
+    public boolean isEnabled() {
+        return mac != null;
+    }
+
+    /**
+     * Calcula la firma de una identidad.
+     *
+     * @param userId ID del usuario
+     * @param roles Roles separados por coma
+     * @param expiresEpochSecond Expiración del token (segundos desde epoch)
+     * @return Firma en Base64 URL-safe
+     * @throws IllegalStateException si la firma está deshabilitada (ver {@link #isEnabled()})
+     */
+    public String sign(String userId, String roles, String expiresEpochSecond) {
+        if (mac == null) {
+            throw new IllegalStateException("Identity signing is disabled: gateway.identity.secret is not set");
+        }
+        String payload = userId + "|" + roles + "|" + expiresEpochSecond;
+        byte[] signature = mac.get().doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+}
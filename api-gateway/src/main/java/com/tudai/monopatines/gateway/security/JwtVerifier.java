@@ -0,0 +1,121 @@
+package com.tudai.monopatines.gateway.security;
+
+import com.tudai.monopatines.gateway.util.LruCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Verifica tokens JWT en el gateway.
+ *
+ * <p>El parser se construye una sola vez. Los tokens ya verificados se guardan en un
+ * cache LRU (hash del token -> identidad) hasta su expiración, así los clientes que
+ * reutilizan el mismo token no pagan la verificación de la firma en cada request.</p>
+ *
+ * <p>Métricas: gateway.jwt.cache.requests (tag result=hit|miss) y gateway.jwt.rejected.</p>
+ */
+@Component
+public class JwtVerifier {
+
+    private final JwtParser parser;
+    private final LruCache<String, GatewayIdentity> identitiesByTokenHash;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+
+    public JwtVerifier(@Value("${gateway.jwt.secret}") String secret,
+                       @Value("${gateway.jwt.cache-size:10000}") int cacheSize,
+                       MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.identitiesByTokenHash = new LruCache<>(cacheSize);
+        this.hits = Counter.builder("gateway.jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("gateway.jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.rejected = Counter.builder("gateway.jwt.rejected")
+                .description("Requests rechazados en el gateway por token inválido").register(meterRegistry);
+    }
+
+    /**
+     * Verifica un token y extrae la identidad del usuario.
+     *
+     * @param token Token JWT (sin el prefijo "Bearer ")
+     * @return Optional con la identidad, o vacío si el token es inválido, expiró o no tiene expiración
+     */
+    public Optional<GatewayIdentity> verify(String token) {
+        String tokenHash = hash(token);
+        GatewayIdentity cached = identitiesByTokenHash.get(tokenHash);
+        if (cached != null) {
+            if (Instant.now().isBefore(cached.getExpiresAt())) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            identitiesByTokenHash.remove(tokenHash);
+        }
+
+        misses.increment();
+        Optional<GatewayIdentity> identity = parse(token);
+        if (identity.isEmpty()) {
+            rejected.increment();
+        } else {
+            identitiesByTokenHash.put(tokenHash, identity.get());
+        }
+        return identity;
+    }
+
+    private Optional<GatewayIdentity> parse(String token) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        Long userId;
+        try {
+            userId = Long.parseLong(claims.getSubject());
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        List<String> roles = new ArrayList<>();
+        if (claims.get("roles") instanceof List<?> roleClaims) {
+            for (Object role : roleClaims) {
+                roles.add(String.valueOf(role));
+            }
+        }
+
+        // Los tokens de auth-service siempre tienen expiración; sin ella no se puede acotar
+        // la validez de la identidad reenviada
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new GatewayIdentity(userId, roles, expiration.toInstant()));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
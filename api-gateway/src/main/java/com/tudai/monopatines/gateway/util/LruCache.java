@@ -0,0 +1,80 @@
+package com.tudai.monopatines.gateway.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Cache en memoria de tamaño acotado con política LRU.
+ *
+ * <p>Cuando se alcanza la capacidad máxima se descarta la entrada usada hace más
+ * tiempo. Es thread-safe: todas las operaciones se sincronizan sobre la instancia.</p>
+ *
+ * @param <K> Tipo de la clave
+ * @param <V> Tipo del valor
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    /**
+     * Crea un cache LRU con la capacidad indicada.
+     *
+     * @param maxSize Cantidad máxima de entradas
+     */
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Obtiene un valor del cache o lo crea si no existe, en una sola operación atómica.
+     *
+     * @param key Clave
+     * @param factory Crea el valor si la clave no está en el cache
+     * @return Valor existente o creado
+     */
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        return entries.computeIfAbsent(key, factory);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Elimina las entradas que cumplen la condición. Recorre todo el cache.
+     *
+     * @param filter Condición sobre la clave y el valor
+     * @return Cantidad de entradas eliminadas
+     */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> filter) {
+        int before = entries.size();
+        entries.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue()));
+        return before - entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.tudai.monopatines.gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    private static final byte[] BODY = "{\"id\":5}".getBytes(StandardCharsets.UTF_8);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResponseCache cache = new ResponseCache(100, 60_000, 1024, meterRegistry);
+
+    @Test
+    void writeInvalidatesOnlyTheAffectedResource() {
+        put("1|/api/accounts/5", "/api/accounts/5");
+        put("1|/api/accounts/5/active", "/api/accounts/5");
+        put("1|/api/accounts/6", "/api/accounts/6");
+
+        cache.invalidate("/api/accounts/5");
+
+        assertNull(cache.get("1|/api/accounts/5"));
+        assertNull(cache.get("1|/api/accounts/5/active"));
+        assertNotNull(cache.get("1|/api/accounts/6"));
+    }
+
+    @Test
+    void responseRequestedBeforeAnInvalidationIsNotStored() {
+        long versionAtRequest = cache.currentVersion();
+        cache.invalidateAll();
+
+        cache.put("1|/api/accounts/5", BODY, MediaType.APPLICATION_JSON, ResponseCache.etagFor(BODY),
+                "/api/accounts/5", versionAtRequest);
+
+        assertNull(cache.get("1|/api/accounts/5"));
+    }
+
+    @Test
+    void expiredAndOversizedResponsesAreNotServed() {
+        ResponseCache shortLived = new ResponseCache(100, 0, 4, meterRegistry);
+        shortLived.put("k", new byte[2], MediaType.APPLICATION_JSON, "\"a\"", null, shortLived.currentVersion());
+        assertNull(shortLived.get("k"));
+
+        cache.put("k", new byte[2048], MediaType.APPLICATION_JSON, "\"a\"", null, cache.currentVersion());
+        assertNull(cache.get("k"));
+    }
+
+    @Test
+    void etagMatchesIfNoneMatchHeader() {
+        String etag = ResponseCache.etagFor(BODY);
+
+        assertEquals(etag, ResponseCache.etagFor(BODY.clone()));
+        assertTrue(ResponseCache.matches(etag, etag));
+        assertTrue(ResponseCache.matches("\"other\", W/" + etag, etag));
+        assertTrue(ResponseCache.matches("*", etag));
+        assertFalse(ResponseCache.matches("\"other\"", etag));
+        assertFalse(ResponseCache.matches(null, etag));
+    }
+
+    @Test
+    void hitsAndBytesSavedAreExported() {
+        cache.recordHit(BODY.length);
+        cache.recordNotModified(BODY.length);
+        cache.recordMiss();
+
+        assertEquals(1.0, meterRegistry.get("gateway.response-cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2.0 * BODY.length, meterRegistry.get("gateway.response-cache.bytes-saved").counter().count());
+    }
+
+    private void put(String key, String resourceRoot) {
+        cache.put(key, BODY, MediaType.APPLICATION_JSON, ResponseCache.etagFor(BODY), resourceRoot,
+                cache.currentVersion());
+    }
+}
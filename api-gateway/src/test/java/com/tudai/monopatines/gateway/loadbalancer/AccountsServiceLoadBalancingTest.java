@@ -0,0 +1,108 @@
+package com.tudai.monopatines.gateway.loadbalancer;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Levanta tres instancias de accounts-service (stubs en puertos distintos) detrás de la
+ * ruta lb://accounts-service y verifica que el gateway reparte los requests entre ellas y
+ * deja de enviar tráfico a una instancia caída.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "gateway.load-balancer.strategies.accounts-service=round-robin",
+                "gateway.load-balancer.health-check.interval-ms=60000"
+        })
+class AccountsServiceLoadBalancingTest {
+
+    private static final List<HttpServer> instances = List.of(startInstance(), startInstance(), startInstance());
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void instances(DynamicPropertyRegistry registry) {
+        for (int i = 0; i < instances.size(); i++) {
+            int port = instances.get(i).getAddress().getPort();
+            registry.add("spring.cloud.discovery.client.simple.instances.accounts-service[" + i + "].uri",
+                    () -> "http://127.0.0.1:" + port);
+        }
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        instances.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void spreadsRequestsAndSkipsUnreachableInstance() {
+        Map<String, Integer> callsByPort = new HashMap<>();
+        for (int i = 0; i < 30; i++) {
+            callsByPort.merge(getUsers(), 1, Integer::sum);
+        }
+        assertEquals(3, callsByPort.size());
+        callsByPort.values().forEach(calls -> assertEquals(10, calls));
+
+        String stoppedPort = String.valueOf(instances.get(2).getAddress().getPort());
+        instances.get(2).stop(0);
+
+        // El primer request que cae en la instancia caída falla y la saca del balanceo
+        int failures = 0;
+        callsByPort.clear();
+        for (int i = 0; i < 30; i++) {
+            try {
+                callsByPort.merge(getUsers(), 1, Integer::sum);
+            } catch (AssertionError e) {
+                failures++;
+            }
+        }
+        assertTrue(failures <= 1, "failures: " + failures);
+        assertFalse(callsByPort.containsKey(stoppedPort));
+        assertEquals(2, callsByPort.size());
+    }
+
+    private String getUsers() {
+        return webTestClient.get()
+                .uri("/api/accounts/users")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.OK)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static HttpServer startInstance() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/accounts/users", exchange -> {
+                byte[] body = String.valueOf(server.getAddress().getPort()).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
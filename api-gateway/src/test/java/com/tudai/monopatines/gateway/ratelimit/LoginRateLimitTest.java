@@ -0,0 +1,142 @@
+package com.tudai.monopatines.gateway.ratelimit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inunda la ruta de login del gateway (con los mismos filtros que application.yml) y verifica
+ * que las llamadas que llegan al servicio quedan acotadas por los rate limiters por email y
+ * por IP (el resto se responde 429 en el gateway).
+ *
+ * Todos los requests salen de la misma IP, así que cada prueba usa un contexto nuevo
+ * (buckets vacíos).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LoginRateLimitTest {
+
+    private static final int EMAIL_BURST_CAPACITY = 5;
+    private static final int IP_REPLENISH_RATE = 2;
+    private static final int IP_BURST_CAPACITY = 10;
+    private static final int FLOOD_REQUESTS = 50;
+
+    private static final AtomicInteger backendCalls = new AtomicInteger();
+    private static final HttpServer backend = startBackend();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        String prefix = "spring.cloud.gateway.routes[0].";
+        registry.add(prefix + "id", () -> "auth-service-login");
+        registry.add(prefix + "uri", () -> "http://127.0.0.1:" + backend.getAddress().getPort());
+        registry.add(prefix + "predicates[0]", () -> "Path=/api/auth/login");
+        registry.add(prefix + "filters[0].name", () -> "RequestRateLimiter");
+        registry.add(prefix + "filters[0].args.rate-limiter", () -> "#{@ipRateLimiter}");
+        registry.add(prefix + "filters[0].args.key-resolver", () -> "#{@clientIpKeyResolver}");
+        registry.add(prefix + "filters[0].args.ip-rate-limiter.replenishRate", () -> String.valueOf(IP_REPLENISH_RATE));
+        registry.add(prefix + "filters[0].args.ip-rate-limiter.burstCapacity", () -> String.valueOf(IP_BURST_CAPACITY));
+        registry.add(prefix + "filters[1].name", () -> "CacheRequestBody");
+        registry.add(prefix + "filters[1].args.bodyClass", () -> "java.lang.String");
+        registry.add(prefix + "filters[2].name", () -> "RequestRateLimiter");
+        registry.add(prefix + "filters[2].args.rate-limiter", () -> "#{@inMemoryRateLimiter}");
+        registry.add(prefix + "filters[2].args.key-resolver", () -> "#{@loginEmailKeyResolver}");
+        registry.add(prefix + "filters[2].args.in-memory-rate-limiter.replenishRate", () -> "1");
+        registry.add(prefix + "filters[2].args.in-memory-rate-limiter.burstCapacity", () -> String.valueOf(EMAIL_BURST_CAPACITY));
+    }
+
+    @BeforeEach
+    void resetCalls() {
+        backendCalls.set(0);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.stop(0);
+    }
+
+    @Test
+    void floodOnOneEmailIsStoppedAtTheGateway() {
+        int rejected = 0;
+        for (int i = 0; i < FLOOD_REQUESTS; i++) {
+            HttpStatus status = login("victim@test.com");
+            if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                rejected++;
+            }
+        }
+
+        // La ráfaga permitida más lo que se recargue durante la prueba (1 por segundo)
+        assertTrue(backendCalls.get() <= EMAIL_BURST_CAPACITY + 2, "backend calls: " + backendCalls.get());
+        assertEquals(FLOOD_REQUESTS - backendCalls.get(), rejected);
+
+        // La inundación también agotó el límite de la IP: otro email desde la misma IP se rechaza
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, login("other@test.com"));
+    }
+
+    @Test
+    void floodOfDistinctEmailsFromOneIpIsStoppedAtTheGateway() {
+        int rejected = 0;
+        for (int i = 0; i < FLOOD_REQUESTS; i++) {
+            HttpStatus status = login("user" + i + "@test.com");
+            if (status == HttpStatus.TOO_MANY_REQUESTS) {
+                rejected++;
+            }
+        }
+
+        // Cada email está dentro de su límite; lo que corta es el límite por IP (ráfaga más recarga)
+        assertTrue(backendCalls.get() <= IP_BURST_CAPACITY + 2 * IP_REPLENISH_RATE,
+                "backend calls: " + backendCalls.get());
+        assertTrue(rejected > 0);
+        assertEquals(FLOOD_REQUESTS - backendCalls.get(), rejected);
+    }
+
+    private HttpStatus login(String email) {
+        return HttpStatus.valueOf(webTestClient.post()
+                .uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"email\":\"" + email + "\",\"password\":\"secret\"}")
+                .exchange()
+                .returnResult(String.class)
+                .getStatus()
+                .value());
+    }
+
+    private static HttpServer startBackend() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/auth/login", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                backendCalls.incrementAndGet();
+                byte[] body = "{\"token\":\"t\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
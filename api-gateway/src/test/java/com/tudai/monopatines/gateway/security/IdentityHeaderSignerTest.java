@@ -0,0 +1,29 @@
+package com.tudai.monopatines.gateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityHeaderSignerTest {
+
+    @Test
+    void signsIdentityWithConfiguredSecret() {
+        IdentityHeaderSigner signer = new IdentityHeaderSigner("secreto-compartido-de-prueba");
+
+        assertTrue(signer.isEnabled());
+        assertEquals(signer.sign("42", "ROLE_USER", "1700000000"), signer.sign("42", "ROLE_USER", "1700000000"));
+        assertNotEquals(signer.sign("42", "ROLE_USER", "1700000000"), signer.sign("42", "ROLE_ADMIN", "1700000000"));
+    }
+
+    @Test
+    void isDisabledWithoutSecret() {
+        IdentityHeaderSigner signer = new IdentityHeaderSigner("");
+
+        assertFalse(signer.isEnabled());
+        assertThrows(IllegalStateException.class, () -> signer.sign("42", "ROLE_USER", "1700000000"));
+    }
+}
@@ -6,8 +6,23 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class AuthServiceApplication {
 
+	/**
+	 * Segundos que una conexión ociosa del HttpClient hacia accounts-service queda abierta.
+	 * El JDK la lee una sola vez, al crear el primer HttpClient del proceso, por eso se fija
+	 * acá antes de iniciar Spring; un -Djdk.httpclient.keepalive.timeout explícito tiene prioridad.
+	 */
+	static final String KEEP_ALIVE_TIMEOUT_PROPERTY = "jdk.httpclient.keepalive.timeout";
+	static final String DEFAULT_KEEP_ALIVE_TIMEOUT_SECONDS = "30";
+
 	public static void main(String[] args) {
+		configureHttpClientKeepAlive();
 		SpringApplication.run(AuthServiceApplication.class, args);
 	}
 
+	static void configureHttpClientKeepAlive() {
+		if (System.getProperty(KEEP_ALIVE_TIMEOUT_PROPERTY) == null) {
+			System.setProperty(KEEP_ALIVE_TIMEOUT_PROPERTY, DEFAULT_KEEP_ALIVE_TIMEOUT_SECONDS);
+		}
+	}
+
 }
@@ -1,118 +1,178 @@
 package com.tudai.monopatines.auth_service.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tudai.monopatines.auth_service.config.AccountsServiceCircuitBreaker;
+import com.tudai.monopatines.auth_service.config.AccountsServiceConnectionLimiter;
 import com.tudai.monopatines.auth_service.dto.CreateUserRequest;
 import com.tudai.monopatines.auth_service.dto.UserResponse;
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import com.tudai.monopatines.auth_service.exception.InvalidCredentialsException;
 import com.tudai.monopatines.auth_service.exception.UserAlreadyExistsException;
 import com.tudai.monopatines.auth_service.exception.UserNotFoundException;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 /**
- * Cliente HTTP para consumir accounts-service usando RestTemplate.
+ * Cliente HTTP para consumir accounts-service.
+ * 
+ * Las llamadas del login y del registro son asíncronas (HttpClient.sendAsync del JDK):
+ * el hilo que atiende el request no queda bloqueado mientras accounts-service responde.
+ * 
+ * Todas las llamadas pasan por AccountsServiceCircuitBreaker: si accounts-service viene
+ * fallando se rechazan al instante con AccountsServiceUnavailableException (HTTP 503),
+ * igual que los errores de conexión, los timeouts y las respuestas 5xx.
  */
 @Component
 public class AccountsServiceClient {
 
-    private final RestTemplate restTemplate;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final AccountsServiceConnectionLimiter connectionLimiter;
+    private final AccountsServiceCircuitBreaker circuitBreaker;
     private final String baseUrl;
-
-    public AccountsServiceClient(RestTemplate restTemplate, @Value("${accounts.service.url}") String baseUrl) {
-        this.restTemplate = restTemplate;
+    private final Duration responseTimeout;
+
+    public AccountsServiceClient(HttpClient accountsServiceHttpClient,
+                                 ObjectMapper objectMapper,
+                                 AccountsServiceConnectionLimiter connectionLimiter,
+                                 AccountsServiceCircuitBreaker circuitBreaker,
+                                 @Value("${accounts.service.url}") String baseUrl,
+                                 @Value("${accounts.service.http.response-timeout-ms:5000}") long responseTimeoutMs) {
+        this.httpClient = accountsServiceHttpClient;
+        this.objectMapper = objectMapper;
+        this.connectionLimiter = connectionLimiter;
+        this.circuitBreaker = circuitBreaker;
         this.baseUrl = baseUrl;
+        this.responseTimeout = Duration.ofMillis(responseTimeoutMs);
     }
 
     /**
-     * Obtiene un usuario por email desde accounts-service.
+     * Crea un usuario en accounts-service.
      * 
-     * @param email Email del usuario
-     * @return UserResponse con los datos del usuario y sus roles
-     * @throws UserNotFoundException si el usuario no existe
+     * @param request Datos del usuario a crear (con password ya hasheada)
+     * @return Future con el UserResponse del usuario creado. Se completa con
+     *         UserAlreadyExistsException si el usuario ya existe
      */
-    public UserResponse getUserByEmail(String email) {
-        try {
-            String url = baseUrl + "/api/accounts/users?email={email}";
-            return restTemplate.getForObject(url, UserResponse.class, email);
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new UserNotFoundException(email, "User not found");
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Error calling accounts-service: " + e.getMessage());
-        }
+    public CompletableFuture<UserResponse> createUser(CreateUserRequest request) {
+        return postAsync("/api/accounts/users", request, UserResponse.class, response -> {
+            if (response.statusCode() == HttpStatus.CONFLICT.value()) {
+                return UserAlreadyExistsException.forEmail(request.getEmail());
+            }
+            return new RuntimeException("Error creating user in accounts-service: " + describe(response));
+        });
     }
 
     /**
-     * Crea un usuario en accounts-service.
+     * Autentica un usuario en accounts-service: valida el password y obtiene
+     * el usuario con sus roles en una sola llamada.
      * 
-     * @param request Datos del usuario a crear (con password ya hasheada)
-     * @return UserResponse con el usuario creado
-     * @throws UserAlreadyExistsException si el usuario ya existe
+     * @param email    Email del usuario
+     * @param password Password a validar
+     * @return Future con el UserResponse del usuario y sus roles. Se completa con
+     *         UserNotFoundException si el usuario no existe o con
+     *         InvalidCredentialsException si el password no es válido
      */
-    public UserResponse createUser(CreateUserRequest request) {
-        try {
-            String url = baseUrl + "/api/accounts/users";
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<CreateUserRequest> httpEntity = new HttpEntity<>(request, headers);
-
-            ResponseEntity<UserResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    httpEntity,
-                    UserResponse.class);
-
-            return response.getBody();
-        } catch (HttpClientErrorException.Conflict e) {
-            throw UserAlreadyExistsException.forEmail(request.getEmail());
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Error creating user in accounts-service: " + e.getMessage());
-        }
+    public CompletableFuture<UserResponse> authenticate(String email, String password) {
+        Map<String, String> request = new HashMap<>();
+        request.put("email", email);
+        request.put("password", password);
+
+        return postAsync("/api/accounts/users/authenticate", request, UserResponse.class, response -> {
+            if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                return new UserNotFoundException(email, "User not found");
+            }
+            if (response.statusCode() == HttpStatus.UNAUTHORIZED.value()) {
+                return InvalidCredentialsException.forEmail(email);
+            }
+            return new RuntimeException("Error authenticating user in accounts-service: " + describe(response));
+        });
     }
 
     /**
-     * Valida el password de un usuario.
+     * Envía un POST asíncrono con body JSON a accounts-service.
+     * Si no hay lugar libre en el límite de conexiones espera hasta acquire-timeout-ms,
+     * sin bloquear el hilo que la llama.
      * 
-     * @param email    Email del usuario
-     * @param password Password a validar
-     * @return true si el password es válido, false en caso contrario
-     * @throws UserNotFoundException si el usuario no existe
+     * @param path Path del endpoint
+     * @param body Body a serializar como JSON
+     * @param responseType Tipo de la respuesta esperada
+     * @param errorMapper Convierte una respuesta con status de error en la excepción a lanzar
+     * @return Future con la respuesta deserializada
      */
-    public boolean validatePassword(String email, String password) {
+    private <T> CompletableFuture<T> postAsync(String path, Object body, Class<T> responseType,
+                                               Function<HttpResponse<byte[]>, RuntimeException> errorMapper) {
+        HttpRequest request;
         try {
-            String url = baseUrl + "/api/accounts/users/validate-password";
-
-            Map<String, String> request = new HashMap<>();
-            request.put("email", email);
-            request.put("password", password);
+            request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(responseTimeout)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("Accept", MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new RuntimeException("Error serializing request: " + e.getMessage()));
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (AccountsServiceUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            HttpEntity<Map<String, String>> httpEntity = new HttpEntity<>(request, headers);
+        return connectionLimiter.acquireAsync()
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        // Sin lugar libre a tiempo: la llamada no llegó a accounts-service
+                        circuitBreaker.releasePermission();
+                    }
+                })
+                .thenCompose(ignored -> send(request, responseType, errorMapper));
+    }
 
-            ResponseEntity<Boolean> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    httpEntity,
-                    Boolean.class);
+    private <T> CompletableFuture<T> send(HttpRequest request, Class<T> responseType,
+                                          Function<HttpResponse<byte[]>, RuntimeException> errorMapper) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, ex) -> connectionLimiter.release())
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        circuitBreaker.onFailure();
+                        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        throw new AccountsServiceUnavailableException(
+                                "Error calling accounts-service: " + cause.getMessage());
+                    }
+                    if (response.statusCode() >= 500) {
+                        circuitBreaker.onFailure();
+                        throw new AccountsServiceUnavailableException(
+                                "Error calling accounts-service: " + describe(response));
+                    }
+                    circuitBreaker.onSuccess();
+                    if (response.statusCode() / 100 != 2) {
+                        throw errorMapper.apply(response);
+                    }
+                    try {
+                        return objectMapper.readValue(response.body(), responseType);
+                    } catch (IOException e) {
+                        throw new RuntimeException("Error reading accounts-service response: " + e.getMessage());
+                    }
+                });
+    }
 
-            return response.getBody() != null && response.getBody();
-        } catch (HttpClientErrorException.NotFound e) {
-            throw new UserNotFoundException(email, "User not found");
-        } catch (HttpClientErrorException e) {
-            throw new RuntimeException("Error validating password in accounts-service: " + e.getMessage());
-        }
+    private static String describe(HttpResponse<byte[]> response) {
+        return response.statusCode() + " " + new String(response.body());
     }
 }
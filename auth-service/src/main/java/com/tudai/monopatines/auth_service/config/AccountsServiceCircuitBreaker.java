@@ -0,0 +1,170 @@
+package com.tudai.monopatines.auth_service.config;
+
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker de las llamadas a accounts-service.
+ *
+ * Registra el resultado de las últimas window-size llamadas. Con al menos minimum-calls
+ * registradas y failure-rate-threshold % de fallos (error de conexión, timeout o respuesta
+ * 5xx) el circuito se abre: durante open-duration-ms las llamadas se rechazan al instante
+ * con AccountsServiceUnavailableException (HTTP 503) en lugar de esperar a un servicio
+ * caído. Luego deja pasar half-open-calls llamadas de prueba; si todas terminan bien el
+ * circuito se cierra y ante el primer fallo se vuelve a abrir.
+ *
+ * Cada llamada permitida por acquirePermission() debe terminar con onSuccess(), onFailure()
+ * o releasePermission() si no llegó a ejecutarse.
+ *
+ * Métricas: accounts.client.circuitbreaker.state (0 = CLOSED, 1 = OPEN, 2 = HALF_OPEN) y
+ * accounts.client.circuitbreaker.short-circuited.
+ */
+@Component
+public class AccountsServiceCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final Counter shortCircuited;
+
+    // Ventana circular con el resultado de las últimas llamadas (true = fallo)
+    private final boolean[] outcomes;
+    private int nextOutcome;
+    private int recordedCalls;
+    private int recordedFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+
+    public AccountsServiceCircuitBreaker(
+            @Value("${accounts.service.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${accounts.service.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${accounts.service.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${accounts.service.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${accounts.service.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            MeterRegistry meterRegistry) {
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationMs * 1_000_000;
+        this.halfOpenCalls = halfOpenCalls;
+
+        Gauge.builder("accounts.client.circuitbreaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("Estado del circuito hacia accounts-service: 0 CLOSED, 1 OPEN, 2 HALF_OPEN")
+                .register(meterRegistry);
+        this.shortCircuited = Counter.builder("accounts.client.circuitbreaker.short-circuited")
+                .description("Llamadas rechazadas con el circuito abierto").register(meterRegistry);
+    }
+
+    /**
+     * Pide permiso para llamar a accounts-service.
+     *
+     * @throws AccountsServiceUnavailableException si el circuito está abierto
+     */
+    public void acquirePermission() {
+        if (!tryAcquirePermission()) {
+            shortCircuited.increment();
+            throw new AccountsServiceUnavailableException("Circuit breaker open for accounts-service");
+        }
+    }
+
+    /**
+     * Registra una llamada exitosa (incluye respuestas 4xx, que son resultados de negocio).
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenSucceeded++;
+            if (halfOpenSucceeded >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * Registra una llamada fallida (error de conexión, timeout o respuesta 5xx).
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && recordedFailures * 100 >= failureRateThreshold * recordedCalls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * Devuelve el permiso de una llamada que no llegó a ejecutarse, sin registrar resultado.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    /**
+     * Estado actual del circuito.
+     *
+     * @return CLOSED, OPEN o HALF_OPEN
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    private void record(boolean failure) {
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                recordedFailures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            recordedFailures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        nextOutcome = 0;
+        recordedCalls = 0;
+        recordedFailures = 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tudai.monopatines.auth_service.config;
+
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Limita la cantidad de llamadas simultáneas a accounts-service (equivalente al
+ * máximo de conexiones por ruta de un pool) y publica su uso como métricas.
+ * 
+ * Las llamadas esperan un lugar libre sin bloquear el hilo que las inicia: acquireAsync()
+ * devuelve un future que se completa cuando se libera un lugar. Si no hay lugar libre dentro
+ * de acquire-timeout-ms, la llamada se rechaza con AccountsServiceUnavailableException
+ * (HTTP 503) en lugar de quedar encolada sin límite.
+ * 
+ * Métricas: accounts.client.connections.active, accounts.client.connections.max,
+ * accounts.client.connections.pending, accounts.client.connections.rejected y
+ * accounts.client.connections.acquire (tiempo de espera por un lugar libre).
+ */
+@Component
+public class AccountsServiceConnectionLimiter {
+
+    private final Semaphore permits;
+    private final Queue<CompletableFuture<Void>> asyncWaiters = new ConcurrentLinkedQueue<>();
+    private final int maxConnections;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+    private final Timer acquireTimer;
+
+    public AccountsServiceConnectionLimiter(
+            @Value("${accounts.service.http.max-connections:150}") int maxConnections,
+            @Value("${accounts.service.http.acquire-timeout-ms:5000}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+
+        Gauge.builder("accounts.client.connections.active", this, AccountsServiceConnectionLimiter::getActiveConnections)
+                .description("Llamadas en curso a accounts-service").register(meterRegistry);
+        Gauge.builder("accounts.client.connections.max", this, limiter -> limiter.maxConnections)
+                .description("Máximo de llamadas simultáneas a accounts-service").register(meterRegistry);
+        Gauge.builder("accounts.client.connections.pending", this,
+                        limiter -> limiter.asyncWaiters.size())
+                .description("Llamadas esperando un lugar libre").register(meterRegistry);
+        this.rejected = Counter.builder("accounts.client.connections.rejected")
+                .description("Llamadas rechazadas por falta de lugar libre").register(meterRegistry);
+        this.acquireTimer = Timer.builder("accounts.client.connections.acquire")
+                .description("Tiempo de espera por un lugar libre").register(meterRegistry);
+    }
+
+    /**
+     * Reserva un lugar para una llamada asíncrona sin bloquear al hilo que la inicia.
+     * Si no hay lugar libre, el future se completa cuando se libera uno o, pasado
+     * acquire-timeout-ms, con AccountsServiceUnavailableException.
+     * Debe liberarse con release() cuando la llamada termina.
+     * 
+     * @return Future que se completa al obtener el lugar
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        if (permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        asyncWaiters.add(waiter);
+        // Un lugar liberado entre el tryAcquire y el encolado no le llega a este waiter
+        if (permits.tryAcquire() && !waiter.complete(null)) {
+            // release() ya le había pasado un lugar: sobra el que acabamos de tomar
+            release();
+        }
+        return waiter.orTimeout(acquireTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, ex) -> {
+                    acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    asyncWaiters.remove(waiter);
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof TimeoutException) {
+                        rejected.increment();
+                        throw new AccountsServiceUnavailableException(
+                                "Too many concurrent calls to accounts-service (max " + maxConnections + ")");
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    /**
+     * Libera un lugar. Si hay llamadas asíncronas esperando, el lugar pasa
+     * directamente a la primera de ellas.
+     */
+    public void release() {
+        CompletableFuture<Void> waiter;
+        while ((waiter = asyncWaiters.poll()) != null) {
+            if (waiter.complete(null)) {
+                return;
+            }
+        }
+        permits.release();
+    }
+
+    /**
+     * Cantidad de llamadas en curso a accounts-service.
+     * 
+     * @return Llamadas activas
+     */
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+}
@@ -0,0 +1,38 @@
+package com.tudai.monopatines.auth_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Configuración del HttpClient usado para llamar a accounts-service.
+ * 
+ * Usa el HttpClient del JDK, que reutiliza conexiones (keep-alive) en lugar de abrir
+ * una conexión TCP por llamada, con timeout de conexión; el de respuesta se fija en cada
+ * request (AccountsServiceClient). La cantidad de llamadas simultáneas se limita con
+ * AccountsServiceConnectionLimiter.
+ * 
+ * El tiempo que una conexión ociosa queda abierta es una propiedad del JDK para todo el
+ * proceso (jdk.httpclient.keepalive.timeout); la fija AuthServiceApplication.main antes de
+ * crear cualquier HttpClient.
+ */
+@Configuration
+public class AccountsServiceHttpClientConfig {
+
+    @Value("${accounts.service.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${accounts.service.http.http2-enabled:false}")
+    private boolean http2Enabled;
+
+    @Bean
+    public HttpClient accountsServiceHttpClient() {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .version(http2Enabled ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+}
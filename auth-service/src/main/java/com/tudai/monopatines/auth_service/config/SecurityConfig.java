@@ -1,14 +1,20 @@
 package com.tudai.monopatines.auth_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuración de seguridad para auth-service.
  * Permite todos los endpoints públicos ya que este servicio solo genera tokens.
@@ -29,9 +35,24 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Encoder de passwords con prefijo de algoritmo (ej: "{bcrypt}$2a$12$...").
+     * 
+     * Los hashes nuevos se generan con el algoritmo y el costo configurados. Los hashes
+     * guardados sin prefijo se verifican como BCrypt y se consideran desactualizados
+     * (upgradeEncoding), igual que los generados con un costo menor al actual.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${password.encoding-id:bcrypt}") String encodingId,
+            @Value("${password.bcrypt-strength:10}") int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+        return passwordEncoder;
     }
 }
 
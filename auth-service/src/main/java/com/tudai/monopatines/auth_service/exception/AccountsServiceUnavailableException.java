@@ -0,0 +1,12 @@
+package com.tudai.monopatines.auth_service.exception;
+
+/**
+ * Excepción lanzada cuando no se puede llamar a accounts-service porque está
+ * saturado o no responde a tiempo.
+ */
+public class AccountsServiceUnavailableException extends RuntimeException {
+    
+    public AccountsServiceUnavailableException(String message) {
+        super(message);
+    }
+}
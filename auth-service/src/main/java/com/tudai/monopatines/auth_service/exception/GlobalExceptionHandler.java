@@ -1,5 +1,6 @@
 package com.tudai.monopatines.auth_service.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -64,6 +65,39 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Maneja excepciones de tipo AccountsServiceUnavailableException.
+     * Retorna una respuesta HTTP 503 (Service Unavailable) cuando accounts-service está saturado.
+     */
+    @ExceptionHandler(AccountsServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleAccountsServiceUnavailableException(AccountsServiceUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Maneja excepciones de tipo PasswordHashingUnavailableException.
+     * Retorna una respuesta HTTP 503 (Service Unavailable) con header Retry-After
+     * cuando el pool de hashing de passwords está saturado.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailableException(PasswordHashingUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     /**
      * Maneja excepciones de validación de Spring (MethodArgumentNotValidException).
      * Retorna una respuesta HTTP 400 (Bad Request) con detalles de los errores de validación.
@@ -0,0 +1,12 @@
+package com.tudai.monopatines.auth_service.exception;
+
+/**
+ * Excepción lanzada cuando no se puede hashear un password porque el pool
+ * de hashing está saturado o no terminó a tiempo.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+    
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,131 @@
+package com.tudai.monopatines.auth_service.filter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Access log JSON (una línea por request) en el logger "access-log".
+ *
+ * Se registra una muestra de los requests (access-log.sample-rate); los 5xx, los lentos
+ * (access-log.slow-threshold-ms) y los que tienen debug se registran siempre.
+ *
+ * Debug por request: si el header X-Debug-Log coincide con access-log.debug-token,
+ * el TurboFilter de logback-spring.xml habilita los logs DEBUG solo para ese request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String DEBUG_HEADER = "X-Debug-Log";
+    public static final String DEBUG_MDC_KEY = "debugRequest";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access-log");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final double sampleRate;
+    private final long slowThresholdMs;
+    private final byte[] debugToken;
+
+    public AccessLogFilter(@Value("${access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${access-log.slow-threshold-ms:1000}") long slowThresholdMs,
+                           @Value("${access-log.debug-token:}") String debugToken) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+        this.debugToken = debugToken.isBlank() ? null : debugToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean debug = isDebugRequested(request);
+        if (debug) {
+            MDC.put(DEBUG_MDC_KEY, "on");
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (debug) {
+                MDC.remove(DEBUG_MDC_KEY);
+            }
+            if (request.isAsyncStarted()) {
+                // Respuestas asincronicas (streaming): el status final se conoce al completar
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, start, debug);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, start, debug);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, long start, boolean debug) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        int status = response.getStatus();
+        boolean sampled = status >= 500 || durationMs >= slowThresholdMs || debug
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if (!sampled || !accessLog.isInfoEnabled()) {
+            return;
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", Instant.now().toString());
+        entry.put("method", request.getMethod());
+        entry.put("path", request.getRequestURI());
+        entry.put("status", status);
+        entry.put("durationMs", durationMs);
+        entry.put("clientIp", request.getRemoteAddr());
+        if (debug) {
+            entry.put("debug", true);
+            entry.put("query", request.getQueryString());
+        }
+        try {
+            accessLog.info(objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            accessLog.warn("Could not serialize access log entry for {}", request.getRequestURI());
+        }
+    }
+
+    private boolean isDebugRequested(HttpServletRequest request) {
+        String header = request.getHeader(DEBUG_HEADER);
+        return header != null && debugToken != null
+                && MessageDigest.isEqual(header.getBytes(StandardCharsets.UTF_8), debugToken);
+    }
+}
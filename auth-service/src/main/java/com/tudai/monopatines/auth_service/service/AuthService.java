@@ -2,11 +2,11 @@ package com.tudai.monopatines.auth_service.service;
 
 import com.tudai.monopatines.auth_service.client.AccountsServiceClient;
 import com.tudai.monopatines.auth_service.dto.*;
-import com.tudai.monopatines.auth_service.exception.InvalidCredentialsException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Servicio de autenticación.
  */
@@ -20,59 +20,59 @@ public class AuthService {
     private JwtService jwtService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     /**
      * Autentica un usuario y genera un token JWT.
      * 
+     * No bloquea el hilo que lo llama: el resultado se completa cuando accounts-service responde.
+     * 
      * @param request LoginRequest con email y password
-     * @return LoginResponse con token, userId, email y roles
-     * @throws InvalidCredentialsException si las credenciales son inválidas
+     * @return Future con LoginResponse (token, userId, email y roles). Se completa con
+     *         InvalidCredentialsException si las credenciales son inválidas
      */
-    public LoginResponse login(LoginRequest request) {
-        // Validar password primero
-        boolean isValid = accountsServiceClient.validatePassword(request.getEmail(), request.getPassword());
-        if (!isValid) {
-            throw InvalidCredentialsException.forEmail(request.getEmail());
-        }
-
-        // Obtener usuario desde accounts-service (con roles)
-        UserResponse user = accountsServiceClient.getUserByEmail(request.getEmail());
-
-        // Generar token con userId y roles
-        String token = jwtService.generateToken(user.getId(), user.getRoles());
-
-        return new LoginResponse(token, user.getId(), user.getEmail(), user.getRoles());
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        // Validar password y obtener usuario (con roles) en una sola llamada a accounts-service
+        return accountsServiceClient.authenticate(request.getEmail(), request.getPassword())
+                .thenApply(user -> {
+                    // Generar token con userId y roles
+                    String token = jwtService.generateToken(user.getId(), user.getRoles());
+                    return new LoginResponse(token, user.getId(), user.getEmail(), user.getRoles());
+                });
     }
 
     /**
      * Registra un nuevo usuario.
      * 
+     * No bloquea el hilo que lo llama: el password se hashea en el pool de PasswordHashingService
+     * y después accounts-service crea el usuario.
+     * 
      * @param request RegisterRequest con los datos del usuario
-     * @return RegisterResponse con userId, email y mensaje
-     * @throws RuntimeException si el usuario ya existe
+     * @return Future con RegisterResponse (userId, email y mensaje). Se completa con
+     *         UserAlreadyExistsException si el usuario ya existe o con
+     *         PasswordHashingUnavailableException si el pool de hashing está saturado
      */
-    public RegisterResponse register(RegisterRequest request) {
-        // Hashear password
-        String hashedPassword = passwordEncoder.encode(request.getPassword());
-
-        // Crear request para accounts-service
-        CreateUserRequest createUserRequest = new CreateUserRequest(
-                request.getFirstName(),
-                request.getLastName(),
-                request.getEmail(),
-                request.getPhoneNumber(),
-                hashedPassword
-        );
-
-        // Crear usuario en accounts-service
-        UserResponse user = accountsServiceClient.createUser(createUserRequest);
+    public CompletableFuture<RegisterResponse> register(RegisterRequest request) {
+        // Hashear password fuera del hilo de Tomcat
+        return passwordHashingService.encode(request.getPassword())
+                .thenCompose(hashedPassword -> {
+                    // Crear request para accounts-service
+                    CreateUserRequest createUserRequest = new CreateUserRequest(
+                            request.getFirstName(),
+                            request.getLastName(),
+                            request.getEmail(),
+                            request.getPhoneNumber(),
+                            hashedPassword
+                    );
 
-        return new RegisterResponse(
-                user.getId(),
-                user.getEmail(),
-                "User registered successfully"
-        );
+                    // Crear usuario en accounts-service
+                    return accountsServiceClient.createUser(createUserRequest);
+                })
+                .thenApply(user -> new RegisterResponse(
+                        user.getId(),
+                        user.getEmail(),
+                        "User registered successfully"
+                ));
     }
 }
 
@@ -1,8 +1,12 @@
 package com.tudai.monopatines.auth_service.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -10,9 +14,15 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para generar y validar tokens JWT.
+ * 
+ * La clave de firma, el parser y el serializador JSON se construyen una sola vez al iniciar.
+ * El serializador se pasa explícito a cada builder: si no, jjwt 0.12.3 lo busca con un
+ * ServiceLoader compartido en cada token, y con logins concurrentes esa búsqueda falla
+ * con NoSuchElementException (HTTP 500).
  */
 @Service
 public class JwtService {
@@ -23,6 +33,19 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Serializer<Map<String, ?>> serializer;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        serializer = new JacksonSerializer<>();
+    }
+
     /**
      * Genera un token JWT con el userId y roles.
      * 
@@ -40,10 +63,11 @@ public class JwtService {
                 .build();
 
         return Jwts.builder()
+                .json(serializer)
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -55,10 +79,7 @@ public class JwtService {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -72,11 +93,7 @@ public class JwtService {
      * @return ID del usuario
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
         
         return Long.parseLong(claims.getSubject());
     }
@@ -89,23 +106,9 @@ public class JwtService {
      */
     @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
         
         return (List<String>) claims.get("roles");
     }
-
-    /**
-     * Obtiene la clave de firma para JWT.
-     * 
-     * @return SecretKey
-     */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
 
@@ -0,0 +1,130 @@
+package com.tudai.monopatines.auth_service.service;
+
+import com.tudai.monopatines.auth_service.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que hashea los passwords del registro (BCrypt) en un pool de hilos
+ * dedicado y acotado.
+ * 
+ * BCrypt consume decenas de milisegundos de CPU por hash. Calcularlo en el hilo de
+ * Tomcat lo retendría todo ese tiempo; en el pool, el registro sigue siendo asíncrono
+ * como el resto de la llamada a accounts-service. Cuando la cola está llena el hash se
+ * rechaza en el momento con PasswordHashingUnavailableException (HTTP 503), y uno que
+ * espera en la cola más de timeout-ms se descarta sin calcularse.
+ * 
+ * Métricas: password.hashing.queue, password.hashing.active, password.hashing.duration,
+ * password.hashing.wait y password.hashing.rejected.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Cantidad de hilos del pool. 0 usa la cantidad de CPUs disponibles.
+     */
+    @Value("${password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    private Timer waitTimer;
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashes de password esperando un hilo libre").register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de password en curso").register(meterRegistry);
+        hashTimer = Timer.builder("password.hashing.duration")
+                .description("Tiempo de cálculo del hash").register(meterRegistry);
+        waitTimer = Timer.builder("password.hashing.wait")
+                .description("Tiempo de espera en la cola").register(meterRegistry);
+        rejected = Counter.builder("password.hashing.rejected")
+                .description("Hashes rechazados por saturación").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Hashea un password en el pool dedicado sin bloquear el hilo que lo llama.
+     * 
+     * @param rawPassword Password en texto plano
+     * @return Future con el hash. Se completa con PasswordHashingUnavailableException si el
+     *         pool está saturado o el hash no termina a tiempo
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        long submittedAt = System.nanoTime();
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    // Venció mientras esperaba en la cola: nadie espera este hash
+                    return;
+                }
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(hashTimer.record(() -> passwordEncoder.encode(rawPassword)));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(
+                    new PasswordHashingUnavailableException("Too many concurrent password hashes, retry later"));
+        }
+
+        return result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    if (ex instanceof TimeoutException) {
+                        rejected.increment();
+                        throw new PasswordHashingUnavailableException("Password hashing timed out, retry later");
+                    }
+                    throw ex instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(ex);
+                });
+    }
+}
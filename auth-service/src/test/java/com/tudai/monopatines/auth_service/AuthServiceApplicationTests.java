@@ -3,6 +3,8 @@ package com.tudai.monopatines.auth_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 @SpringBootTest
 class AuthServiceApplicationTests {
 
@@ -10,4 +12,24 @@ class AuthServiceApplicationTests {
 	void contextLoads() {
 	}
 
+	@Test
+	void keepAliveTimeoutDefaultsToThirtySecondsUnlessSetExplicitly() {
+		String original = System.getProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY);
+		try {
+			System.clearProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY);
+			AuthServiceApplication.configureHttpClientKeepAlive();
+			assertEquals("30", System.getProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY));
+
+			System.setProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY, "10");
+			AuthServiceApplication.configureHttpClientKeepAlive();
+			assertEquals("10", System.getProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY));
+		} finally {
+			if (original == null) {
+				System.clearProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY);
+			} else {
+				System.setProperty(AuthServiceApplication.KEEP_ALIVE_TIMEOUT_PROPERTY, original);
+			}
+		}
+	}
+
 }
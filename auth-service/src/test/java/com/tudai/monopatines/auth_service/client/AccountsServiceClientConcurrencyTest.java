@@ -0,0 +1,155 @@
+package com.tudai.monopatines.auth_service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.tudai.monopatines.auth_service.config.AccountsServiceCircuitBreaker;
+import com.tudai.monopatines.auth_service.config.AccountsServiceConnectionLimiter;
+import com.tudai.monopatines.auth_service.dto.UserResponse;
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga local del login asíncrono con los valores de application.properties
+ * (max-connections, acquire-timeout-ms y response-timeout-ms) contra un accounts-service
+ * simulado y lento: un único hilo inicia más logins que el límite de conexiones sin
+ * bloquearse, y los que no entran esperan un lugar libre en lugar de fallar al instante.
+ */
+class AccountsServiceClientConcurrencyTest {
+
+    private int maxConnections;
+    private long acquireTimeoutMs;
+    private long responseTimeoutMs;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private volatile long accountsServiceDelayMs;
+    private volatile CountDownLatch accountsServiceGate = new CountDownLatch(0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startSlowAccountsService() throws Exception {
+        Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"));
+        maxConnections = Integer.parseInt(properties.getProperty("accounts.service.http.max-connections"));
+        acquireTimeoutMs = Long.parseLong(properties.getProperty("accounts.service.http.acquire-timeout-ms"));
+        responseTimeoutMs = Long.parseLong(properties.getProperty("accounts.service.http.response-timeout-ms"));
+
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), maxConnections * 4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/api/accounts/users/authenticate", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try {
+                accountsServiceGate.await(30, TimeUnit.SECONDS);
+                Thread.sleep(accountsServiceDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] body = "{\"id\":1,\"email\":\"user@test.com\",\"roles\":[\"ROLE_USER\"]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void loginsBeyondTheConnectionLimitWaitForAFreeConnection() throws Exception {
+        // accounts-service no responde hasta abrir el gate: si iniciar un login bloqueara
+        // (esperando la respuesta o un lugar libre), el loop no terminaría
+        accountsServiceGate = new CountDownLatch(1);
+        int logins = maxConnections * 2;
+        AccountsServiceConnectionLimiter limiter = newLimiter();
+        AccountsServiceClient client = newClient(limiter);
+
+        List<CompletableFuture<UserResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < logins; i++) {
+            futures.add(client.authenticate("user@test.com", "secret"));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs / 2);
+        while (inFlight.get() < maxConnections && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(maxConnections, inFlight.get());
+        assertEquals(maxConnections, limiter.getActiveConnections());
+
+        // Al responder la primera tanda, la segunda toma los lugares liberados antes del acquire timeout
+        accountsServiceGate.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        for (CompletableFuture<UserResponse> login : futures) {
+            assertEquals(1L, login.get().getId());
+        }
+        assertEquals(maxConnections, maxInFlight.get());
+        assertEquals(0, limiter.getActiveConnections());
+    }
+
+    @Test
+    void loginIsRejectedOnlyAfterWaitingTheAcquireTimeout() throws Exception {
+        // La primera tanda sigue en curso al vencer el acquire timeout, pero responde antes del response timeout
+        accountsServiceDelayMs = (acquireTimeoutMs + responseTimeoutMs) / 2;
+        AccountsServiceClient client = newClient(newLimiter());
+
+        List<CompletableFuture<UserResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < maxConnections; i++) {
+            futures.add(client.authenticate("user@test.com", "secret"));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<UserResponse> overflow = client.authenticate("user@test.com", "secret");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> overflow.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(AccountsServiceUnavailableException.class, ex.getCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= acquireTimeoutMs);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+    }
+
+    private AccountsServiceConnectionLimiter newLimiter() {
+        return new AccountsServiceConnectionLimiter(maxConnections, acquireTimeoutMs, new SimpleMeterRegistry());
+    }
+
+    private AccountsServiceClient newClient(AccountsServiceConnectionLimiter limiter) {
+        return new AccountsServiceClient(
+                HttpClient.newHttpClient(),
+                new ObjectMapper().findAndRegisterModules(),
+                limiter,
+                new AccountsServiceCircuitBreaker(50, 20, 50, 10000, 3, new SimpleMeterRegistry()),
+                "http://127.0.0.1:" + server.getAddress().getPort(),
+                responseTimeoutMs);
+    }
+}
@@ -0,0 +1,68 @@
+package com.tudai.monopatines.auth_service.config;
+
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccountsServiceCircuitBreakerTest {
+
+    private static final long OPEN_DURATION_MS = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountsServiceCircuitBreaker breaker =
+            new AccountsServiceCircuitBreaker(10, 4, 50, OPEN_DURATION_MS, 2, meterRegistry);
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndFailsFast() {
+        call(true);
+        call(false);
+        call(true);
+        assertEquals(AccountsServiceCircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(false);
+        call(true);
+        assertEquals(AccountsServiceCircuitBreaker.State.OPEN, breaker.getState());
+
+        assertThrows(AccountsServiceUnavailableException.class, breaker::acquirePermission);
+        assertEquals(1.0, meterRegistry.get("accounts.client.circuitbreaker.short-circuited").counter().count());
+        assertEquals(1.0, meterRegistry.get("accounts.client.circuitbreaker.state").gauge().value());
+    }
+
+    @Test
+    void closesAfterSuccessfulTrialCallsAndReopensOnTrialFailure() throws InterruptedException {
+        openCircuit();
+        Thread.sleep(OPEN_DURATION_MS + 20);
+
+        // Medio abierto: solo pasan dos llamadas de prueba
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertThrows(AccountsServiceUnavailableException.class, breaker::acquirePermission);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(AccountsServiceCircuitBreaker.State.CLOSED, breaker.getState());
+
+        openCircuit();
+        Thread.sleep(OPEN_DURATION_MS + 20);
+        call(true);
+        assertEquals(AccountsServiceCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(AccountsServiceCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    private void call(boolean fails) {
+        breaker.acquirePermission();
+        if (fails) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tudai.monopatines.auth_service.config;
+
+import com.tudai.monopatines.auth_service.exception.AccountsServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountsServiceConnectionLimiterTest {
+
+    private static final long ACQUIRE_TIMEOUT_MS = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountsServiceConnectionLimiter limiter =
+            new AccountsServiceConnectionLimiter(2, ACQUIRE_TIMEOUT_MS, meterRegistry);
+
+    @Test
+    void holdsPermitUntilReleased() {
+        limiter.acquireAsync().join();
+
+        assertEquals(1, limiter.getActiveConnections());
+        assertEquals(2.0, meterRegistry.get("accounts.client.connections.max").gauge().value());
+
+        limiter.release();
+        assertEquals(0, limiter.getActiveConnections());
+    }
+
+    @Test
+    void asyncAcquireWaitsForReleasedPermitWithoutBlocking() throws Exception {
+        limiter.acquireAsync().join();
+        limiter.acquireAsync().join();
+
+        CompletableFuture<Void> waiting = limiter.acquireAsync();
+        assertFalse(waiting.isDone());
+        assertEquals(1.0, meterRegistry.get("accounts.client.connections.pending").gauge().value());
+
+        limiter.release();
+
+        waiting.get(1, TimeUnit.SECONDS);
+        assertEquals(2, limiter.getActiveConnections());
+        assertEquals(0.0, meterRegistry.get("accounts.client.connections.pending").gauge().value());
+    }
+
+    @Test
+    void asyncAcquireIsRejectedAfterAcquireTimeout() {
+        limiter.acquireAsync().join();
+        limiter.acquireAsync().join();
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> waiting = limiter.acquireAsync();
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> waiting.get(1, TimeUnit.SECONDS));
+
+        assertInstanceOf(AccountsServiceUnavailableException.class, ex.getCause());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= ACQUIRE_TIMEOUT_MS);
+        assertEquals(1.0, meterRegistry.get("accounts.client.connections.rejected").counter().count());
+
+        // El lugar liberado después del timeout no se pierde en el waiter vencido
+        limiter.release();
+        assertEquals(1, limiter.getActiveConnections());
+    }
+}
@@ -0,0 +1,42 @@
+package com.tudai.monopatines.auth_service.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountsServiceHttpClientConfigTest {
+
+    private final AccountsServiceHttpClientConfig config = new AccountsServiceHttpClientConfig();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(config, "http2Enabled", false);
+    }
+
+    @Test
+    void httpClientUsesConfiguredConnectTimeoutAndVersion() {
+        HttpClient client = config.accountsServiceHttpClient();
+
+        assertEquals(Optional.of(Duration.ofMillis(2000)), client.connectTimeout());
+        assertEquals(HttpClient.Version.HTTP_1_1, client.version());
+
+        ReflectionTestUtils.setField(config, "http2Enabled", true);
+        assertEquals(HttpClient.Version.HTTP_2, config.accountsServiceHttpClient().version());
+    }
+
+    @Test
+    void httpClientDoesNotChangeJvmProperties() {
+        String before = System.getProperty("jdk.httpclient.keepalive.timeout");
+
+        config.accountsServiceHttpClient();
+
+        assertEquals(before, System.getProperty("jdk.httpclient.keepalive.timeout"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.tudai.monopatines.auth_service.controller;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga del login a través de AuthController, con los valores de
+ * application.properties para el cliente de accounts-service y un accounts-service simulado.
+ *
+ * Tomcat se limita a 20 hilos y se envían 500 logins simultáneos: accounts-service no
+ * responde hasta tener max-connections llamadas en curso, algo que solo ocurre si los
+ * logins no retienen un hilo de Tomcat mientras esperan. Todos deben responder 200, sin
+ * ningún 503 por falta de lugar en el límite de conexiones.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.tomcat.threads.max=" + AuthControllerLoadTest.TOMCAT_THREADS)
+class AuthControllerLoadTest {
+
+    static final int TOMCAT_THREADS = 20;
+    private static final int LOGINS = 500;
+    private static final long ACCOUNTS_SERVICE_DELAY_MS = 50;
+
+    private static final ExecutorService accountsServiceExecutor = Executors.newCachedThreadPool();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+    private static final CountDownLatch limitReached = new CountDownLatch(1);
+    private static volatile int maxConnections;
+    private static HttpServer accountsService;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${accounts.service.http.max-connections}")
+    private int configuredMaxConnections;
+
+    @DynamicPropertySource
+    static void accountsServiceUrl(DynamicPropertyRegistry registry) throws IOException {
+        accountsService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), LOGINS);
+        accountsService.setExecutor(accountsServiceExecutor);
+        accountsService.createContext("/api/accounts/users/authenticate", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            if (current >= maxConnections) {
+                limitReached.countDown();
+            }
+            try {
+                limitReached.await(30, TimeUnit.SECONDS);
+                Thread.sleep(ACCOUNTS_SERVICE_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            byte[] body = "{\"id\":1,\"email\":\"user@test.com\",\"roles\":[\"ROLE_USER\"]}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        accountsService.start();
+        registry.add("accounts.service.url", () -> "http://127.0.0.1:" + accountsService.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopAccountsService() {
+        accountsService.stop(0);
+        accountsServiceExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLoginsBeyondTomcatThreadsAllSucceed() throws Exception {
+        maxConnections = configuredMaxConnections;
+        assertTrue(LOGINS > maxConnections && maxConnections > TOMCAT_THREADS);
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"user@test.com\",\"password\":\"secret\"}"))
+                .build();
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            responses.add(client.sendAsync(login, HttpResponse.BodyHandlers.ofString()));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.get().statusCode(), response.get().body());
+            assertTrue(response.get().body().contains("\"token\""));
+        }
+        // Con 20 hilos de Tomcat hubo max-connections llamadas a accounts-service en curso a la vez
+        assertEquals(maxConnections, maxInFlight.get());
+    }
+}